@@ -0,0 +1,38 @@
+package com.ecommerce.order.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchReservationResponse {
+
+    private boolean reserved;
+    private String reservationToken;
+    private LocalDateTime expiresAt;
+    private List<LineResult> lines;
+
+    public enum LineStatus {
+        OK,
+        INSUFFICIENT_STOCK,
+        NOT_FOUND
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineResult {
+
+        private Long productId;
+        private Integer quantity;
+        private LineStatus status;
+    }
+}
@@ -7,7 +7,7 @@ import java.util.List;
 
 @FeignClient(
     name = "product-service",
-    fallback = ProductServiceClientFallback.class
+    fallbackFactory = ProductServiceClientFallbackFactory.class
 )
 public interface ProductServiceClient {
 
@@ -20,6 +20,15 @@ public interface ProductServiceClient {
     @PostMapping("/api/products/{id}/release-stock")
     void releaseStock(@PathVariable Long id, @RequestParam Integer quantity);
 
+    @PostMapping("/api/products/reserve-stock/batch")
+    BatchReservationResponse reserveStockBatch(@RequestBody BatchReservationRequest request);
+
+    @PostMapping("/api/products/reservations/{token}/confirm")
+    void confirmReservation(@PathVariable String token);
+
+    @PostMapping("/api/products/reservations/{token}/release")
+    void releaseReservation(@PathVariable String token);
+
     @GetMapping("/api/products/batch")
     List<ProductResponse> getProductsByIds(@RequestParam List<Long> ids);
 }
@@ -1,15 +1,23 @@
 package com.ecommerce.order.client;
 
+import com.ecommerce.order.exception.ProductServiceUnavailableException;
+import com.ecommerce.order.exception.ReservationExpiredException;
+import feign.FeignException;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Component;
+import org.springframework.http.HttpStatus;
 
 import java.util.Collections;
 import java.util.List;
 
-@Component
 @Slf4j
 public class ProductServiceClientFallback implements ProductServiceClient {
 
+    private final Throwable cause;
+
+    public ProductServiceClientFallback(Throwable cause) {
+        this.cause = cause;
+    }
+
     @Override
     public ProductResponse getProductById(Long id) {
         log.warn("Product service is unavailable, returning fallback for product id: {}", id);
@@ -30,9 +38,57 @@ public class ProductServiceClientFallback implements ProductServiceClient {
         log.error("Failed to release stock, product service unavailable");
     }
 
+    /**
+     * A refusal from product-service reads as "not reserved"; any other
+     * failure says nothing about stock and is rethrown, so a paid order
+     * re-reserving its stock is retried rather than sent to review.
+     */
+    @Override
+    public BatchReservationResponse reserveStockBatch(BatchReservationRequest request) {
+        if (!isClientError(cause)) {
+            log.error("Failed to reserve stock batch, product service unavailable");
+            throw new ProductServiceUnavailableException("Could not reserve stock", cause);
+        }
+        log.warn("Product service refused stock batch reservation: {}", cause.getMessage());
+        return BatchReservationResponse.builder()
+                .reserved(false)
+                .lines(Collections.emptyList())
+                .build();
+    }
+
+    /**
+     * Confirming has no safe default: skipping it lets the hold expire and
+     * its stock be sold again while the order counts as paid.
+     */
+    @Override
+    public void confirmReservation(String token) {
+        if (status(cause) == HttpStatus.CONFLICT.value()) {
+            throw new ReservationExpiredException("Reservation " + token + " has expired or was released", cause);
+        }
+        log.error("Failed to confirm reservation {}, product service unavailable", token);
+        throw new ProductServiceUnavailableException("Could not confirm reservation " + token, cause);
+    }
+
+    @Override
+    public void releaseReservation(String token) {
+        log.error("Failed to release reservation {}, product service unavailable", token);
+    }
+
     @Override
     public List<ProductResponse> getProductsByIds(List<Long> ids) {
         log.warn("Product service is unavailable, returning empty list");
         return Collections.emptyList();
     }
+
+    private static boolean isClientError(Throwable cause) {
+        int status = status(cause);
+        return status >= 400 && status < 500;
+    }
+
+    /**
+     * @return HTTP status product-service answered with, or -1 if it did not answer
+     */
+    private static int status(Throwable cause) {
+        return cause instanceof FeignException feignException ? feignException.status() : -1;
+    }
 }
@@ -0,0 +1,17 @@
+package com.ecommerce.order.client;
+
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the fallback with the failure that triggered it, so calls that
+ * must not fail silently can tell why they failed.
+ */
+@Component
+public class ProductServiceClientFallbackFactory implements FallbackFactory<ProductServiceClient> {
+
+    @Override
+    public ProductServiceClient create(Throwable cause) {
+        return new ProductServiceClientFallback(cause);
+    }
+}
@@ -2,6 +2,7 @@ package com.ecommerce.order.controller;
 
 import com.ecommerce.order.dto.CreateOrderRequest;
 import com.ecommerce.order.dto.OrderResponse;
+import com.ecommerce.order.exception.ForbiddenException;
 import com.ecommerce.order.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,12 +14,16 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
 @Tag(name = "Order Management", description = "APIs for managing orders")
 public class OrderController {
 
+    private static final int MAX_EXPORT_PAGE_SIZE = 500;
+
     private final OrderService orderService;
 
     @PostMapping
@@ -37,6 +42,21 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getUserOrders(userId, pageable));
     }
 
+    @GetMapping("/users/{userId}/export")
+    @Operation(summary = "Export user orders", description = "Get a page of a user's orders after the given order ID (owner or Admin only)")
+    public ResponseEntity<List<OrderResponse>> exportUserOrders(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestHeader(value = "X-User-Id", required = false) Long callerId,
+            @RequestHeader(value = "X-User-Role", required = false) String callerRole) {
+        if (!userId.equals(callerId) && !"ADMIN".equals(callerRole)) {
+            throw new ForbiddenException("Not allowed to export another user's orders");
+        }
+        return ResponseEntity.ok(orderService.getUserOrdersAfter(
+                userId, afterId, Math.min(Math.max(limit, 1), MAX_EXPORT_PAGE_SIZE)));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get order by ID", description = "Get a specific order by its ID")
     public ResponseEntity<OrderResponse> getOrderById(
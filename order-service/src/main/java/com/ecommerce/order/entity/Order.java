@@ -52,6 +52,9 @@ public class Order {
     @Column(length = 100)
     private String paymentId;
 
+    @Column(length = 36)
+    private String reservationToken;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<OrderItem> orderItems = new ArrayList<>();
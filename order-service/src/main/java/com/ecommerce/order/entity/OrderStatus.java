@@ -6,5 +6,7 @@ public enum OrderStatus {
     PROCESSING,
     SHIPPED,
     DELIVERED,
-    CANCELLED
+    CANCELLED,
+    // Paid, but its stock hold lapsed and could not be reserved again
+    REVIEW_REQUIRED
 }
@@ -0,0 +1,12 @@
+package com.ecommerce.order.exception;
+
+/**
+ * Thrown when a call to product-service that must not be skipped fails;
+ * the caller should retry.
+ */
+public class ProductServiceUnavailableException extends RuntimeException {
+
+    public ProductServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.order.exception;
+
+/**
+ * Thrown when a stock reservation can no longer be confirmed because its
+ * hold expired or was released, so its stock may already be sold again.
+ */
+public class ReservationExpiredException extends RuntimeException {
+
+    public ReservationExpiredException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -4,9 +4,13 @@ import com.ecommerce.order.entity.Order;
 import com.ecommerce.order.entity.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -19,4 +23,10 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     Page<Order> findByUserIdAndStatus(Long userId, OrderStatus status, Pageable pageable);
 
     boolean existsByOrderNumber(String orderNumber);
+
+    @Query("SELECT o.id FROM Order o WHERE o.userId = :userId AND o.id > :afterId ORDER BY o.id")
+    List<Long> findIdsByUserIdAfter(@Param("userId") Long userId, @Param("afterId") Long afterId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "orderItems")
+    List<Order> findByIdInOrderByIdAsc(List<Long> ids);
 }
@@ -1,5 +1,7 @@
 package com.ecommerce.order.service;
 
+import com.ecommerce.order.client.BatchReservationRequest;
+import com.ecommerce.order.client.BatchReservationResponse;
 import com.ecommerce.order.client.ProductServiceClient;
 import com.ecommerce.order.config.RabbitMQConfig;
 import com.ecommerce.order.dto.CreateOrderRequest;
@@ -10,12 +12,14 @@ import com.ecommerce.order.event.OrderCreatedEvent;
 import com.ecommerce.order.event.OrderItemEvent;
 import com.ecommerce.order.exception.InvalidRequestException;
 import com.ecommerce.order.exception.OutOfStockException;
+import com.ecommerce.order.exception.ReservationExpiredException;
 import com.ecommerce.order.exception.ResourceNotFoundException;
 import com.ecommerce.order.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,8 +27,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -48,24 +52,9 @@ public class OrderService {
             throw new InvalidRequestException("Cart is empty");
         }
 
-        // 2. Reserve stock for all products
-        List<StockReservation> reservations = new ArrayList<>();
+        // 2. Reserve stock for all products in one all-or-nothing call
+        String reservationToken = reserveStock(cartItems);
         try {
-            for (CartItem item : cartItems) {
-                boolean reserved = productServiceClient.reserveStock(
-                        item.getProductId(),
-                        item.getQuantity()
-                );
-
-                if (!reserved) {
-                    // Rollback previous reservations
-                    rollbackReservations(reservations);
-                    throw new OutOfStockException("Product out of stock: " + item.getProductName());
-                }
-
-                reservations.add(new StockReservation(item.getProductId(), item.getQuantity()));
-            }
-
             // 3. Calculate total amount
             BigDecimal totalAmount = cartItems.stream()
                     .map(item -> item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
@@ -79,6 +68,7 @@ public class OrderService {
                     .totalAmount(totalAmount)
                     .shippingAddressId(request.getShippingAddressId())
                     .paymentStatus(PaymentStatus.PENDING)
+                    .reservationToken(reservationToken)
                     .build();
 
             // 5. Create order items
@@ -106,8 +96,8 @@ public class OrderService {
             return mapToResponse(order);
 
         } catch (Exception e) {
-            // Rollback stock reservations on any error
-            rollbackReservations(reservations);
+            // Release the reservation on any error
+            rollbackReservation(reservationToken);
             throw e;
         }
     }
@@ -118,6 +108,22 @@ public class OrderService {
                 .map(this::mapToResponse);
     }
 
+    /**
+     * Get one page of a user's orders ordered by ID, starting after the given ID.
+     * Order IDs are paged with a keyset range scan, then the page is loaded
+     * with its items in a single fetch join.
+     */
+    public List<OrderResponse> getUserOrdersAfter(Long userId, Long afterId, int limit) {
+        log.info("Exporting orders for user {} after ID {}", userId, afterId);
+        List<Long> ids = orderRepository.findIdsByUserIdAfter(userId, afterId, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return orderRepository.findByIdInOrderByIdAsc(ids).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
     public OrderResponse getOrderById(Long orderId, Long userId) {
         log.info("Fetching order {} for user {}", orderId, userId);
         Order order = orderRepository.findById(orderId)
@@ -157,9 +163,7 @@ public class OrderService {
         }
 
         // Release stock for all items
-        for (OrderItem item : order.getOrderItems()) {
-            productServiceClient.releaseStock(item.getProductId(), item.getQuantity());
-        }
+        releaseStock(order);
 
         order.setStatus(OrderStatus.CANCELLED);
         order = orderRepository.save(order);
@@ -192,19 +196,55 @@ public class OrderService {
         order.setPaymentId(paymentId);
 
         if (paymentStatus == PaymentStatus.COMPLETED) {
-            order.setStatus(OrderStatus.CONFIRMED);
+            // Keep the stock; if product-service is unreachable this update rolls back and is retried
+            order.setStatus(confirmStock(order) ? OrderStatus.CONFIRMED : OrderStatus.REVIEW_REQUIRED);
         } else if (paymentStatus == PaymentStatus.FAILED) {
             order.setStatus(OrderStatus.CANCELLED);
             // Release stock
-            for (OrderItem item : order.getOrderItems()) {
-                productServiceClient.releaseStock(item.getProductId(), item.getQuantity());
-            }
+            releaseStock(order);
         }
 
         orderRepository.save(order);
         log.info("Payment status updated successfully");
     }
 
+    /**
+     * Confirm the stock hold of a paid order. A hold that expired before
+     * the payment landed has been returned to the pool, so the stock is
+     * reserved again rather than assumed.
+     *
+     * @return false if the stock is gone and the order needs review
+     */
+    private boolean confirmStock(Order order) {
+        if (order.getReservationToken() == null) {
+            return true;
+        }
+        try {
+            productServiceClient.confirmReservation(order.getReservationToken());
+            return true;
+        } catch (ReservationExpiredException e) {
+            log.warn("Reservation {} of order {} expired before payment, reserving stock again",
+                    order.getReservationToken(), order.getOrderNumber());
+        }
+
+        BatchReservationRequest request = BatchReservationRequest.builder()
+                .items(order.getOrderItems().stream()
+                        .map(item -> BatchReservationRequest.Item.builder()
+                                .productId(item.getProductId())
+                                .quantity(item.getQuantity())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+        BatchReservationResponse response = productServiceClient.reserveStockBatch(request);
+        if (!response.isReserved()) {
+            log.error("Stock for paid order {} could not be reserved again, holding it for review", order.getOrderNumber());
+            return false;
+        }
+        order.setReservationToken(response.getReservationToken());
+        productServiceClient.confirmReservation(response.getReservationToken());
+        return true;
+    }
+
     private void publishOrderCreatedEvent(Order order) {
         List<OrderItemEvent> itemEvents = order.getOrderItems().stream()
                 .map(item -> OrderItemEvent.builder()
@@ -235,17 +275,51 @@ public class OrderService {
         log.info("Published order created event for order: {}", order.getOrderNumber());
     }
 
-    private void rollbackReservations(List<StockReservation> reservations) {
-        log.warn("Rolling back {} stock reservations", reservations.size());
-        for (StockReservation reservation : reservations) {
-            try {
-                productServiceClient.releaseStock(
-                        reservation.getProductId(),
-                        reservation.getQuantity()
-                );
-            } catch (Exception e) {
-                log.error("Failed to release stock for product: {}", reservation.getProductId(), e);
-            }
+    private String reserveStock(List<CartItem> cartItems) {
+        BatchReservationRequest request = BatchReservationRequest.builder()
+                .items(cartItems.stream()
+                        .map(item -> BatchReservationRequest.Item.builder()
+                                .productId(item.getProductId())
+                                .quantity(item.getQuantity())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+
+        BatchReservationResponse response = productServiceClient.reserveStockBatch(request);
+        if (!response.isReserved()) {
+            Map<Long, String> productNames = cartItems.stream()
+                    .collect(Collectors.toMap(CartItem::getProductId, CartItem::getProductName, (first, second) -> first));
+            String unavailable = response.getLines().stream()
+                    .filter(line -> line.getStatus() != BatchReservationResponse.LineStatus.OK)
+                    .map(line -> productNames.getOrDefault(line.getProductId(), "product " + line.getProductId()))
+                    .collect(Collectors.joining(", "));
+            throw new OutOfStockException(unavailable.isEmpty()
+                    ? "Stock could not be reserved"
+                    : "Product out of stock: " + unavailable);
+        }
+
+        log.info("Reserved stock for {} products with token {}", cartItems.size(), response.getReservationToken());
+        return response.getReservationToken();
+    }
+
+    private void rollbackReservation(String reservationToken) {
+        log.warn("Rolling back stock reservation {}", reservationToken);
+        try {
+            productServiceClient.releaseReservation(reservationToken);
+        } catch (Exception e) {
+            log.error("Failed to release stock reservation: {}", reservationToken, e);
+        }
+    }
+
+    private void releaseStock(Order order) {
+        if (order.getReservationToken() != null) {
+            productServiceClient.releaseReservation(order.getReservationToken());
+            return;
+        }
+
+        // Orders placed before batch reservations hold stock per item
+        for (OrderItem item : order.getOrderItems()) {
+            productServiceClient.releaseStock(item.getProductId(), item.getQuantity());
         }
     }
 
@@ -281,11 +355,4 @@ public class OrderService {
                 .updatedAt(order.getUpdatedAt())
                 .build();
     }
-
-    @lombok.Data
-    @lombok.AllArgsConstructor
-    private static class StockReservation {
-        private Long productId;
-        private Integer quantity;
-    }
 }
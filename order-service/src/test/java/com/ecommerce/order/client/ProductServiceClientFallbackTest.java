@@ -0,0 +1,72 @@
+package com.ecommerce.order.client;
+
+import com.ecommerce.order.exception.ProductServiceUnavailableException;
+import com.ecommerce.order.exception.ReservationExpiredException;
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductServiceClientFallbackTest {
+
+    private static final Request CONFIRM = Request.create(Request.HttpMethod.POST,
+            "http://product-service/api/products/reservations/hold-1/confirm", Map.of(), null, StandardCharsets.UTF_8, null);
+
+    @Test
+    void confirmReservation_HoldExpired_ThrowsReservationExpired() {
+        ProductServiceClient fallback = new ProductServiceClientFallbackFactory()
+                .create(new FeignException.Conflict("Reservation hold-1 has expired or was released", CONFIRM, null, Map.of()));
+
+        assertThrows(ReservationExpiredException.class, () -> fallback.confirmReservation("hold-1"));
+    }
+
+    @Test
+    void confirmReservation_ProductServiceDown_ThrowsUnavailable() {
+        RetryableException cause = new RetryableException(-1, "Connection refused", Request.HttpMethod.POST, (Long) null, CONFIRM);
+        ProductServiceClient fallback = new ProductServiceClientFallbackFactory().create(cause);
+
+        ProductServiceUnavailableException ex = assertThrows(ProductServiceUnavailableException.class,
+                () -> fallback.confirmReservation("hold-1"));
+        assertSame(cause, ex.getCause());
+    }
+
+    @Test
+    void releaseReservation_ProductServiceDown_StillFallsBackQuietly() {
+        ProductServiceClient fallback = new ProductServiceClientFallbackFactory()
+                .create(new IllegalStateException("circuit open"));
+
+        assertDoesNotThrow(() -> fallback.releaseReservation("hold-1"));
+    }
+
+    @Test
+    void reserveStockBatch_ProductServiceDown_ThrowsUnavailable() {
+        RetryableException cause = new RetryableException(-1, "Read timed out", Request.HttpMethod.POST, (Long) null, CONFIRM);
+        ProductServiceClient fallback = new ProductServiceClientFallbackFactory().create(cause);
+
+        assertThrows(ProductServiceUnavailableException.class,
+                () -> fallback.reserveStockBatch(BatchReservationRequest.builder().items(List.of()).build()));
+    }
+
+    @Test
+    void reserveStockBatch_ServerError_ThrowsUnavailable() {
+        ProductServiceClient fallback = new ProductServiceClientFallbackFactory()
+                .create(new FeignException.InternalServerError("boom", CONFIRM, null, Map.of()));
+
+        assertThrows(ProductServiceUnavailableException.class,
+                () -> fallback.reserveStockBatch(BatchReservationRequest.builder().items(List.of()).build()));
+    }
+
+    @Test
+    void reserveStockBatch_Refused_ReturnsNotReserved() {
+        ProductServiceClient fallback = new ProductServiceClientFallbackFactory()
+                .create(new FeignException.BadRequest("Quantity must be positive", CONFIRM, null, Map.of()));
+
+        assertFalse(fallback.reserveStockBatch(BatchReservationRequest.builder().items(List.of()).build()).isReserved());
+    }
+}
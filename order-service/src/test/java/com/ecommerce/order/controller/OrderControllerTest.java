@@ -0,0 +1,68 @@
+package com.ecommerce.order.controller;
+
+import com.ecommerce.order.exception.GlobalExceptionHandler;
+import com.ecommerce.order.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class OrderControllerTest {
+
+    @Mock
+    private OrderService orderService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new OrderController(orderService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void exportUserOrders_OwnUser_ReturnsPage() throws Exception {
+        when(orderService.getUserOrdersAfter(1L, 0L, 100)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/orders/users/1/export").header("X-User-Id", "1").header("X-User-Role", "CUSTOMER"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void exportUserOrders_Admin_ReturnsAnyUsersPage() throws Exception {
+        when(orderService.getUserOrdersAfter(2L, 0L, 500)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/orders/users/2/export").param("limit", "1000")
+                        .header("X-User-Id", "1").header("X-User-Role", "ADMIN"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void exportUserOrders_OtherUser_Forbidden() throws Exception {
+        mockMvc.perform(get("/api/orders/users/2/export").header("X-User-Id", "1").header("X-User-Role", "CUSTOMER"))
+                .andExpect(status().isForbidden());
+
+        verify(orderService, never()).getUserOrdersAfter(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void exportUserOrders_NoCallerHeaders_Forbidden() throws Exception {
+        mockMvc.perform(get("/api/orders/users/2/export"))
+                .andExpect(status().isForbidden());
+
+        verify(orderService, never()).getUserOrdersAfter(anyLong(), anyLong(), anyInt());
+    }
+}
@@ -0,0 +1,172 @@
+package com.ecommerce.order.service;
+
+import com.ecommerce.order.client.BatchReservationRequest;
+import com.ecommerce.order.client.BatchReservationResponse;
+import com.ecommerce.order.client.ProductServiceClient;
+import com.ecommerce.order.entity.Order;
+import com.ecommerce.order.entity.OrderItem;
+import com.ecommerce.order.entity.OrderStatus;
+import com.ecommerce.order.entity.PaymentStatus;
+import com.ecommerce.order.exception.ProductServiceUnavailableException;
+import com.ecommerce.order.exception.ReservationExpiredException;
+import com.ecommerce.order.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderPaymentStatusTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private CartService cartService;
+
+    @Mock
+    private ProductServiceClient productServiceClient;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @InjectMocks
+    private OrderService orderService;
+
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        order = Order.builder()
+                .id(1L)
+                .orderNumber("ORD-123456")
+                .userId(1L)
+                .status(OrderStatus.PENDING)
+                .paymentStatus(PaymentStatus.PENDING)
+                .totalAmount(new BigDecimal("2599.98"))
+                .shippingAddressId(1L)
+                .reservationToken("hold-1")
+                .build();
+        order.addOrderItem(OrderItem.builder()
+                .productId(7L)
+                .productName("Laptop")
+                .quantity(2)
+                .unitPrice(new BigDecimal("1299.99"))
+                .subtotal(new BigDecimal("2599.98"))
+                .build());
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+    }
+
+    @Test
+    void updatePaymentStatus_Completed_ConfirmsReservation() {
+        // Act
+        orderService.updatePaymentStatus(1L, PaymentStatus.COMPLETED, "pay-1");
+
+        // Assert
+        assertEquals(OrderStatus.CONFIRMED, order.getStatus());
+        assertEquals(PaymentStatus.COMPLETED, order.getPaymentStatus());
+        verify(productServiceClient).confirmReservation("hold-1");
+        verify(productServiceClient, never()).reserveStockBatch(any());
+        verify(orderRepository).save(order);
+    }
+
+    @Test
+    void updatePaymentStatus_CompletedAfterHoldExpired_ReservesAndConfirmsAgain() {
+        // Arrange
+        doThrow(new ReservationExpiredException("Reservation hold-1 has expired or was released", null))
+                .when(productServiceClient).confirmReservation("hold-1");
+        when(productServiceClient.reserveStockBatch(any(BatchReservationRequest.class)))
+                .thenReturn(BatchReservationResponse.builder().reserved(true).reservationToken("hold-2").build());
+
+        // Act
+        orderService.updatePaymentStatus(1L, PaymentStatus.COMPLETED, "pay-1");
+
+        // Assert
+        ArgumentCaptor<BatchReservationRequest> request = ArgumentCaptor.forClass(BatchReservationRequest.class);
+        verify(productServiceClient).reserveStockBatch(request.capture());
+        assertEquals(List.of(BatchReservationRequest.Item.builder().productId(7L).quantity(2).build()),
+                request.getValue().getItems());
+        verify(productServiceClient).confirmReservation("hold-2");
+        assertEquals("hold-2", order.getReservationToken());
+        assertEquals(OrderStatus.CONFIRMED, order.getStatus());
+        verify(orderRepository).save(order);
+    }
+
+    @Test
+    void updatePaymentStatus_CompletedAfterHoldExpired_StockGone_HoldsOrderForReview() {
+        // Arrange
+        doThrow(new ReservationExpiredException("Reservation hold-1 has expired or was released", null))
+                .when(productServiceClient).confirmReservation("hold-1");
+        when(productServiceClient.reserveStockBatch(any(BatchReservationRequest.class)))
+                .thenReturn(BatchReservationResponse.builder()
+                        .reserved(false)
+                        .lines(List.of(BatchReservationResponse.LineResult.builder()
+                                .productId(7L)
+                                .quantity(2)
+                                .status(BatchReservationResponse.LineStatus.INSUFFICIENT_STOCK)
+                                .build()))
+                        .build());
+
+        // Act
+        orderService.updatePaymentStatus(1L, PaymentStatus.COMPLETED, "pay-1");
+
+        // Assert
+        assertEquals(OrderStatus.REVIEW_REQUIRED, order.getStatus());
+        assertEquals(PaymentStatus.COMPLETED, order.getPaymentStatus());
+        assertEquals("hold-1", order.getReservationToken());
+        verify(productServiceClient, times(1)).confirmReservation(any());
+        verify(orderRepository).save(order);
+    }
+
+    @Test
+    void updatePaymentStatus_CompletedAfterHoldExpired_ProductServiceDownWhileReserving_FailsSoItIsRetried() {
+        // Arrange
+        doThrow(new ReservationExpiredException("Reservation hold-1 has expired or was released", null))
+                .when(productServiceClient).confirmReservation("hold-1");
+        when(productServiceClient.reserveStockBatch(any(BatchReservationRequest.class)))
+                .thenThrow(new ProductServiceUnavailableException("Could not reserve stock", null));
+
+        // Act & Assert
+        assertThrows(ProductServiceUnavailableException.class, () ->
+                orderService.updatePaymentStatus(1L, PaymentStatus.COMPLETED, "pay-1"));
+        assertNotEquals(OrderStatus.REVIEW_REQUIRED, order.getStatus());
+        assertEquals("hold-1", order.getReservationToken());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void updatePaymentStatus_CompletedWhileProductServiceDown_FailsSoItIsRetried() {
+        // Arrange
+        doThrow(new ProductServiceUnavailableException("Could not confirm reservation hold-1", null))
+                .when(productServiceClient).confirmReservation("hold-1");
+
+        // Act & Assert
+        assertThrows(ProductServiceUnavailableException.class, () ->
+                orderService.updatePaymentStatus(1L, PaymentStatus.COMPLETED, "pay-1"));
+        verify(productServiceClient, never()).reserveStockBatch(any());
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void updatePaymentStatus_Failed_ReleasesReservation() {
+        // Act
+        orderService.updatePaymentStatus(1L, PaymentStatus.FAILED, "pay-1");
+
+        // Assert
+        assertEquals(OrderStatus.CANCELLED, order.getStatus());
+        verify(productServiceClient).releaseReservation("hold-1");
+        verify(productServiceClient, never()).confirmReservation(any());
+    }
+}
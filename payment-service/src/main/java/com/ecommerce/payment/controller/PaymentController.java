@@ -2,6 +2,7 @@ package com.ecommerce.payment.controller;
 
 import com.ecommerce.payment.dto.PaymentResponse;
 import com.ecommerce.payment.dto.RefundResponse;
+import com.ecommerce.payment.exception.ForbiddenException;
 import com.ecommerce.payment.service.PaymentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -19,6 +20,8 @@ import java.util.List;
 @Tag(name = "Payment Management", description = "APIs for payment processing and transaction management")
 public class PaymentController {
 
+    private static final int MAX_EXPORT_PAGE_SIZE = 500;
+
     private final PaymentService paymentService;
 
     @GetMapping("/{paymentId}")
@@ -45,6 +48,23 @@ public class PaymentController {
         return ResponseEntity.ok(payments);
     }
 
+    @GetMapping("/user/{userId}/export")
+    @Operation(summary = "Export a page of user's payments (owner or Admin only)")
+    public ResponseEntity<List<PaymentResponse>> exportUserPayments(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "0") Long afterId,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestHeader(value = "X-User-Id", required = false) Long callerId,
+            @RequestHeader(value = "X-User-Role", required = false) String callerRole) {
+        if (!userId.equals(callerId) && !"ADMIN".equals(callerRole)) {
+            throw new ForbiddenException("Not allowed to export another user's payments");
+        }
+        log.info("Exporting payments for user {} after ID {}", userId, afterId);
+        List<PaymentResponse> payments = paymentService.getUserPaymentsAfter(
+                userId, afterId, Math.min(Math.max(limit, 1), MAX_EXPORT_PAGE_SIZE));
+        return ResponseEntity.ok(payments);
+    }
+
     @PostMapping("/{paymentId}/refund")
     @Operation(summary = "Process refund for a payment (Admin only)")
     public ResponseEntity<RefundResponse> processRefund(@PathVariable Long paymentId) {
@@ -0,0 +1,8 @@
+package com.ecommerce.payment.exception;
+
+public class ForbiddenException extends RuntimeException {
+
+    public ForbiddenException(String message) {
+        super(message);
+    }
+}
@@ -15,6 +15,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -229,6 +230,18 @@ public class PaymentService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get one page of a user's payments ordered by ID, starting after the given ID.
+     * Keyset pagination keeps every page an index range scan regardless of depth.
+     */
+    public List<PaymentResponse> getUserPaymentsAfter(Long userId, Long afterId, int limit) {
+        List<Payment> payments = paymentRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                userId, afterId, PageRequest.of(0, limit));
+        return payments.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Generate unique payment ID
      */
@@ -0,0 +1,68 @@
+package com.ecommerce.payment.controller;
+
+import com.ecommerce.payment.exception.GlobalExceptionHandler;
+import com.ecommerce.payment.service.PaymentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentControllerTest {
+
+    @Mock
+    private PaymentService paymentService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new PaymentController(paymentService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void exportUserPayments_OwnUser_ReturnsPage() throws Exception {
+        when(paymentService.getUserPaymentsAfter(1L, 0L, 100)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/payments/user/1/export").header("X-User-Id", "1").header("X-User-Role", "CUSTOMER"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void exportUserPayments_Admin_ReturnsAnyUsersPage() throws Exception {
+        when(paymentService.getUserPaymentsAfter(2L, 0L, 500)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/payments/user/2/export").param("limit", "1000")
+                        .header("X-User-Id", "1").header("X-User-Role", "ADMIN"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void exportUserPayments_OtherUser_Forbidden() throws Exception {
+        mockMvc.perform(get("/api/payments/user/2/export").header("X-User-Id", "1").header("X-User-Role", "CUSTOMER"))
+                .andExpect(status().isForbidden());
+
+        verify(paymentService, never()).getUserPaymentsAfter(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void exportUserPayments_NoCallerHeaders_Forbidden() throws Exception {
+        mockMvc.perform(get("/api/payments/user/2/export"))
+                .andExpect(status().isForbidden());
+
+        verify(paymentService, never()).getUserPaymentsAfter(anyLong(), anyLong(), anyInt());
+    }
+}
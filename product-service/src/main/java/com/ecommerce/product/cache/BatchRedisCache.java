@@ -0,0 +1,107 @@
+package com.ecommerce.product.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis cache that adds multi-key access: reads are a single MGET and
+ * writes are pipelined SETs with the cache's TTL. Keys and values go
+ * through the same prefixing and serialization as single-key access.
+ * Single-key reads can also return the key's remaining TTL.
+ */
+public class BatchRedisCache extends RedisCache implements MultiKeyCache, ExpiringCache {
+
+    private final RedisConnectionFactory connectionFactory;
+
+    protected BatchRedisCache(String name,
+                              RedisCacheWriter cacheWriter,
+                              RedisCacheConfiguration cacheConfiguration,
+                              RedisConnectionFactory connectionFactory) {
+        super(name, cacheWriter, cacheConfiguration);
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Object[] requested = keys.toArray();
+        byte[][] rawKeys = new byte[requested.length][];
+        for (int i = 0; i < requested.length; i++) {
+            rawKeys[i] = serializeCacheKey(createCacheKey(requested[i]));
+        }
+
+        List<byte[]> rawValues;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            rawValues = connection.stringCommands().mGet(rawKeys);
+        }
+
+        Map<Object, Object> found = new HashMap<>();
+        if (rawValues == null) {
+            return found;
+        }
+        for (int i = 0; i < requested.length && i < rawValues.size(); i++) {
+            byte[] raw = rawValues.get(i);
+            // A value the serializer cannot read (e.g. a newer format) is a miss
+            Object stored = raw != null ? deserializeCacheValue(raw) : null;
+            if (stored != null) {
+                found.put(requested[i], fromStoreValue(stored));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * GET and PTTL in one pipelined round trip.
+     */
+    @Override
+    public Entry getWithExpiry(Object key) {
+        byte[] rawKey = serializeCacheKey(createCacheKey(key));
+        List<Object> results;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            connection.stringCommands().get(rawKey);
+            connection.keyCommands().pTtl(rawKey);
+            results = connection.closePipeline();
+        }
+
+        if (results.size() < 2 || !(results.get(0) instanceof byte[] raw)) {
+            return null;
+        }
+        Object stored = deserializeCacheValue(raw);
+        if (stored == null) {
+            return null;
+        }
+        Long pttl = (Long) results.get(1);
+        return new Entry(fromStoreValue(stored), pttl != null && pttl >= 0 ? Duration.ofMillis(pttl) : null);
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            try {
+                for (Map.Entry<?, ?> entry : entries.entrySet()) {
+                    byte[] rawKey = serializeCacheKey(createCacheKey(entry.getKey()));
+                    byte[] rawValue = serializeCacheValue(toStoreValue(entry.getValue()));
+                    Duration ttl = getCacheConfiguration().getTtlFunction().getTimeToLive(entry.getKey(), entry.getValue());
+                    Expiration expiration = ttl != null && !ttl.isZero() && !ttl.isNegative()
+                            ? Expiration.from(ttl)
+                            : Expiration.persistent();
+                    connection.stringCommands().set(rawKey, rawValue, expiration, RedisStringCommands.SetOption.upsert());
+                }
+            } finally {
+                connection.closePipeline();
+            }
+        }
+    }
+}
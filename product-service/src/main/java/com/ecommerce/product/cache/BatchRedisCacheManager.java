@@ -0,0 +1,52 @@
+package com.ecommerce.product.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+
+/**
+ * Redis cache manager whose caches are {@link BatchRedisCache}s.
+ */
+public class BatchRedisCacheManager extends RedisCacheManager {
+
+    private final RedisConnectionFactory connectionFactory;
+    private final RedisCacheWriter cacheWriter;
+    private final RedisCacheConfiguration defaultCacheConfiguration;
+
+    public BatchRedisCacheManager(RedisConnectionFactory connectionFactory,
+                                  RedisCacheConfiguration defaultCacheConfiguration) {
+        this(connectionFactory, defaultCacheConfiguration, Map.of());
+    }
+
+    /**
+     * @param initialCacheConfigurations Configurations of caches that differ
+     *                                   from the default, by cache name
+     */
+    public BatchRedisCacheManager(RedisConnectionFactory connectionFactory,
+                                  RedisCacheConfiguration defaultCacheConfiguration,
+                                  Map<String, RedisCacheConfiguration> initialCacheConfigurations) {
+        this(connectionFactory, RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory),
+                defaultCacheConfiguration, initialCacheConfigurations);
+    }
+
+    private BatchRedisCacheManager(RedisConnectionFactory connectionFactory,
+                                   RedisCacheWriter cacheWriter,
+                                   RedisCacheConfiguration defaultCacheConfiguration,
+                                   Map<String, RedisCacheConfiguration> initialCacheConfigurations) {
+        super(cacheWriter, defaultCacheConfiguration, initialCacheConfigurations);
+        this.connectionFactory = connectionFactory;
+        this.cacheWriter = cacheWriter;
+        this.defaultCacheConfiguration = defaultCacheConfiguration;
+    }
+
+    @Override
+    protected RedisCache createRedisCache(String name, @Nullable RedisCacheConfiguration cacheConfiguration) {
+        return new BatchRedisCache(name, cacheWriter,
+                cacheConfiguration != null ? cacheConfiguration : defaultCacheConfiguration, connectionFactory);
+    }
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.product.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Broadcasts local cache evictions to the other product-service instances
+ * over Redis pub/sub and applies the ones they send.
+ *
+ * Delivery is best effort: a message lost while an instance is
+ * disconnected leaves its near-cache entry stale until the entry expires,
+ * which is why the near-cache TTL is kept short.
+ */
+@Slf4j
+public class CacheInvalidationBus implements MessageListener {
+
+    public static final String CHANNEL = "product-service:cache-invalidations";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    void register(TwoLevelCache cache) {
+        caches.put(cache.getName(), cache);
+    }
+
+    /**
+     * Tell other instances to drop a key, or the whole cache if key is null
+     */
+    void publish(String cacheName, String key) {
+        try {
+            ObjectNode message = objectMapper.createObjectNode();
+            message.put("origin", instanceId);
+            message.put("cache", cacheName);
+            message.put("key", key);
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(message));
+        } catch (Exception e) {
+            log.warn("Failed to publish cache invalidation for {}::{}", cacheName, key, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            JsonNode body = objectMapper.readTree(new String(message.getBody(), StandardCharsets.UTF_8));
+            if (instanceId.equals(body.path("origin").asText())) {
+                return;
+            }
+            TwoLevelCache cache = caches.get(body.path("cache").asText());
+            if (cache == null) {
+                return;
+            }
+            JsonNode key = body.path("key");
+            if (key.isNull() || key.isMissingNode()) {
+                cache.clearLocal();
+            } else {
+                cache.evictLocal(key.asText());
+            }
+        } catch (Exception e) {
+            log.warn("Ignoring malformed cache invalidation message", e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.product.cache;
+
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+
+/**
+ * A cache that can report how long an entry has left to live.
+ */
+public interface ExpiringCache {
+
+    /**
+     * Look up a key together with its remaining time to live.
+     *
+     * @return The entry, or null if the key is not cached
+     */
+    @Nullable
+    Entry getWithExpiry(Object key);
+
+    /**
+     * @param value      Cached value; null for a cached null
+     * @param timeToLive Remaining time to live; null if the entry does not expire
+     */
+    record Entry(@Nullable Object value, @Nullable Duration timeToLive) {
+    }
+}
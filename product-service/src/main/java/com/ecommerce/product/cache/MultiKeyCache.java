@@ -0,0 +1,20 @@
+package com.ecommerce.product.cache;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A cache that can read and write many keys in one round trip.
+ */
+public interface MultiKeyCache {
+
+    /**
+     * Look up several keys at once.
+     *
+     * @return Values of the keys that were found, keyed by the given key
+     *         objects; keys holding a cached null map to null
+     */
+    Map<Object, Object> getAll(Collection<?> keys);
+
+    void putAll(Map<?, ?> entries);
+}
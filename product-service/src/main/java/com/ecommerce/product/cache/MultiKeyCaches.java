@@ -0,0 +1,66 @@
+package com.ecommerce.product.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Multi-key reads and writes on any Spring {@link Cache}. Caches that
+ * implement {@link MultiKeyCache} get one round trip per call; any other
+ * cache falls back to one call per key.
+ */
+public final class MultiKeyCaches {
+
+    private MultiKeyCaches() {
+    }
+
+    public static Map<Object, Object> getAll(Cache cache, Collection<?> keys) {
+        if (keys.isEmpty()) {
+            return new HashMap<>();
+        }
+        if (target(cache) instanceof MultiKeyCache multiKeyCache) {
+            return multiKeyCache.getAll(keys);
+        }
+        Map<Object, Object> found = new HashMap<>();
+        for (Object key : keys) {
+            Cache.ValueWrapper wrapper = cache.get(key);
+            if (wrapper != null) {
+                found.put(key, wrapper.get());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Put several entries. Like a transaction-aware cache, the write is
+     * deferred until the surrounding transaction commits, if there is one.
+     */
+    public static void putAll(Cache cache, Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (!(target(cache) instanceof MultiKeyCache multiKeyCache)) {
+            entries.forEach(cache::put);
+            return;
+        }
+        if (cache instanceof TransactionAwareCacheDecorator && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    multiKeyCache.putAll(entries);
+                }
+            });
+        } else {
+            multiKeyCache.putAll(entries);
+        }
+    }
+
+    private static Cache target(Cache cache) {
+        return cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+    }
+}
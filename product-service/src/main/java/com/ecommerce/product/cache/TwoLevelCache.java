@@ -0,0 +1,364 @@
+package com.ecommerce.product.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cache with a per-instance Caffeine near-cache (L1) in front of a shared
+ * Redis cache (L2).
+ *
+ * Reads try L1, then L2, and copy L2 hits into L1. Writes go to both
+ * layers. Evictions clear both layers and are broadcast so other instances
+ * drop their L1 copy. Keys are held in L1 in their string form, which is
+ * also how they are written to Redis and sent in invalidation messages.
+ *
+ * Multi-key reads check L1 for every key first and send the misses to L2
+ * together, in one round trip when L2 is a {@link MultiKeyCache}.
+ *
+ * Loads through {@link #get(Object, Callable)} are single-flight per key:
+ * concurrent misses wait for the first caller's load instead of all
+ * reaching the database. Hits close to the L2 expiry are refreshed early
+ * with probability rising as expiry nears (XFetch), scaled by the average
+ * load time, so a hot key is usually reloaded by one caller before it
+ * expires for everyone. A loaded null is cached like any other value; the
+ * L2 cache is expected to give it a shorter TTL.
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache implements MultiKeyCache {
+
+    private static final Duration DEFAULT_REMOTE_TTL = Duration.ofMinutes(10);
+    private static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(30);
+    private static final long DEFAULT_TRACKED_EXPIRIES = 10_000;
+    private static final double LOAD_TIME_WEIGHT = 0.2;
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final CacheInvalidationBus invalidationBus;
+    private final Duration remoteTtl;
+    private final Duration negativeTtl;
+    private final double earlyRefreshBeta;
+
+    // L2 expiry time (epoch millis) of keys whose expiry is known
+    private final com.github.benmanes.caffeine.cache.Cache<String, Long> remoteExpiries;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private volatile double averageLoadMillis;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter remoteInvalidations;
+    private final Counter coalescedLoads;
+    private final Counter earlyRefreshes;
+
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                         Cache remote,
+                         CacheInvalidationBus invalidationBus,
+                         MeterRegistry meterRegistry) {
+        this(name, local, remote, invalidationBus, meterRegistry, DEFAULT_REMOTE_TTL, DEFAULT_NEGATIVE_TTL, 1.0);
+    }
+
+    /**
+     * @param remoteTtl        TTL the L2 cache gives values
+     * @param negativeTtl      TTL the L2 cache gives cached nulls
+     * @param earlyRefreshBeta Eagerness of early refresh; 0 disables it
+     */
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                         Cache remote,
+                         CacheInvalidationBus invalidationBus,
+                         MeterRegistry meterRegistry,
+                         Duration remoteTtl,
+                         Duration negativeTtl,
+                         double earlyRefreshBeta) {
+        super(true);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationBus = invalidationBus;
+        this.remoteTtl = remoteTtl;
+        this.negativeTtl = negativeTtl;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.remoteExpiries = Caffeine.newBuilder()
+                .maximumSize(local.policy().eviction()
+                        .map(eviction -> eviction.getMaximum())
+                        .orElse(DEFAULT_TRACKED_EXPIRIES))
+                .expireAfter(new Expiry<String, Long>() {
+                    @Override
+                    public long expireAfterCreate(String key, Long expiresAt, long currentTime) {
+                        return Duration.ofMillis(Math.max(0, expiresAt - System.currentTimeMillis())).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Long expiresAt, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, expiresAt, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Long expiresAt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+
+        this.localHits = requests(meterRegistry, "local", "hit");
+        this.localMisses = requests(meterRegistry, "local", "miss");
+        this.remoteHits = requests(meterRegistry, "remote", "hit");
+        this.remoteMisses = requests(meterRegistry, "remote", "miss");
+        this.remoteInvalidations = Counter.builder("cache.layer.invalidations")
+                .description("Near-cache invalidations received from other instances")
+                .tag("cache", name)
+                .register(meterRegistry);
+        this.coalescedLoads = loads(meterRegistry, "coalesced");
+        this.earlyRefreshes = loads(meterRegistry, "early-refresh");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    public Cache getRemoteCache() {
+        return remote;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            localHits.increment();
+            return value;
+        }
+        localMisses.increment();
+
+        Object stored;
+        if (remote instanceof ExpiringCache expiringCache) {
+            ExpiringCache.Entry entry = expiringCache.getWithExpiry(key);
+            if (entry == null) {
+                remoteMisses.increment();
+                return null;
+            }
+            stored = toStoreValue(entry.value());
+            if (entry.timeToLive() != null) {
+                remoteExpiries.put(localKey, System.currentTimeMillis() + entry.timeToLive().toMillis());
+            }
+        } else {
+            ValueWrapper wrapper = remote.get(key);
+            if (wrapper == null) {
+                remoteMisses.increment();
+                return null;
+            }
+            stored = toStoreValue(wrapper.get());
+        }
+        remoteHits.increment();
+        local.put(localKey, stored);
+        return stored;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object stored = lookup(key);
+        if (stored == null) {
+            return (T) fromStoreValue(load(key, localKey, valueLoader));
+        }
+        if (shouldRefreshEarly(localKey)) {
+            CompletableFuture<Object> refresh = new CompletableFuture<>();
+            if (inFlight.putIfAbsent(localKey, refresh) == null) {
+                earlyRefreshes.increment();
+                try {
+                    return (T) fromStoreValue(runLoad(key, localKey, valueLoader, refresh));
+                } catch (ValueRetrievalException e) {
+                    // The cached value is still valid; serve it and let a later hit retry
+                }
+            }
+        }
+        return (T) fromStoreValue(stored);
+    }
+
+    /**
+     * Load a missing key, or wait for the load another caller already
+     * started.
+     */
+    private Object load(Object key, String localKey, Callable<?> valueLoader) {
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(localKey, own);
+        if (running == null) {
+            return runLoad(key, localKey, valueLoader, own);
+        }
+        coalescedLoads.increment();
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            throw new ValueRetrievalException(key, valueLoader, e.getCause());
+        }
+    }
+
+    private Object runLoad(Object key, String localKey, Callable<?> valueLoader, CompletableFuture<Object> future) {
+        try {
+            long start = System.nanoTime();
+            Object value = valueLoader.call();
+            recordLoadTime(System.nanoTime() - start);
+
+            Object stored = toStoreValue(value);
+            remote.put(key, value);
+            local.put(localKey, stored);
+            recordExpiry(localKey, value);
+            future.complete(stored);
+            return stored;
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            inFlight.remove(localKey, future);
+        }
+    }
+
+    /**
+     * XFetch: refresh when now - loadTime * beta * ln(random) passes the
+     * expiry time. Keys whose L2 expiry is unknown are never refreshed early.
+     */
+    private boolean shouldRefreshEarly(String localKey) {
+        if (earlyRefreshBeta <= 0) {
+            return false;
+        }
+        Long expiresAt = remoteExpiries.getIfPresent(localKey);
+        if (expiresAt == null) {
+            return false;
+        }
+        double gap = -averageLoadMillis * earlyRefreshBeta * Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + gap >= expiresAt;
+    }
+
+    private void recordLoadTime(long nanos) {
+        double millis = nanos / 1_000_000.0;
+        double average = averageLoadMillis;
+        averageLoadMillis = average == 0 ? millis : average + LOAD_TIME_WEIGHT * (millis - average);
+    }
+
+    private void recordExpiry(String localKey, Object value) {
+        Duration ttl = value == null ? negativeTtl : remoteTtl;
+        remoteExpiries.put(localKey, System.currentTimeMillis() + ttl.toMillis());
+    }
+
+    @Override
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> found = new HashMap<>();
+        List<Object> remoteKeys = new ArrayList<>();
+        for (Object key : keys) {
+            Object stored = local.getIfPresent(localKey(key));
+            if (stored != null) {
+                found.put(key, fromStoreValue(stored));
+            } else {
+                remoteKeys.add(key);
+            }
+        }
+        localHits.increment(found.size());
+        localMisses.increment(remoteKeys.size());
+        if (remoteKeys.isEmpty()) {
+            return found;
+        }
+
+        Map<Object, Object> remoteFound = MultiKeyCaches.getAll(remote, remoteKeys);
+        remoteHits.increment(remoteFound.size());
+        remoteMisses.increment(remoteKeys.size() - remoteFound.size());
+        remoteFound.forEach((key, value) -> local.put(localKey(key), toStoreValue(value)));
+        found.putAll(remoteFound);
+        return found;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        if (remote instanceof MultiKeyCache multiKeyCache) {
+            multiKeyCache.putAll(entries);
+        } else {
+            entries.forEach(remote::put);
+        }
+        entries.forEach((key, value) -> {
+            local.put(localKey(key), toStoreValue(value));
+            recordExpiry(localKey(key), value);
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        local.put(localKey(key), toStoreValue(value));
+        recordExpiry(localKey(key), value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        remote.evict(key);
+        local.invalidate(localKey);
+        remoteExpiries.invalidate(localKey);
+        invalidationBus.publish(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        remoteExpiries.invalidateAll();
+        invalidationBus.publish(name, null);
+    }
+
+    void evictLocal(String key) {
+        local.invalidate(key);
+        remoteExpiries.invalidate(key);
+        remoteInvalidations.increment();
+    }
+
+    void clearLocal() {
+        local.invalidateAll();
+        remoteExpiries.invalidateAll();
+        remoteInvalidations.increment();
+    }
+
+    static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private Counter requests(MeterRegistry meterRegistry, String layer, String result) {
+        return Counter.builder("cache.layer.requests")
+                .description("Cache lookups per layer")
+                .tag("cache", name)
+                .tag("layer", layer)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter loads(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("cache.layer.loads")
+                .description("Loads that were shared with another caller or started before expiry")
+                .tag("cache", name)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
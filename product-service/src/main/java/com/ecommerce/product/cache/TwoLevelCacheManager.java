@@ -0,0 +1,109 @@
+package com.ecommerce.product.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Creates a {@link TwoLevelCache} per cache name on top of a remote
+ * (Redis) cache manager.
+ *
+ * Caches are transaction-aware: puts and evictions made inside a
+ * transaction are applied after it commits, so a concurrent read cannot
+ * put the pre-commit value back into a near-cache.
+ *
+ * Cached nulls (negative entries) live in the near-cache no longer than
+ * the negative TTL, like in Redis.
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager remoteCacheManager;
+    private final CacheInvalidationBus invalidationBus;
+    private final MeterRegistry meterRegistry;
+    private final long maximumSize;
+    private final Duration expireAfterWrite;
+    private final Duration remoteTtl;
+    private final Duration negativeTtl;
+    private final double earlyRefreshBeta;
+
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager,
+                                CacheInvalidationBus invalidationBus,
+                                MeterRegistry meterRegistry,
+                                long maximumSize,
+                                Duration expireAfterWrite,
+                                Duration remoteTtl,
+                                Duration negativeTtl,
+                                double earlyRefreshBeta) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.invalidationBus = invalidationBus;
+        this.meterRegistry = meterRegistry;
+        this.maximumSize = maximumSize;
+        this.expireAfterWrite = expireAfterWrite;
+        this.remoteTtl = remoteTtl;
+        this.negativeTtl = negativeTtl;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    private Cache createCache(String name) {
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            throw new IllegalStateException("No remote cache named " + name);
+        }
+
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(localExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name, "layer", "local");
+
+        TwoLevelCache cache = new TwoLevelCache(name, local, remote, invalidationBus, meterRegistry,
+                remoteTtl, negativeTtl, earlyRefreshBeta);
+        invalidationBus.register(cache);
+        return new TransactionAwareCacheDecorator(cache);
+    }
+
+    private Expiry<String, Object> localExpiry() {
+        long valueNanos = expireAfterWrite.toNanos();
+        long nullNanos = Math.min(valueNanos, negativeTtl.toNanos());
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String key, Object value, long currentTime) {
+                return value == NullValue.INSTANCE ? nullNanos : valueNanos;
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, Object value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String key, Object value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+}
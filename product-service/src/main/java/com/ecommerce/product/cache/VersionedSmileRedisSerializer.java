@@ -0,0 +1,89 @@
+package com.ecommerce.product.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+
+/**
+ * Serializes cache values of one known type as Smile, Jackson's binary
+ * JSON, behind a one-byte format version.
+ *
+ * Unlike {@link org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer}
+ * no class names are written, since the type is fixed per cache, and
+ * numbers, dates and repeated field names are stored in binary form.
+ *
+ * Unknown properties are ignored, so fields added in a newer release can
+ * be read by instances still running the old one. Values written in an
+ * unknown format version are read as null, which the cache treats as a
+ * miss; bump {@link #FORMAT_VERSION} when the encoding itself changes.
+ * Incompatible changes to the value type need a new cache key version
+ * instead.
+ */
+@Slf4j
+public class VersionedSmileRedisSerializer<T> implements RedisSerializer<T> {
+
+    public static final byte FORMAT_VERSION = 1;
+
+    private final Class<T> type;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    public VersionedSmileRedisSerializer(Class<T> type) {
+        // The format byte identifies the payload, so Smile's own 4-byte header is left out
+        SmileFactory smileFactory = SmileFactory.builder()
+                .disable(SmileGenerator.Feature.WRITE_HEADER)
+                .build();
+        ObjectMapper mapper = new ObjectMapper(smileFactory)
+                .registerModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.type = type;
+        this.writer = mapper.writerFor(type);
+        this.reader = mapper.readerFor(type);
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        try {
+            byte[] payload = writer.writeValueAsBytes(value);
+            byte[] bytes = new byte[payload.length + 1];
+            bytes[0] = FORMAT_VERSION;
+            System.arraycopy(payload, 0, bytes, 1, payload.length);
+            return bytes;
+        } catch (IOException e) {
+            throw new SerializationException("Could not write " + type.getSimpleName() + " as Smile", e);
+        }
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != FORMAT_VERSION) {
+            log.debug("Ignoring cached {} in unknown format version {}", type.getSimpleName(), bytes[0]);
+            return null;
+        }
+        try {
+            return reader.readValue(bytes, 1, bytes.length - 1);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read " + type.getSimpleName() + " from Smile", e);
+        }
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return type;
+    }
+}
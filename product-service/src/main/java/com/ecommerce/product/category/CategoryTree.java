@@ -0,0 +1,150 @@
+package com.ecommerce.product.category;
+
+import com.ecommerce.product.dto.CategoryResponse;
+import com.ecommerce.product.dto.CategoryTreeResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the category hierarchy.
+ *
+ * Categories are numbered in depth-first pre-order when the snapshot is
+ * built, so every subtree is one contiguous slice of that order and the
+ * IDs of a category and all its descendants are available without
+ * walking the tree. A snapshot is never modified; changes are picked up
+ * by building a new one and swapping it in.
+ */
+public final class CategoryTree {
+
+    private static final CategoryTree EMPTY = new CategoryTree(List.of());
+
+    private final Map<Long, Node> nodes;
+    private final List<CategoryResponse> categories;
+    private final List<CategoryTreeResponse> roots;
+    private final Long[] preorder;
+
+    private CategoryTree(List<CategoryResponse> rows) {
+        Map<Long, CategoryResponse> byId = new HashMap<>();
+        Map<Long, List<CategoryResponse>> childrenByParent = new HashMap<>();
+        for (CategoryResponse row : rows) {
+            byId.put(row.getId(), row);
+        }
+        List<CategoryResponse> topLevel = new ArrayList<>();
+        for (CategoryResponse row : rows) {
+            // A dangling parent is treated as a root rather than hiding the subtree
+            if (row.getParentCategoryId() == null || !byId.containsKey(row.getParentCategoryId())) {
+                topLevel.add(row);
+            } else {
+                childrenByParent.computeIfAbsent(row.getParentCategoryId(), id -> new ArrayList<>()).add(row);
+            }
+        }
+
+        Map<Long, Node> nodes = new HashMap<>();
+        List<Long> order = new ArrayList<>(rows.size());
+        List<CategoryTreeResponse> roots = new ArrayList<>();
+        for (CategoryResponse root : sorted(topLevel)) {
+            roots.add(visit(root, 0, childrenByParent, nodes, order));
+        }
+        // Rows on a parent cycle are unreachable from any root; expose them as roots
+        for (CategoryResponse row : rows) {
+            if (!nodes.containsKey(row.getId())) {
+                roots.add(visit(row, 0, childrenByParent, nodes, order));
+            }
+        }
+
+        List<CategoryResponse> categories = new ArrayList<>(rows);
+        categories.sort(Comparator.comparing(CategoryResponse::getId));
+
+        this.nodes = nodes;
+        this.categories = Collections.unmodifiableList(categories);
+        this.roots = Collections.unmodifiableList(roots);
+        this.preorder = order.toArray(new Long[0]);
+    }
+
+    /**
+     * Build a snapshot from flat category rows
+     */
+    public static CategoryTree of(List<CategoryResponse> rows) {
+        return rows.isEmpty() ? EMPTY : new CategoryTree(rows);
+    }
+
+    public CategoryResponse find(Long id) {
+        Node node = nodes.get(id);
+        return node != null ? node.category() : null;
+    }
+
+    public boolean contains(Long id) {
+        return nodes.containsKey(id);
+    }
+
+    /**
+     * All categories in ID order
+     */
+    public List<CategoryResponse> categories() {
+        return categories;
+    }
+
+    public List<CategoryTreeResponse> roots() {
+        return roots;
+    }
+
+    /**
+     * The category and all its descendants, or an empty list if the
+     * category is unknown
+     */
+    public List<Long> subtreeIds(Long id) {
+        Node node = nodes.get(id);
+        if (node == null) {
+            return List.of();
+        }
+        return Collections.unmodifiableList(Arrays.asList(preorder).subList(node.start(), node.end()));
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    private static CategoryTreeResponse visit(CategoryResponse category, int depth,
+                                              Map<Long, List<CategoryResponse>> childrenByParent,
+                                              Map<Long, Node> nodes, List<Long> order) {
+        int start = order.size();
+        order.add(category.getId());
+        // Claim the node before descending so a cycle cannot be entered twice
+        nodes.put(category.getId(), new Node(category, start, start + 1));
+
+        List<CategoryTreeResponse> children = new ArrayList<>();
+        for (CategoryResponse child : sorted(childrenByParent.getOrDefault(category.getId(), List.of()))) {
+            if (!nodes.containsKey(child.getId())) {
+                children.add(visit(child, depth + 1, childrenByParent, nodes, order));
+            }
+        }
+        nodes.put(category.getId(), new Node(category, start, order.size()));
+
+        return CategoryTreeResponse.builder()
+                .id(category.getId())
+                .name(category.getName())
+                .description(category.getDescription())
+                .parentCategoryId(category.getParentCategoryId())
+                .depth(depth)
+                .children(Collections.unmodifiableList(children))
+                .build();
+    }
+
+    private static List<CategoryResponse> sorted(List<CategoryResponse> categories) {
+        List<CategoryResponse> copy = new ArrayList<>(categories);
+        copy.sort(Comparator.comparing(CategoryResponse::getName, String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(CategoryResponse::getId));
+        return copy;
+    }
+
+    /**
+     * A category and the slice of the pre-order holding its subtree
+     */
+    private record Node(CategoryResponse category, int start, int end) {}
+}
@@ -1,18 +1,33 @@
 package com.ecommerce.product.config;
 
+import com.ecommerce.product.cache.BatchRedisCacheManager;
+import com.ecommerce.product.cache.CacheInvalidationBus;
+import com.ecommerce.product.cache.TwoLevelCacheManager;
+import com.ecommerce.product.cache.VersionedSmileRedisSerializer;
+import com.ecommerce.product.dto.ProductResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.NullValue;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
-import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.Map;
 
 @Configuration
 @EnableCaching
@@ -36,16 +51,62 @@ public class RedisConfig {
     }
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheInvalidationBus cacheInvalidationBus(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper) {
+        return new CacheInvalidationBus(stringRedisTemplate, objectMapper);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            CacheInvalidationBus cacheInvalidationBus) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheInvalidationBus, new ChannelTopic(CacheInvalidationBus.CHANNEL));
+        return container;
+    }
+
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     CacheInvalidationBus cacheInvalidationBus,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${cache.products.key-version:1}") String keyVersion,
+                                     @Value("${cache.products.serializer:smile}") String productSerializer,
+                                     @Value("${cache.local.maximum-size:10000}") long localMaximumSize,
+                                     @Value("${cache.local.expire-after-write:60s}") Duration localExpireAfterWrite,
+                                     @Value("${cache.products.ttl:10m}") Duration ttl,
+                                     @Value("${cache.products.negative-ttl:30s}") Duration negativeTtl,
+                                     @Value("${cache.products.early-refresh-beta:1.0}") double earlyRefreshBeta) {
+        // Cached nulls mark IDs known not to exist; keep them briefly so a
+        // newly created product shows up even if the eviction is missed
+        RedisCacheWriter.TtlFunction ttlFunction = (key, value) ->
+                value == null || value instanceof NullValue ? negativeTtl : ttl;
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10))
+                .entryTtl(ttlFunction)
+                .computePrefixWith(cacheName -> cacheName + ":v" + keyVersion + "::")
                 .serializeKeysWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()));
+        RedisCacheConfiguration productsConfig = config.serializeValuesWith(
+                RedisSerializationContext.SerializationPair.fromSerializer(productCacheSerializer(productSerializer)));
+
+        BatchRedisCacheManager redisCacheManager = new BatchRedisCacheManager(connectionFactory, config,
+                Map.of("products", productsConfig));
+        redisCacheManager.afterPropertiesSet();
+
+        return new TwoLevelCacheManager(redisCacheManager, cacheInvalidationBus, meterRegistry,
+                localMaximumSize, localExpireAfterWrite, ttl, negativeTtl, earlyRefreshBeta);
+    }
 
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(config)
-                .build();
+    /**
+     * Value format of the product cache. Instances using different formats
+     * must use different key versions.
+     */
+    static RedisSerializer<?> productCacheSerializer(String format) {
+        return switch (format) {
+            case "smile" -> new VersionedSmileRedisSerializer<>(ProductResponse.class);
+            case "json" -> new GenericJackson2JsonRedisSerializer()
+                    .configure(mapper -> mapper.registerModule(new JavaTimeModule()));
+            default -> throw new IllegalArgumentException("Unknown product cache serializer: " + format);
+        };
     }
 }
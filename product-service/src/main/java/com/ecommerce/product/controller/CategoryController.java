@@ -2,6 +2,7 @@ package com.ecommerce.product.controller;
 
 import com.ecommerce.product.dto.CategoryRequest;
 import com.ecommerce.product.dto.CategoryResponse;
+import com.ecommerce.product.dto.CategoryTreeResponse;
 import com.ecommerce.product.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -27,6 +28,12 @@ public class CategoryController {
         return ResponseEntity.ok(categoryService.getAllCategories());
     }
 
+    @GetMapping("/tree")
+    @Operation(summary = "Get category tree", description = "Retrieve all categories nested under their parents")
+    public ResponseEntity<List<CategoryTreeResponse>> getCategoryTree() {
+        return ResponseEntity.ok(categoryService.getCategoryTree());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get category by ID", description = "Retrieve a category by its ID")
     public ResponseEntity<CategoryResponse> getCategoryById(@PathVariable Long id) {
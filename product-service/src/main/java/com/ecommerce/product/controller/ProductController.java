@@ -1,15 +1,27 @@
 package com.ecommerce.product.controller;
 
+import com.ecommerce.product.dto.BatchReservationRequest;
+import com.ecommerce.product.dto.BatchReservationResponse;
+import com.ecommerce.product.dto.CursorPage;
 import com.ecommerce.product.dto.ProductRequest;
 import com.ecommerce.product.dto.ProductResponse;
 import com.ecommerce.product.dto.ProductSearchRequest;
+import com.ecommerce.product.dto.ProductSearchResponse;
+import com.ecommerce.product.dto.ProductSummaryResponse;
+import com.ecommerce.product.dto.SuggestionResponse;
+import com.ecommerce.product.inventory.HotInventoryService;
+import com.ecommerce.product.service.ProductAccessTracker;
 import com.ecommerce.product.service.ProductService;
+import com.ecommerce.product.service.ProductSuggestService;
+import com.ecommerce.product.service.StockReservationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,18 +34,56 @@ import java.util.List;
 @Tag(name = "Product Management", description = "APIs for managing products")
 public class ProductController {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final ProductService productService;
+    private final ProductAccessTracker productAccessTracker;
+    private final StockReservationService stockReservationService;
+    private final HotInventoryService hotInventoryService;
+    private final ProductSuggestService productSuggestService;
 
     @GetMapping
     @Operation(summary = "Get all products", description = "Retrieve all active products with pagination")
     public ResponseEntity<Page<ProductResponse>> getAllProducts(Pageable pageable) {
-        return ResponseEntity.ok(productService.getAllProducts(pageable));
+        Page<ProductResponse> page = productService.getAllProducts(pageable);
+        return revalidated(ProductETags.ofPage(page)).body(page);
+    }
+
+    @GetMapping(params = "after")
+    @Operation(summary = "Get all products by cursor",
+            description = "Retrieve active products with keyset pagination; pass an empty after for the first page")
+    public ResponseEntity<CursorPage<ProductResponse>> getAllProductsAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size,
+            Sort sort) {
+        CursorPage<ProductResponse> page = productService.getAllProducts(after, sort, clampCursorPageSize(size));
+        return revalidated(ProductETags.ofCursorPage(page)).body(page);
+    }
+
+    @GetMapping("/summaries")
+    @Operation(summary = "Get product summaries",
+            description = "Retrieve active products for list views, without descriptions and images")
+    public ResponseEntity<Page<ProductSummaryResponse>> getProductSummaries(Pageable pageable) {
+        Page<ProductSummaryResponse> page = productService.getProductSummaries(pageable);
+        return revalidated(ProductETags.ofSummaryPage(page)).body(page);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest completions",
+            description = "Product names and categories with a word starting with the typed text, most popular first")
+    public ResponseEntity<List<SuggestionResponse>> suggest(@RequestParam String q,
+                                                            @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok(productSuggestService.suggest(q, limit));
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get product by ID", description = "Retrieve a product by its ID")
+    @Operation(summary = "Get product by ID",
+            description = "Retrieve a product by its ID; answers 304 when If-None-Match holds the current ETag")
     public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.getProductById(id));
+        productAccessTracker.record(id);
+        // Served from the product cache; a matching If-None-Match gets a 304 without the body being written
+        ProductResponse product = productService.getProductById(id);
+        return revalidated(ProductETags.of(product)).body(product);
     }
 
     @PostMapping("/search")
@@ -44,6 +94,25 @@ public class ProductController {
         return ResponseEntity.ok(productService.searchProducts(request, pageable));
     }
 
+    @PostMapping(value = "/search", params = "after")
+    @Operation(summary = "Search products by cursor",
+            description = "Search products with filters and keyset pagination; pass an empty after for the first page")
+    public ResponseEntity<CursorPage<ProductResponse>> searchProductsAfter(
+            @RequestBody ProductSearchRequest request,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size,
+            Sort sort) {
+        return ResponseEntity.ok(productService.searchProducts(request, after, sort, clampCursorPageSize(size)));
+    }
+
+    @PostMapping("/search/faceted")
+    @Operation(summary = "Faceted product search", description = "Search products and count matches per category, price range and stock status")
+    public ResponseEntity<ProductSearchResponse> searchProductsWithFacets(
+            @RequestBody ProductSearchRequest request,
+            Pageable pageable) {
+        return ResponseEntity.ok(productService.searchProductsWithFacets(request, pageable));
+    }
+
     @PostMapping
     @Operation(summary = "Create product", description = "Create a new product (Admin only)")
     public ResponseEntity<ProductResponse> createProduct(@Valid @RequestBody ProductRequest request) {
@@ -83,9 +152,58 @@ public class ProductController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/reserve-stock/batch")
+    @Operation(summary = "Reserve stock for several products",
+            description = "Reserve all lines or none, returning a status per line and a reservation token (Internal API)")
+    public ResponseEntity<BatchReservationResponse> reserveStockBatch(
+            @Valid @RequestBody BatchReservationRequest request) {
+        return ResponseEntity.ok(stockReservationService.reserveBatch(request));
+    }
+
+    @PostMapping("/reservations/{token}/confirm")
+    @Operation(summary = "Confirm a reservation", description = "Keep the stock held under a reservation token, e.g. once paid (Internal API)")
+    public ResponseEntity<Void> confirmReservation(@PathVariable String token) {
+        stockReservationService.confirmReservation(token);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/reservations/{token}/release")
+    @Operation(summary = "Release a reservation", description = "Release all stock held under a reservation token (Internal API)")
+    public ResponseEntity<Void> releaseReservation(@PathVariable String token) {
+        stockReservationService.releaseReservation(token);
+        return ResponseEntity.ok().build();
+    }
+
+    @PutMapping("/{id}/hot-inventory")
+    @Operation(summary = "Switch hot inventory mode",
+            description = "Hold a product's stock in a Redis counter written back in batches, e.g. for a flash sale")
+    public ResponseEntity<Void> setHotInventory(
+            @PathVariable Long id,
+            @RequestParam boolean enabled) {
+        if (enabled) {
+            hotInventoryService.enable(id);
+        } else {
+            hotInventoryService.disable(id);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/batch")
     @Operation(summary = "Get products by IDs", description = "Retrieve multiple products by their IDs")
     public ResponseEntity<List<ProductResponse>> getProductsByIds(@RequestParam List<Long> ids) {
         return ResponseEntity.ok(productService.getProductsByIds(ids));
     }
+
+    /**
+     * Spring answers a GET whose If-None-Match matches the ETag with an
+     * empty 304. No-cache makes clients revalidate instead of guessing a
+     * freshness lifetime.
+     */
+    private static ResponseEntity.BodyBuilder revalidated(String eTag) {
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache());
+    }
+
+    private static int clampCursorPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
 }
@@ -0,0 +1,77 @@
+package com.ecommerce.product.controller;
+
+import com.ecommerce.product.dto.CursorPage;
+import com.ecommerce.product.dto.ProductResponse;
+import com.ecommerce.product.dto.ProductSummaryResponse;
+import org.springframework.data.domain.Page;
+
+import java.util.Objects;
+
+/**
+ * Strong ETags for product responses, derived from the products' version
+ * columns rather than from the serialized body, so checking
+ * {@code If-None-Match} costs no serialization.
+ *
+ * Every write to a product row increments its version. The category name
+ * is copied into the responses without touching the version, so it is
+ * hashed in as well. Page tags cover the IDs in order, so they also change
+ * when products enter, leave or move within the page.
+ */
+final class ProductETags {
+
+    // FNV-1a, 64 bit
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private ProductETags() {
+    }
+
+    static String of(ProductResponse product) {
+        return format(product(OFFSET_BASIS, product.getId(), product.getVersion(), product.getCategoryName()));
+    }
+
+    static String ofPage(Page<ProductResponse> page) {
+        long hash = position(page);
+        for (ProductResponse product : page.getContent()) {
+            hash = product(hash, product.getId(), product.getVersion(), product.getCategoryName());
+        }
+        return format(hash);
+    }
+
+    static String ofSummaryPage(Page<ProductSummaryResponse> page) {
+        long hash = position(page);
+        for (ProductSummaryResponse product : page.getContent()) {
+            hash = product(hash, product.getId(), product.getVersion(), product.getCategoryName());
+        }
+        return format(hash);
+    }
+
+    static String ofCursorPage(CursorPage<ProductResponse> page) {
+        long hash = add(OFFSET_BASIS, Objects.hashCode(page.getNextCursor()));
+        for (ProductResponse product : page.getContent()) {
+            hash = product(hash, product.getId(), product.getVersion(), product.getCategoryName());
+        }
+        return format(hash);
+    }
+
+    private static long position(Page<?> page) {
+        return add(add(add(OFFSET_BASIS, page.getNumber()), page.getSize()), page.getTotalElements());
+    }
+
+    private static long product(long hash, Long id, Long version, String categoryName) {
+        hash = add(hash, id != null ? id : -1L);
+        hash = add(hash, version != null ? version : -1L);
+        return add(hash, Objects.hashCode(categoryName));
+    }
+
+    private static long add(long hash, long value) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            hash = (hash ^ ((value >>> shift) & 0xff)) * PRIME;
+        }
+        return hash;
+    }
+
+    private static String format(long hash) {
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecommerce.product.controller;
+
+import com.ecommerce.product.dto.ExportFormat;
+import com.ecommerce.product.service.ProductExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/products/export")
+@RequiredArgsConstructor
+@Tag(name = "Product Export", description = "Catalog export APIs")
+public class ProductExportController {
+
+    private final ProductExportService productExportService;
+
+    /**
+     * Written on the request thread rather than as an async body, so a
+     * long export is not cut off by the async request timeout. Compressed
+     * when the client accepts gzip.
+     */
+    @GetMapping
+    @Operation(summary = "Export catalog", description = "Streams every active product as NDJSON or CSV for feeds and partners")
+    public void exportCatalog(@RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                              @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                              HttpServletResponse response) throws IOException {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
+        String extension = format == ExportFormat.CSV ? "csv" : "ndjson";
+
+        response.setContentType(format == ExportFormat.CSV ? "text/csv;charset=UTF-8" : "application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"catalog." + extension + "\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        productExportService.exportCatalog(response.getOutputStream(), format, gzip);
+    }
+}
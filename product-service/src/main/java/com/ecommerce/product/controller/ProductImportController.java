@@ -0,0 +1,55 @@
+package com.ecommerce.product.controller;
+
+import com.ecommerce.product.dto.ImportFormat;
+import com.ecommerce.product.service.ProductImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+@RestController
+@RequestMapping("/api/products/import")
+@RequiredArgsConstructor
+@Tag(name = "Product Import", description = "Bulk product import APIs")
+public class ProductImportController {
+
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+    private static final String TEXT_CSV = "text/csv";
+
+    private final ProductImportService productImportService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The response is written while the import runs: one NDJSON line per
+     * rejected row, a progress line per chunk and a final summary line.
+     */
+    @PostMapping(consumes = {APPLICATION_NDJSON, TEXT_CSV}, produces = APPLICATION_NDJSON)
+    @Operation(summary = "Import products", description = "Streams products from NDJSON or CSV into the catalog")
+    public void importProducts(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImportFormat format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.valueOf(TEXT_CSV))
+                ? ImportFormat.CSV
+                : ImportFormat.NDJSON;
+
+        response.setContentType(APPLICATION_NDJSON);
+        ServletOutputStream out = response.getOutputStream();
+        productImportService.importProducts(request.getInputStream(), format, event -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(event));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
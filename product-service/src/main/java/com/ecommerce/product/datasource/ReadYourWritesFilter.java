@@ -0,0 +1,44 @@
+package com.ecommerce.product.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Restores a client's stickiness to the primary from the cookie set after
+ * its last write, and resets the routing state when the request ends.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (ReplicaRouting.STICKY_COOKIE.equals(cookie.getName())) {
+                    restore(cookie.getValue());
+                }
+            }
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRouting.clear();
+        }
+    }
+
+    private static void restore(String value) {
+        try {
+            ReplicaRouting.restore(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            // Tampered or foreign cookie; read from the replica as usual
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecommerce.product.datasource;
+
+import jakarta.servlet.http.Cookie;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Per-thread state that decides whether read-only transactions may use
+ * the replica.
+ *
+ * After a write commits, the thread, and the HTTP client through a
+ * cookie, reads from the primary for a short window so it sees its own
+ * writes despite replication lag. Code that must never see stale data can
+ * pin itself to the primary with {@link #onPrimary(Supplier)}.
+ *
+ * Without a replica configured all of this is a no-op: every connection
+ * comes from the single data source.
+ */
+public final class ReplicaRouting {
+
+    public static final String STICKY_COOKIE = "primary-until";
+
+    private static final ThreadLocal<Integer> PRIMARY_PINS = ThreadLocal.withInitial(() -> 0);
+    private static final ThreadLocal<Long> PRIMARY_UNTIL = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    /**
+     * Run an action whose transactions all use the primary, read-only or
+     * not. Transactions must start inside the action to be affected.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        PRIMARY_PINS.set(PRIMARY_PINS.get() + 1);
+        try {
+            return action.get();
+        } finally {
+            PRIMARY_PINS.set(PRIMARY_PINS.get() - 1);
+        }
+    }
+
+    public static void onPrimary(Runnable action) {
+        onPrimary(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    static boolean isPrimaryRequired() {
+        if (PRIMARY_PINS.get() > 0) {
+            return true;
+        }
+        Long until = PRIMARY_UNTIL.get();
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    /**
+     * Keep the current thread, and the client of the current request if
+     * there is one, on the primary for the given window.
+     */
+    static void recordWrite(Duration window) {
+        long until = System.currentTimeMillis() + window.toMillis();
+        PRIMARY_UNTIL.set(until);
+
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes
+                && servletAttributes.getResponse() != null) {
+            Cookie cookie = new Cookie(STICKY_COOKIE, Long.toString(until));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+            servletAttributes.getResponse().addCookie(cookie);
+        }
+    }
+
+    static void restore(long until) {
+        if (until > System.currentTimeMillis()) {
+            PRIMARY_UNTIL.set(until);
+        }
+    }
+
+    static void clear() {
+        PRIMARY_UNTIL.remove();
+        PRIMARY_PINS.remove();
+    }
+}
@@ -0,0 +1,42 @@
+package com.ecommerce.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchReservationResponse {
+
+    /** True if every line was reserved; false means nothing is held */
+    private boolean reserved;
+    /** Token to confirm or release the reservation with; null when nothing was reserved */
+    private String reservationToken;
+    /** Stock is returned automatically if the reservation is not confirmed by then */
+    private LocalDateTime expiresAt;
+    private List<LineResult> lines;
+
+    /** OK lines are only held when the whole batch is reserved */
+    public enum LineStatus {
+        OK,
+        INSUFFICIENT_STOCK,
+        NOT_FOUND
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineResult {
+
+        private Long productId;
+        private Integer quantity;
+        private LineStatus status;
+    }
+}
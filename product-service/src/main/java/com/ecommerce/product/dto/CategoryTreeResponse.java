@@ -0,0 +1,22 @@
+package com.ecommerce.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryTreeResponse {
+
+    private Long id;
+    private String name;
+    private String description;
+    private Long parentCategoryId;
+    private int depth;
+    private List<CategoryTreeResponse> children;
+}
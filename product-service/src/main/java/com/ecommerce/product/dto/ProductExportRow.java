@@ -0,0 +1,32 @@
+package com.ecommerce.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One product in a catalog export. Field order matches the constructor
+ * expression in ProductRepository and the CSV columns, which use the same
+ * names as the import so an export can be imported elsewhere.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductExportRow {
+
+    private Long id;
+    private String sku;
+    private String name;
+    private String description;
+    private Long categoryId;
+    private String categoryName;
+    private BigDecimal price;
+    private Integer stockQuantity;
+    private String imageUrl;
+    private LocalDateTime updatedAt;
+}
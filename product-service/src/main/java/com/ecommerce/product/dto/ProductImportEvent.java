@@ -0,0 +1,42 @@
+package com.ecommerce.product.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Streamed back to the caller as one NDJSON line per event: REJECTED for
+ * each row that was not imported, PROGRESS after each chunk and COMPLETED
+ * once the whole input has been consumed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductImportEvent {
+
+    public static final String REJECTED = "REJECTED";
+    public static final String PROGRESS = "PROGRESS";
+    public static final String COMPLETED = "COMPLETED";
+
+    private String type;
+    private Long row;
+    private String sku;
+    private String reason;
+    private Long processed;
+    private Long imported;
+    private Long rejected;
+    private Long elapsedMs;
+
+    public static ProductImportEvent rejected(long row, String sku, String reason) {
+        return ProductImportEvent.builder()
+                .type(REJECTED)
+                .row(row)
+                .sku(sku)
+                .reason(reason)
+                .build();
+    }
+}
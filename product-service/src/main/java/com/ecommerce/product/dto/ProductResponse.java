@@ -28,4 +28,5 @@ public class ProductResponse {
     private List<String> images;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
@@ -15,6 +15,8 @@ public class ProductSearchRequest {
 
     private String keyword;
     private Long categoryId;
+    /** Also match products in every category below categoryId */
+    private Boolean includeSubcategories;
     private BigDecimal minPrice;
     private BigDecimal maxPrice;
     private Boolean inStock;
@@ -0,0 +1,61 @@
+package com.ecommerce.product.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductSearchResponse {
+
+    private Page<ProductResponse> results;
+    private Facets facets;
+
+    /**
+     * Each facet is counted with every other filter of the request applied
+     * but not its own, so a client can show how many products picking a
+     * different value would return.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Facets {
+
+        private List<CategoryFacet> categories;
+        private List<PriceRangeFacet> priceRanges;
+        private Long inStock;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryFacet {
+
+        private Long categoryId;
+        private String categoryName;
+        private Long count;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceRangeFacet {
+
+        private BigDecimal minPrice;
+        /** Exclusive; null for the top range */
+        private BigDecimal maxPrice;
+        private Long count;
+    }
+}
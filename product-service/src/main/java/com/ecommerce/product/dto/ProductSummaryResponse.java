@@ -0,0 +1,29 @@
+package com.ecommerce.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Product fields needed by list views. Field order matches the
+ * constructor expression in ProductRepository.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSummaryResponse {
+
+    private Long id;
+    private String name;
+    private Long categoryId;
+    private String categoryName;
+    private BigDecimal price;
+    private Integer stockQuantity;
+    private String sku;
+    private String imageUrl;
+    private Long version;
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.product.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionResponse {
+
+    public enum Type {
+        PRODUCT,
+        CATEGORY
+    }
+
+    private String text;
+    private Type type;
+    private Long productId;
+    private Long categoryId;
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.product.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of a hot inventory batch applied to product stock. Written in
+ * the same transaction as the stock updates, so a batch retried after a
+ * crash is recognised and not applied twice.
+ */
+@Entity
+@Table(name = "inventory_flushes", indexes = {
+    @Index(name = "idx_inventory_flush_applied", columnList = "applied_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryFlush {
+
+    @Id
+    @Column(name = "batch_id", length = 36)
+    private String batchId;
+
+    @Column(nullable = false)
+    private Integer productCount;
+
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+}
@@ -16,7 +16,11 @@ import java.util.List;
 @Table(name = "products", indexes = {
     @Index(name = "idx_product_category", columnList = "category_id"),
     @Index(name = "idx_product_sku", columnList = "sku"),
-    @Index(name = "idx_product_name", columnList = "name")
+    @Index(name = "idx_product_name", columnList = "name"),
+    @Index(name = "idx_product_active_price_id", columnList = "is_active, price, id"),
+    @Index(name = "idx_product_active_name_id", columnList = "is_active, name, id"),
+    @Index(name = "idx_product_active_created_id", columnList = "is_active, created_at, id"),
+    @Index(name = "idx_product_category_active_price_id", columnList = "category_id, is_active, price, id")
 })
 @Data
 @Builder
@@ -53,6 +57,14 @@ public class Product {
     @Column(nullable = false)
     private Boolean isActive = true;
 
+    /**
+     * Whether available stock is held in a Redis counter and written back
+     * in batches; see {@link com.ecommerce.product.inventory.HotInventory}.
+     */
+    @Builder.Default
+    @Column(nullable = false)
+    private Boolean hotInventory = false;
+
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ProductImage> images;
 
@@ -0,0 +1,15 @@
+package com.ecommerce.product.entity;
+
+public enum ReservationStatus {
+    /** Stock is held until the hold expires */
+    RESERVED,
+    /** Payment completed; stock stays taken */
+    CONFIRMED,
+    RELEASED,
+    /** Never confirmed in time; stock was returned by the expiry sweeper */
+    EXPIRED;
+
+    public boolean holdsStock() {
+        return this == RESERVED || this == CONFIRMED;
+    }
+}
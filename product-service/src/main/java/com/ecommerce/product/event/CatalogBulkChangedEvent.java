@@ -0,0 +1,17 @@
+package com.ecommerce.product.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published after an operation that changes many products at once, such
+ * as a bulk import, so derived caches can be rebuilt or warmed in one go
+ * instead of per product.
+ */
+@Getter
+@AllArgsConstructor
+public class CatalogBulkChangedEvent {
+
+    private final String source;
+    private final int affectedProducts;
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.product.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by {@link com.ecommerce.product.service.CategoryService} inside
+ * the transaction that creates, updates or deletes a category.
+ */
+@Getter
+@AllArgsConstructor
+public class CategoryChangedEvent {
+
+    private final Long categoryId;
+}
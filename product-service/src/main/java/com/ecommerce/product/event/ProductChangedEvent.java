@@ -0,0 +1,45 @@
+package com.ecommerce.product.event;
+
+import com.ecommerce.product.dto.ProductResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by {@link com.ecommerce.product.service.ProductService} inside
+ * the transaction that changes a product. Listeners that maintain derived
+ * state should react after commit.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        STOCK_CHANGED
+    }
+
+    private final Long productId;
+    private final Type type;
+    /** Product state after the change; null for DELETED and STOCK_CHANGED */
+    private final ProductResponse product;
+    /** Change in stock quantity; only set for STOCK_CHANGED */
+    private final int stockDelta;
+
+    public static ProductChangedEvent created(ProductResponse product) {
+        return new ProductChangedEvent(product.getId(), Type.CREATED, product, 0);
+    }
+
+    public static ProductChangedEvent updated(ProductResponse product) {
+        return new ProductChangedEvent(product.getId(), Type.UPDATED, product, 0);
+    }
+
+    public static ProductChangedEvent deleted(Long productId) {
+        return new ProductChangedEvent(productId, Type.DELETED, null, 0);
+    }
+
+    public static ProductChangedEvent stockChanged(Long productId, int stockDelta) {
+        return new ProductChangedEvent(productId, Type.STOCK_CHANGED, null, stockDelta);
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.product.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * State of a product as published to {@code product.exchange} after it
+ * changes. Consumers should ignore a message whose version is not newer
+ * than the last one they applied for the product.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangedMessage implements Serializable {
+
+    private Long productId;
+    private String name;
+    private BigDecimal price;
+    private Integer stockQuantity;
+    private Boolean active;
+    private Long version;
+    private Boolean deleted;
+    private LocalDateTime changedAt;
+
+    public static ProductChangedMessage deleted(Long productId) {
+        return ProductChangedMessage.builder()
+                .productId(productId)
+                .deleted(true)
+                .changedAt(LocalDateTime.now())
+                .build();
+    }
+}
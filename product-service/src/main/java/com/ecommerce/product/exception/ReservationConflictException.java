@@ -0,0 +1,12 @@
+package com.ecommerce.product.exception;
+
+/**
+ * Thrown when a stock reservation can no longer be confirmed because its
+ * hold expired or was released.
+ */
+public class ReservationConflictException extends RuntimeException {
+
+    public ReservationConflictException(String message) {
+        super(message);
+    }
+}
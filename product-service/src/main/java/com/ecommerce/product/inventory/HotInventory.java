@@ -0,0 +1,266 @@
+package com.ecommerce.product.inventory;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis counters holding the available stock of products in hot inventory
+ * mode.
+ *
+ * Every change to a counter is journaled in the same Lua script as a net
+ * delta per product, so the counter and the journal never disagree. The
+ * flusher moves the journal aside under a batch ID, applies it to MySQL
+ * and then deletes it; a crash at any point leaves either the journal or
+ * the batch in Redis to be picked up again.
+ *
+ * Whether a product is hot is decided by its counter existing. The set of
+ * hot IDs kept here is only a hint to skip the Redis round trip for
+ * ordinary products; callers fall back to the database and the database
+ * refuses stock changes to rows flagged hot, so a stale hint costs a retry
+ * but never an oversell. All keys share a hash tag so the scripts also run
+ * on Redis Cluster.
+ */
+@Component
+@Slf4j
+public class HotInventory {
+
+    static final String STOCK_KEY_PREFIX = "inventory:{hot}:stock:";
+    static final String JOURNAL_KEY = "inventory:{hot}:journal";
+    static final String FLUSHING_KEY = "inventory:{hot}:flushing";
+    static final String BATCH_FIELD = "_batch";
+
+    private static final RedisScript<Long> RESERVE = new DefaultRedisScript<>(
+            "local stock = redis.call('GET', KEYS[1]) " +
+            "if not stock then return -1 end " +
+            "local quantity = tonumber(ARGV[2]) " +
+            "if tonumber(stock) < quantity then return 0 end " +
+            "redis.call('DECRBY', KEYS[1], quantity) " +
+            "redis.call('HINCRBY', KEYS[2], ARGV[1], -quantity) " +
+            "return 1", Long.class);
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end " +
+            "redis.call('INCRBY', KEYS[1], ARGV[2]) " +
+            "redis.call('HINCRBY', KEYS[2], ARGV[1], ARGV[2]) " +
+            "return 1", Long.class);
+
+    private static final RedisScript<Long> ACTIVATE = new DefaultRedisScript<>(
+            "if redis.call('HEXISTS', KEYS[2], ARGV[1]) == 1 or redis.call('HEXISTS', KEYS[3], ARGV[1]) == 1 then return 0 end " +
+            "if redis.call('SET', KEYS[1], ARGV[2], 'NX') then return 1 end " +
+            "return 0", Long.class);
+
+    private static final RedisScript<Long> DEACTIVATE = new DefaultRedisScript<>(
+            "if redis.call('HEXISTS', KEYS[2], ARGV[1]) == 1 or redis.call('HEXISTS', KEYS[3], ARGV[1]) == 1 then return 0 end " +
+            "redis.call('DEL', KEYS[1]) " +
+            "return 1", Long.class);
+
+    private static final RedisScript<Long> BEGIN_FLUSH = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[2]) == 1 then return 1 end " +
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+            "redis.call('RENAME', KEYS[1], KEYS[2]) " +
+            "redis.call('HSET', KEYS[2], ARGV[1], ARGV[2]) " +
+            "return 1", Long.class);
+
+    private static final RedisScript<Long> COMPLETE_FLUSH = new DefaultRedisScript<>(
+            "if redis.call('HGET', KEYS[1], ARGV[1]) == ARGV[2] then redis.call('DEL', KEYS[1]) return 1 end " +
+            "return 0", Long.class);
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisScript<List<String>> SNAPSHOT = new DefaultRedisScript<>(
+            "return {redis.call('GET', KEYS[1]) or '', " +
+            "redis.call('HGET', KEYS[2], ARGV[1]) or '', " +
+            "redis.call('HGET', KEYS[3], ARGV[1]) or '', " +
+            "redis.call('HGET', KEYS[3], ARGV[2]) or ''}", (Class) List.class);
+
+    public enum Result {
+        RESERVED,
+        INSUFFICIENT_STOCK,
+        NOT_HOT
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final Set<Long> hotProductIds = ConcurrentHashMap.newKeySet();
+
+    public HotInventory(StringRedisTemplate redisTemplate,
+                        @Value("${inventory.hot.enabled:false}") boolean enabled) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return Whether the product is believed to be hot; see the class comment
+     */
+    public boolean isHot(Long productId) {
+        return enabled && hotProductIds.contains(productId);
+    }
+
+    /**
+     * Take stock from the product's counter if it is hot and holds enough.
+     */
+    public Result reserve(Long productId, int quantity) {
+        return isHot(productId) ? reserveInRedis(productId, quantity) : Result.NOT_HOT;
+    }
+
+    /**
+     * Return stock to the product's counter if it is hot.
+     *
+     * @return false if the database must be updated instead
+     */
+    public boolean release(Long productId, int quantity) {
+        return isHot(productId) && releaseInRedis(productId, quantity);
+    }
+
+    /**
+     * Like {@link #reserve} but asks Redis even if the hint says the product
+     * is not hot. Used after the database refused the change, which it does
+     * for rows switched to hot mode by another instance.
+     */
+    public Result reserveIgnoringHint(Long productId, int quantity) {
+        return enabled ? reserveInRedis(productId, quantity) : Result.NOT_HOT;
+    }
+
+    /**
+     * Like {@link #release} but asks Redis even if the hint says the product
+     * is not hot.
+     */
+    public boolean releaseIgnoringHint(Long productId, int quantity) {
+        return enabled && releaseInRedis(productId, quantity);
+    }
+
+    private Result reserveInRedis(Long productId, int quantity) {
+        Long result = redisTemplate.execute(RESERVE, List.of(stockKey(productId), JOURNAL_KEY),
+                productId.toString(), Integer.toString(quantity));
+        if (result == null || result < 0) {
+            hotProductIds.remove(productId);
+            return Result.NOT_HOT;
+        }
+        hotProductIds.add(productId);
+        return result == 1 ? Result.RESERVED : Result.INSUFFICIENT_STOCK;
+    }
+
+    private boolean releaseInRedis(Long productId, int quantity) {
+        Long result = redisTemplate.execute(RELEASE, List.of(stockKey(productId), JOURNAL_KEY),
+                productId.toString(), Integer.toString(quantity));
+        if (result == null || result < 0) {
+            hotProductIds.remove(productId);
+            return false;
+        }
+        hotProductIds.add(productId);
+        return true;
+    }
+
+    /**
+     * Create the product's counter with the given stock unless it exists or
+     * unflushed deltas for the product are still journaled.
+     */
+    boolean activate(Long productId, int stock) {
+        Long result = redisTemplate.execute(ACTIVATE, List.of(stockKey(productId), JOURNAL_KEY, FLUSHING_KEY),
+                productId.toString(), Integer.toString(stock));
+        boolean activated = result != null && result == 1;
+        if (activated || Boolean.TRUE.equals(redisTemplate.hasKey(stockKey(productId)))) {
+            hotProductIds.add(productId);
+        }
+        return activated;
+    }
+
+    /**
+     * Delete the product's counter, but only once all of its deltas have
+     * been flushed.
+     */
+    boolean deactivate(Long productId) {
+        Long result = redisTemplate.execute(DEACTIVATE, List.of(stockKey(productId), JOURNAL_KEY, FLUSHING_KEY),
+                productId.toString());
+        boolean deactivated = result != null && result == 1;
+        if (deactivated) {
+            hotProductIds.remove(productId);
+        }
+        return deactivated;
+    }
+
+    void refreshHints(Collection<Long> productIds) {
+        hotProductIds.retainAll(productIds);
+        hotProductIds.addAll(productIds);
+    }
+
+    /**
+     * Move the journal aside under the given batch ID. If an earlier batch
+     * was never completed it is kept and returned instead.
+     *
+     * @return Batch ID mapped to its deltas, or null if there is nothing to flush
+     */
+    FlushBatch beginFlush(String batchId) {
+        Long started = redisTemplate.execute(BEGIN_FLUSH, List.of(JOURNAL_KEY, FLUSHING_KEY), BATCH_FIELD, batchId);
+        if (started == null || started == 0) {
+            return null;
+        }
+
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(FLUSHING_KEY);
+        Object batch = entries.remove(BATCH_FIELD);
+        if (batch == null) {
+            log.error("Hot inventory batch has no ID, discarding {} entries", entries.size());
+            redisTemplate.delete(FLUSHING_KEY);
+            return null;
+        }
+
+        Map<Long, Integer> deltas = new TreeMap<>();
+        entries.forEach((productId, delta) -> {
+            int value = Integer.parseInt(delta.toString());
+            if (value != 0) {
+                deltas.put(Long.valueOf(productId.toString()), value);
+            }
+        });
+        return new FlushBatch(batch.toString(), deltas);
+    }
+
+    void completeFlush(String batchId) {
+        redisTemplate.execute(COMPLETE_FLUSH, List.of(FLUSHING_KEY), BATCH_FIELD, batchId);
+    }
+
+    /**
+     * Read the counter and both journal deltas of a product atomically.
+     */
+    Snapshot snapshot(Long productId) {
+        List<String> values = redisTemplate.execute(SNAPSHOT, List.of(stockKey(productId), JOURNAL_KEY, FLUSHING_KEY),
+                productId.toString(), BATCH_FIELD);
+        if (values == null || values.size() < 4) {
+            return new Snapshot(null, 0, 0, null);
+        }
+        return new Snapshot(
+                values.get(0).isEmpty() ? null : Integer.valueOf(values.get(0)),
+                values.get(1).isEmpty() ? 0 : Integer.parseInt(values.get(1)),
+                values.get(2).isEmpty() ? 0 : Integer.parseInt(values.get(2)),
+                values.get(3).isEmpty() ? null : values.get(3));
+    }
+
+    private static String stockKey(Long productId) {
+        return STOCK_KEY_PREFIX + productId;
+    }
+
+    record FlushBatch(String batchId, Map<Long, Integer> deltas) {
+    }
+
+    /**
+     * @param stock          Counter value, or null if the counter is missing
+     * @param journalDelta   Net change not yet moved into a flush batch
+     * @param flushingDelta  Net change in the batch being flushed
+     * @param flushingBatch  ID of the batch being flushed, if any
+     */
+    record Snapshot(Integer stock, int journalDelta, int flushingDelta, String flushingBatch) {
+    }
+}
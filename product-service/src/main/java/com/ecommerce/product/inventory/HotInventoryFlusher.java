@@ -0,0 +1,121 @@
+package com.ecommerce.product.inventory;
+
+import com.ecommerce.product.entity.InventoryFlush;
+import com.ecommerce.product.event.ProductChangedEvent;
+import com.ecommerce.product.repository.InventoryFlushRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes journaled hot inventory deltas back to product stock.
+ *
+ * Each run applies at most one net delta per product, however many
+ * reservations were made since the previous run. The batch ID is stored
+ * in the same transaction as the stock updates, so if the instance dies
+ * after committing but before deleting the batch from Redis, the next run
+ * (here or on another instance) skips it instead of applying it twice.
+ */
+@Component
+@Slf4j
+public class HotInventoryFlusher {
+
+    private final HotInventory hotInventory;
+    private final ProductRepository productRepository;
+    private final InventoryFlushRepository flushRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter flushedProducts;
+
+    public HotInventoryFlusher(HotInventory hotInventory,
+                               ProductRepository productRepository,
+                               InventoryFlushRepository flushRepository,
+                               CacheManager cacheManager,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.hotInventory = hotInventory;
+        this.productRepository = productRepository;
+        this.flushRepository = flushRepository;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushedProducts = Counter.builder("inventory.hot.flushed.products")
+                .description("Net stock deltas written back from hot inventory")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.hot.flush-interval:PT1S}")
+    public void scheduledFlush() {
+        if (!hotInventory.isEnabled()) {
+            return;
+        }
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("Hot inventory flush failed, will retry", e);
+        }
+    }
+
+    /**
+     * Apply everything journaled so far. An unfinished batch left by a
+     * crash is completed first.
+     *
+     * @return Number of batches applied
+     */
+    public int flush() {
+        int batches = 0;
+        // At most an unfinished batch plus the current journal
+        for (int i = 0; i < 2; i++) {
+            HotInventory.FlushBatch batch = hotInventory.beginFlush(UUID.randomUUID().toString());
+            if (batch == null) {
+                break;
+            }
+            apply(batch);
+            hotInventory.completeFlush(batch.batchId());
+            batches++;
+        }
+        return batches;
+    }
+
+    private void apply(HotInventory.FlushBatch batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (flushRepository.existsById(batch.batchId())) {
+                log.info("Hot inventory batch {} was already applied", batch.batchId());
+                return;
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            Cache cache = cacheManager.getCache("products");
+            // Deltas are sorted by product ID, the same lock order as batch reservations
+            for (Map.Entry<Long, Integer> delta : batch.deltas().entrySet()) {
+                if (productRepository.applyStockDelta(delta.getKey(), delta.getValue(), now) == 0) {
+                    log.error("Hot inventory delta {} for missing product {} dropped", delta.getValue(), delta.getKey());
+                    continue;
+                }
+                cache.evict(delta.getKey());
+                eventPublisher.publishEvent(ProductChangedEvent.stockChanged(delta.getKey(), delta.getValue()));
+            }
+            flushRepository.save(InventoryFlush.builder()
+                    .batchId(batch.batchId())
+                    .productCount(batch.deltas().size())
+                    .appliedAt(now)
+                    .build());
+        });
+        flushedProducts.increment(batch.deltas().size());
+        log.debug("Applied hot inventory batch {} for {} products", batch.batchId(), batch.deltas().size());
+    }
+}
@@ -0,0 +1,190 @@
+package com.ecommerce.product.inventory;
+
+import com.ecommerce.product.datasource.ReplicaRouting;
+import com.ecommerce.product.exception.InvalidRequestException;
+import com.ecommerce.product.exception.ResourceNotFoundException;
+import com.ecommerce.product.repository.InventoryFlushRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Switches products in and out of hot inventory mode and periodically
+ * checks that each Redis counter still matches the database.
+ *
+ * A counter is expected to equal the stored stock plus every delta that
+ * has not been applied yet. Because the Redis and database reads are not
+ * one snapshot, a difference is only reported when the same difference is
+ * seen on two consecutive checks.
+ */
+@Service
+@Slf4j
+public class HotInventoryService {
+
+    private static final int DEACTIVATE_ATTEMPTS = 5;
+
+    private final HotInventory hotInventory;
+    private final HotInventoryFlusher flusher;
+    private final ProductRepository productRepository;
+    private final InventoryFlushRepository flushRepository;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Counter mismatches;
+    private final Map<Long, Integer> lastDrift = new ConcurrentHashMap<>();
+
+    public HotInventoryService(HotInventory hotInventory,
+                               HotInventoryFlusher flusher,
+                               ProductRepository productRepository,
+                               InventoryFlushRepository flushRepository,
+                               CacheManager cacheManager,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.hotInventory = hotInventory;
+        this.flusher = flusher;
+        this.productRepository = productRepository;
+        this.flushRepository = flushRepository;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.mismatches = Counter.builder("inventory.hot.reconciliation.mismatches")
+                .description("Hot inventory counters that disagree with the database")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadHotProducts() {
+        List<Long> hotIds = productRepository.findHotInventoryIds();
+        if (!hotInventory.isEnabled()) {
+            if (!hotIds.isEmpty()) {
+                log.error("Hot inventory mode is disabled but products {} are still flagged hot; " +
+                        "their stock cannot change until the mode is enabled and they are switched back", hotIds);
+            }
+            return;
+        }
+        hotInventory.refreshHints(hotIds);
+        log.info("Hot inventory mode enabled for {} products", hotIds.size());
+    }
+
+    /**
+     * Move a product's stock into a Redis counter.
+     */
+    public void enable(Long productId) {
+        if (!hotInventory.isEnabled()) {
+            throw new InvalidRequestException("Hot inventory mode is disabled");
+        }
+        log.info("Enabling hot inventory for product {}", productId);
+
+        // Once the flag is committed the database refuses stock changes,
+        // so the stock read afterwards is final until the counter exists
+        transactionTemplate.executeWithoutResult(status -> {
+            if (productRepository.setHotInventory(productId, true, LocalDateTime.now()) == 0
+                    && !productRepository.existsById(productId)) {
+                throw new ResourceNotFoundException("Product not found with id: " + productId);
+            }
+        });
+        int stock = productRepository.findStockQuantityById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+        hotInventory.activate(productId, stock);
+    }
+
+    /**
+     * Flush a product's pending deltas, drop its counter and hand its
+     * stock back to the database.
+     */
+    public void disable(Long productId) {
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Product not found with id: " + productId);
+        }
+        log.info("Disabling hot inventory for product {}", productId);
+
+        boolean deactivated = false;
+        for (int attempt = 0; attempt < DEACTIVATE_ATTEMPTS && !deactivated; attempt++) {
+            flusher.flush();
+            deactivated = hotInventory.deactivate(productId);
+        }
+        if (!deactivated) {
+            throw new IllegalStateException("Product " + productId + " is still taking reservations, try again");
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            productRepository.setHotInventory(productId, false, LocalDateTime.now());
+            cacheManager.getCache("products").evict(productId);
+        });
+        lastDrift.remove(productId);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.hot.reconcile-interval:PT1M}")
+    public void reconcile() {
+        if (!hotInventory.isEnabled()) {
+            return;
+        }
+        try {
+            List<Long> hotIds = productRepository.findHotInventoryIds();
+            hotInventory.refreshHints(hotIds);
+            lastDrift.keySet().retainAll(hotIds);
+            for (Long productId : hotIds) {
+                reconcile(productId);
+            }
+            flushRepository.deleteAppliedBefore(LocalDateTime.now().minusDays(1));
+        } catch (Exception e) {
+            log.warn("Hot inventory reconciliation failed", e);
+        }
+    }
+
+    private void reconcile(Long productId) {
+        HotInventory.Snapshot snapshot = hotInventory.snapshot(productId);
+        if (snapshot.stock() == null) {
+            reseed(productId, snapshot);
+            return;
+        }
+
+        // Compared with live counters, so replica lag would look like drift
+        Integer expected = ReplicaRouting.onPrimary(() -> readOnlyTransactionTemplate.execute(status -> {
+            int stored = productRepository.findStockQuantityById(productId).orElse(0);
+            boolean flushingApplied = snapshot.flushingBatch() == null
+                    || flushRepository.existsById(snapshot.flushingBatch());
+            return stored + snapshot.journalDelta() + (flushingApplied ? 0 : snapshot.flushingDelta());
+        }));
+        int drift = snapshot.stock() - expected;
+        if (drift == 0) {
+            lastDrift.remove(productId);
+        } else if (Objects.equals(lastDrift.put(productId, drift), drift)) {
+            mismatches.increment();
+            log.warn("Hot inventory counter for product {} is {} but the database implies {}",
+                    productId, snapshot.stock(), expected);
+        }
+    }
+
+    /**
+     * The product is flagged hot but has no counter: enabling it was
+     * interrupted or Redis lost its data. Without unflushed deltas the
+     * database stock is current and the counter can be recreated from it.
+     */
+    private void reseed(Long productId, HotInventory.Snapshot snapshot) {
+        if (snapshot.journalDelta() != 0 || snapshot.flushingDelta() != 0) {
+            log.error("Hot inventory counter for product {} is missing while deltas are pending", productId);
+            return;
+        }
+        productRepository.findStockQuantityById(productId).ifPresent(stock -> {
+            if (hotInventory.activate(productId, stock)) {
+                log.warn("Recreated missing hot inventory counter for product {} with stock {}", productId, stock);
+            }
+        });
+    }
+}
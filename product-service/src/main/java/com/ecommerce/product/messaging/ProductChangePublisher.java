@@ -0,0 +1,153 @@
+package com.ecommerce.product.messaging;
+
+import com.ecommerce.product.config.RabbitMQConfig;
+import com.ecommerce.product.datasource.ReplicaRouting;
+import com.ecommerce.product.event.ProductChangedEvent;
+import com.ecommerce.product.event.ProductChangedMessage;
+import com.ecommerce.product.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes a {@link ProductChangedMessage} to {@code product.exchange}
+ * for every product that changed in a committed transaction.
+ *
+ * Changes are collected by product ID and published on a short schedule,
+ * so a product changed many times within one window, such as a best
+ * seller during a sale, produces one message. The message carries the
+ * product's state read when it is sent, not the state of each change.
+ *
+ * Messages that cannot be sent are retried in the next window and pending
+ * changes are sent on shutdown, but changes collected by an instance that
+ * crashes are lost. Stock of products in hot inventory mode is published
+ * as it is flushed to the database.
+ */
+@Component
+@Slf4j
+public class ProductChangePublisher {
+
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    private final ProductRepository productRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Counter published;
+    private final Counter failures;
+
+    // Product ID -> whether the latest change was a delete
+    private final Map<Long, Boolean> pending = new ConcurrentHashMap<>();
+
+    public ProductChangePublisher(ProductRepository productRepository,
+                                  RabbitTemplate rabbitTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.published = Counter.builder("product.events.published")
+                .description("Product change messages sent to the broker")
+                .register(meterRegistry);
+        this.failures = Counter.builder("product.events.failures")
+                .description("Product change windows that could not be sent and were retried")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        pending.put(event.getProductId(), event.getType() == ProductChangedEvent.Type.DELETED);
+    }
+
+    @Scheduled(fixedDelayString = "${product.events.coalesce-window:PT0.5S}")
+    public void publishPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, Boolean> changes = new HashMap<>();
+        for (Long productId : new ArrayList<>(pending.keySet())) {
+            Boolean deleted = pending.remove(productId);
+            if (deleted != null) {
+                changes.put(productId, deleted);
+            }
+        }
+
+        List<ProductChangedMessage> messages;
+        try {
+            messages = load(changes);
+        } catch (Exception e) {
+            retryLater(changes);
+            log.warn("Could not load {} changed products, retrying in the next window", changes.size(), e);
+            return;
+        }
+
+        for (ProductChangedMessage message : messages) {
+            try {
+                rabbitTemplate.convertAndSend(RabbitMQConfig.PRODUCT_EXCHANGE,
+                        Boolean.TRUE.equals(message.getDeleted())
+                                ? RabbitMQConfig.PRODUCT_DELETED_ROUTING_KEY
+                                : RabbitMQConfig.PRODUCT_CHANGED_ROUTING_KEY,
+                        message);
+                changes.remove(message.getProductId());
+                published.increment();
+            } catch (AmqpException e) {
+                retryLater(changes);
+                log.warn("Could not publish {} product changes, retrying in the next window", changes.size(), e);
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void publishOnShutdown() {
+        publishPending();
+    }
+
+    private List<ProductChangedMessage> load(Map<Long, Boolean> changes) {
+        List<Long> changedIds = changes.entrySet().stream()
+                .filter(change -> !change.getValue())
+                .map(Map.Entry::getKey)
+                .sorted()
+                .collect(Collectors.toList());
+
+        // Read the primary so the message is never older than the change
+        Map<Long, ProductChangedMessage> found = ReplicaRouting.onPrimary(() -> readOnlyTransactionTemplate.execute(status -> {
+            List<ProductChangedMessage> rows = new ArrayList<>();
+            for (int from = 0; from < changedIds.size(); from += LOAD_BATCH_SIZE) {
+                rows.addAll(productRepository.findChangedMessagesByIdIn(
+                        changedIds.subList(from, Math.min(from + LOAD_BATCH_SIZE, changedIds.size()))));
+            }
+            return rows.stream().collect(Collectors.toMap(ProductChangedMessage::getProductId, Function.identity()));
+        }));
+
+        List<ProductChangedMessage> messages = new ArrayList<>(changes.size());
+        changes.keySet().stream().sorted().forEach(productId -> {
+            ProductChangedMessage message = found.get(productId);
+            // Deleted, or changed and deleted again within the window
+            messages.add(message != null ? message : ProductChangedMessage.deleted(productId));
+        });
+        return messages;
+    }
+
+    private void retryLater(Map<Long, Boolean> changes) {
+        failures.increment();
+        // A change collected since the window was taken is newer; keep it
+        changes.forEach(pending::putIfAbsent);
+    }
+}
@@ -0,0 +1,124 @@
+package com.ecommerce.product.pagination;
+
+import com.ecommerce.product.exception.InvalidCursorException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Encodes keyset positions for product listings as opaque, URL-safe
+ * cursors. A cursor carries the sort it was created for plus the sort key
+ * and ID of the last row returned, so the next page can continue with
+ * {@code WHERE (key, id) > (:key, :id)} instead of an OFFSET.
+ *
+ * Only the sort keys below are accepted; each has a matching composite
+ * index on {@code products}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductCursorCodec {
+
+    private static final Map<String, Function<String, Object>> SORT_KEYS = Map.of(
+            "id", Long::valueOf,
+            "price", BigDecimal::new,
+            "name", value -> value,
+            "createdAt", LocalDateTime::parse);
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Validate the requested sort and add the ID tie-breaker
+     *
+     * @param requested Sort from the request; only the first order is used
+     * @return Sort on (key, id), both in the requested direction
+     */
+    public Sort resolveSort(Sort requested) {
+        Sort.Order order = requested.stream().findFirst().orElse(Sort.Order.asc("id"));
+        if (!SORT_KEYS.containsKey(order.getProperty())) {
+            throw new InvalidCursorException("Unsupported sort property for cursor pagination: " + order.getProperty()
+                    + ". Supported: " + SORT_KEYS.keySet());
+        }
+        Sort sort = Sort.by(order.getDirection(), order.getProperty());
+        return "id".equals(order.getProperty()) ? sort : sort.and(Sort.by(order.getDirection(), "id"));
+    }
+
+    public String encode(Sort sort, ScrollPosition position) {
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            throw new IllegalArgumentException("Expected a keyset position but got " + position);
+        }
+        Sort.Order order = sort.iterator().next();
+
+        ObjectNode token = objectMapper.createObjectNode();
+        token.put("s", order.getProperty());
+        token.put("d", order.getDirection().name());
+        ObjectNode keys = token.putObject("k");
+        keyset.getKeys().forEach((key, value) ->
+                keys.put(key, value instanceof BigDecimal decimal ? decimal.toPlainString() : String.valueOf(value)));
+
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(token));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to encode cursor", e);
+        }
+    }
+
+    /**
+     * Decode a cursor from a previous page
+     *
+     * @param cursor Value of the {@code after} parameter
+     * @return The sort the cursor was created with and where to continue
+     * @throws InvalidCursorException if the cursor was not produced by this codec
+     */
+    public Position decode(String cursor) {
+        try {
+            JsonNode token = objectMapper.readTree(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+            String property = token.path("s").asText();
+            Sort.Direction direction = Sort.Direction.valueOf(token.path("d").asText());
+            Sort sort = resolveSort(Sort.by(direction, property));
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (Sort.Order order : sort) {
+                JsonNode value = token.path("k").path(order.getProperty());
+                if (!value.isTextual()) {
+                    throw new InvalidCursorException("Cursor is missing key " + order.getProperty());
+                }
+                keys.put(order.getProperty(), SORT_KEYS.get(order.getProperty()).apply(value.asText()));
+            }
+            Iterator<String> names = token.path("k").fieldNames();
+            while (names.hasNext()) {
+                if (!keys.containsKey(names.next())) {
+                    throw new InvalidCursorException("Cursor has unexpected keys");
+                }
+            }
+            return new Position(sort, ScrollPosition.forward(keys));
+        } catch (InvalidCursorException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new InvalidCursorException("Malformed cursor", e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Position {
+
+        private final Sort sort;
+        private final KeysetScrollPosition scrollPosition;
+    }
+}
@@ -1,9 +1,12 @@
 package com.ecommerce.product.repository;
 
+import com.ecommerce.product.dto.CategoryResponse;
 import com.ecommerce.product.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +15,12 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByName(String name);
 
     boolean existsByName(String name);
+
+    /**
+     * Every category with its parent, read in one query for the category
+     * tree snapshot.
+     */
+    @Query("SELECT new com.ecommerce.product.dto.CategoryResponse(c.id, c.name, c.description, p.id, p.name, c.createdAt) " +
+           "FROM Category c LEFT JOIN c.parentCategory p")
+    List<CategoryResponse> findAllAsResponses();
 }
@@ -0,0 +1,20 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.entity.InventoryFlush;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface InventoryFlushRepository extends JpaRepository<InventoryFlush, String> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM InventoryFlush f WHERE f.appliedAt < :before")
+    int deleteAppliedBefore(@Param("before") LocalDateTime before);
+}
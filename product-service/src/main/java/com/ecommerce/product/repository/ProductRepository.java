@@ -1,18 +1,30 @@
 package com.ecommerce.product.repository;
 
+import com.ecommerce.product.dto.ProductExportRow;
+import com.ecommerce.product.dto.ProductSummaryResponse;
 import com.ecommerce.product.entity.Product;
-import jakarta.persistence.LockModeType;
+import com.ecommerce.product.event.ProductChangedMessage;
+import com.ecommerce.product.search.ProductDocument;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
@@ -21,16 +33,101 @@ public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpec
 
     boolean existsBySku(String sku);
 
+    @EntityGraph(attributePaths = "category")
     Page<Product> findByIsActiveTrue(Pageable pageable);
 
+    @Override
+    @EntityGraph(attributePaths = "category")
+    Page<Product> findAll(Specification<Product> spec, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"category", "images"})
+    Optional<Product> findWithDetailsById(Long id);
+
+    /**
+     * List view without descriptions and images, read straight into DTOs.
+     */
+    @Query(value = "SELECT new com.ecommerce.product.dto.ProductSummaryResponse(" +
+                   "p.id, p.name, c.id, c.name, p.price, p.stockQuantity, p.sku, p.imageUrl, p.version) " +
+                   "FROM Product p LEFT JOIN p.category c WHERE p.isActive = true",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.isActive = true")
+    Page<ProductSummaryResponse> findSummariesByIsActiveTrue(Pageable pageable);
+
     Page<Product> findByCategoryIdAndIsActiveTrue(Long categoryId, Pageable pageable);
 
     @Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%')) AND p.isActive = true")
     Page<Product> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT p FROM Product p WHERE p.id = :id")
-    Optional<Product> findByIdWithLock(@Param("id") Long id);
+    /**
+     * Take stock only if enough is available, in a single statement.
+     * Returns 0 when the product does not exist, has too little stock or
+     * keeps its stock in hot inventory.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity, " +
+           "p.version = p.version + 1, p.updatedAt = :now " +
+           "WHERE p.id = :id AND p.stockQuantity >= :quantity AND p.hotInventory = false")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :quantity, " +
+           "p.version = p.version + 1, p.updatedAt = :now " +
+           "WHERE p.id = :id AND p.hotInventory = false")
+    int incrementStock(@Param("id") Long id, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+
+    /**
+     * Apply a net stock change written back from hot inventory.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :delta, " +
+           "p.version = p.version + 1, p.updatedAt = :now " +
+           "WHERE p.id = :id")
+    int applyStockDelta(@Param("id") Long id, @Param("delta") int delta, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.hotInventory = :hot, p.version = p.version + 1, p.updatedAt = :now " +
+           "WHERE p.id = :id AND p.hotInventory <> :hot")
+    int setHotInventory(@Param("id") Long id, @Param("hot") boolean hot, @Param("now") LocalDateTime now);
+
+    @Query("SELECT p.id FROM Product p WHERE p.hotInventory = true")
+    List<Long> findHotInventoryIds();
 
+    @Query("SELECT p.stockQuantity FROM Product p WHERE p.id = :id")
+    Optional<Integer> findStockQuantityById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = {"category", "images"})
     List<Product> findByIdIn(List<Long> ids);
+
+    /**
+     * Every SKU in the catalog, streamed so a bulk import can check
+     * duplicates in memory instead of querying once per row.
+     */
+    @Query("SELECT p.sku FROM Product p WHERE p.sku IS NOT NULL")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllSkus();
+
+    /**
+     * Active catalog in ID order for exports. Read as DTOs through a
+     * forward-only cursor, so nothing accumulates in the persistence context.
+     */
+    @Query("SELECT new com.ecommerce.product.dto.ProductExportRow(" +
+           "p.id, p.sku, p.name, p.description, c.id, c.name, p.price, p.stockQuantity, p.imageUrl, p.updatedAt) " +
+           "FROM Product p LEFT JOIN p.category c WHERE p.isActive = true ORDER BY p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<ProductExportRow> streamExportRows();
+
+    @Query("SELECT new com.ecommerce.product.search.ProductDocument(p.id, p.name, p.description, p.sku, p.category.id, p.price, p.stockQuantity) " +
+           "FROM Product p WHERE p.isActive = true")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<ProductDocument> streamSearchDocuments();
+
+    @Query("SELECT new com.ecommerce.product.search.ProductDocument(p.id, p.name, p.description, p.sku, p.category.id, p.price, p.stockQuantity) " +
+           "FROM Product p WHERE p.id IN :ids AND p.isActive = true")
+    List<ProductDocument> findSearchDocumentsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.ecommerce.product.event.ProductChangedMessage(" +
+           "p.id, p.name, p.price, p.stockQuantity, p.isActive, p.version, FALSE, p.updatedAt) " +
+           "FROM Product p WHERE p.id IN :ids")
+    List<ProductChangedMessage> findChangedMessagesByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,42 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.entity.ReservationStatus;
+import com.ecommerce.product.entity.StockReservation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    List<StockReservation> findByTokenOrderByProductIdAsc(String token);
+
+    boolean existsByToken(String token);
+
+    /**
+     * Oldest expired lines first; served by the (status, expires_at) index.
+     */
+    @Query("SELECT r FROM StockReservation r WHERE r.status = :status AND r.expiresAt < :now ORDER BY r.expiresAt")
+    List<StockReservation> findExpired(@Param("status") ReservationStatus status,
+                                       @Param("now") LocalDateTime now,
+                                       Pageable pageable);
+
+    /**
+     * Move a reservation line from one status to another. Returns 0 if the
+     * line was no longer in the expected status, so each line is settled
+     * exactly once even under concurrent calls.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE StockReservation r SET r.status = :to, r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.status = :from")
+    int transition(@Param("id") Long id,
+                   @Param("from") ReservationStatus from,
+                   @Param("to") ReservationStatus to,
+                   @Param("now") LocalDateTime now);
+}
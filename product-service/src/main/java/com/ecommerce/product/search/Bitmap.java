@@ -0,0 +1,94 @@
+package com.ecommerce.product.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable bitmap over document numbers. Unlike {@link java.util.BitSet}
+ * it exposes its 64-bit words, so several bitmaps can be intersected and
+ * counted word by word in a single pass.
+ */
+final class Bitmap {
+
+    private long[] words;
+
+    Bitmap() {
+        this(64);
+    }
+
+    Bitmap(int bits) {
+        this.words = new long[Math.max(1, (bits + 63) >>> 6)];
+    }
+
+    void set(int bit) {
+        int index = bit >>> 6;
+        if (index >= words.length) {
+            words = Arrays.copyOf(words, Math.max(index + 1, words.length * 2));
+        }
+        words[index] |= 1L << bit;
+    }
+
+    void clear(int bit) {
+        int index = bit >>> 6;
+        if (index < words.length) {
+            words[index] &= ~(1L << bit);
+        }
+    }
+
+    boolean get(int bit) {
+        int index = bit >>> 6;
+        return index < words.length && (words[index] & (1L << bit)) != 0;
+    }
+
+    long word(int index) {
+        return index < words.length ? words[index] : 0L;
+    }
+
+    void or(Bitmap other) {
+        if (other.words.length > words.length) {
+            words = Arrays.copyOf(words, other.words.length);
+        }
+        for (int i = 0; i < other.words.length; i++) {
+            words[i] |= other.words[i];
+        }
+    }
+
+    void and(Bitmap other) {
+        for (int i = 0; i < words.length; i++) {
+            words[i] &= other.word(i);
+        }
+    }
+
+    Bitmap copy() {
+        Bitmap copy = new Bitmap();
+        copy.words = words.clone();
+        return copy;
+    }
+
+    long cardinality() {
+        long count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * @return The first set bit at or after {@code from}, or -1 if there is none
+     */
+    int nextSetBit(int from) {
+        int index = from >>> 6;
+        if (index >= words.length) {
+            return -1;
+        }
+        long word = words[index] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (index << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++index >= words.length) {
+                return -1;
+            }
+            word = words[index];
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.ecommerce.product.search;
+
+import java.util.Arrays;
+
+/**
+ * Append-only posting list of (document, term frequency) pairs.
+ *
+ * Documents must be added in increasing order. Each entry is stored as
+ * the gap from the previous document followed by the frequency, both
+ * variable-byte encoded, so most entries take two or three bytes.
+ */
+final class PostingList {
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int count;
+    private int lastDoc = -1;
+
+    void add(int doc, int frequency) {
+        if (doc <= lastDoc) {
+            throw new IllegalArgumentException("Documents must be added in increasing order");
+        }
+        ensureCapacity(10);
+        writeVarInt(doc - lastDoc);
+        writeVarInt(frequency);
+        lastDoc = doc;
+        count++;
+    }
+
+    int count() {
+        return count;
+    }
+
+    int sizeInBytes() {
+        return data.length;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Re-encode the list for renumbered documents, dropping documents
+     * mapped to -1. The mapping must preserve document order.
+     */
+    PostingList remap(int[] newDocs) {
+        PostingList remapped = new PostingList();
+        Cursor cursor = cursor();
+        while (cursor.next()) {
+            int doc = newDocs[cursor.doc()];
+            if (doc >= 0) {
+                remapped.add(doc, cursor.frequency());
+            }
+        }
+        remapped.trim();
+        return remapped;
+    }
+
+    void trim() {
+        if (data.length > length) {
+            data = Arrays.copyOf(data, Math.max(length, 1));
+        }
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + extra));
+        }
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    /**
+     * Forward-only decoder over the list. Snapshot of the list at the
+     * time it was created; callers must hold the index read lock.
+     */
+    final class Cursor {
+
+        private final int end = length;
+        private int position;
+        private int doc = -1;
+        private int frequency;
+
+        boolean next() {
+            if (position >= end) {
+                doc = Integer.MAX_VALUE;
+                return false;
+            }
+            doc += readVarInt();
+            frequency = readVarInt();
+            return true;
+        }
+
+        /**
+         * Move to the first document at or after the target
+         */
+        boolean advance(int target) {
+            while (doc < target) {
+                if (!next()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int doc() {
+            return doc;
+        }
+
+        int frequency() {
+            return frequency;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
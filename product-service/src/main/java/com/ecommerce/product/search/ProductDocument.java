@@ -0,0 +1,40 @@
+package com.ecommerce.product.search;
+
+import com.ecommerce.product.dto.ProductResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * The fields of a product that the search index needs. Also used as a
+ * JPQL constructor projection when the index is rebuilt from the database.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductDocument {
+
+    private Long id;
+    private String name;
+    private String description;
+    private String sku;
+    private Long categoryId;
+    private BigDecimal price;
+    private Integer stockQuantity;
+
+    public static ProductDocument from(ProductResponse product) {
+        return ProductDocument.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .sku(product.getSku())
+                .categoryId(product.getCategoryId())
+                .price(product.getPrice())
+                .stockQuantity(product.getStockQuantity())
+                .build();
+    }
+}
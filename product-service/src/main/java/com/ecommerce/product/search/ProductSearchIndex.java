@@ -0,0 +1,591 @@
+package com.ecommerce.product.search;
+
+import com.ecommerce.product.dto.ProductSearchRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product name, description and SKU.
+ *
+ * Every indexed product gets an internal document number. Updates never
+ * rewrite posting lists: the old document is marked dead and the product
+ * is appended under a new number, and dead documents are dropped by a
+ * compaction once they make up a quarter of the index. Queries match all
+ * terms and are ranked with BM25.
+ *
+ * The filters of {@link ProductSearchRequest} are answered from bitmaps
+ * kept per category, per price band and for in-stock products, so
+ * filtering and facet counting are word-wise AND/OR and popcounts and a
+ * search never touches the database.
+ */
+public class ProductSearchIndex {
+
+    /** Lower bounds of the price bands in cents; the last band is open-ended */
+    public static final long[] PRICE_BAND_BOUNDS = {0L, 2_500L, 5_000L, 10_000L, 25_000L, 50_000L, 100_000L};
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int SKU_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final int MIN_DEAD_FOR_COMPACTION = 1024;
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "price", "stockQuantity");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> documentsByProductId = new HashMap<>();
+
+    private Bitmap live = new Bitmap();
+    private Bitmap inStock = new Bitmap();
+    private Map<Long, Bitmap> categories = new HashMap<>();
+    private Bitmap[] priceBands = newPriceBands();
+
+    private long[] productIds = new long[1024];
+    private int[] lengths = new int[1024];
+    private long[] categoryIds = new long[1024];
+    private long[] priceCents = new long[1024];
+    private int[] stock = new int[1024];
+
+    private int nextDocument;
+    private int liveCount;
+    private long totalLength;
+
+    /**
+     * Add a product, replacing any previously indexed version of it
+     */
+    public void index(ProductDocument product) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addTerms(frequencies, product.getName(), NAME_WEIGHT);
+        addTerms(frequencies, product.getSku(), SKU_WEIGHT);
+        addTerms(frequencies, product.getDescription(), DESCRIPTION_WEIGHT);
+
+        lock.writeLock().lock();
+        try {
+            Integer previous = documentsByProductId.get(product.getId());
+            if (previous != null) {
+                kill(previous);
+            }
+
+            int doc = nextDocument++;
+            ensureCapacity(doc + 1);
+
+            int length = 0;
+            for (Map.Entry<String, Integer> term : frequencies.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), t -> new PostingList()).add(doc, term.getValue());
+                length += term.getValue();
+            }
+
+            productIds[doc] = product.getId();
+            lengths[doc] = length;
+            categoryIds[doc] = product.getCategoryId() != null ? product.getCategoryId() : 0L;
+            priceCents[doc] = toCents(product.getPrice(), RoundingMode.HALF_UP);
+            stock[doc] = product.getStockQuantity() != null ? product.getStockQuantity() : 0;
+
+            liveCount++;
+            totalLength += length;
+            documentsByProductId.put(product.getId(), doc);
+            addToBitmaps(doc);
+
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = documentsByProductId.get(productId);
+            if (doc != null) {
+                kill(doc);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply a stock change without re-tokenizing the product
+     */
+    public void adjustStock(Long productId, int delta) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = documentsByProductId.get(productId);
+            if (doc != null) {
+                stock[doc] += delta;
+                if (stock[doc] > 0) {
+                    inStock.set(doc);
+                } else {
+                    inStock.clear(doc);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(Long productId) {
+        lock.readLock().lock();
+        try {
+            return documentsByProductId.containsKey(productId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long postingBytes() {
+        lock.readLock().lock();
+        try {
+            return postings.values().stream().mapToLong(PostingList::sizeInBytes).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the index can order results for the given sort. An unsorted
+     * request is ordered by relevance, or by product ID without a keyword.
+     */
+    public static boolean supports(Sort sort) {
+        return sort.stream().allMatch(order -> SORTABLE_PROPERTIES.contains(order.getProperty()));
+    }
+
+    /**
+     * Find active products that contain every term of the keyword, if
+     * there is one, and pass the request's filters
+     *
+     * @param request Search request
+     * @param pageable Page to return; its sort must be {@link #supports supported}
+     * @param withFacets Whether to count category, price band and stock facets
+     * @return Product IDs for the page, the total number of matches and the facets
+     */
+    public SearchHits search(ProductSearchRequest request, Pageable pageable, boolean withFacets) {
+        return search(request, request.getCategoryId() != null ? List.of(request.getCategoryId()) : null,
+                pageable, withFacets);
+    }
+
+    /**
+     * Same as {@link #search(ProductSearchRequest, Pageable, boolean)}, but
+     * matching any of the given categories instead of the request's one
+     *
+     * @param categoryIds Categories to match, or null for no category filter
+     */
+    public SearchHits search(ProductSearchRequest request, Collection<Long> categoryIds,
+                             Pageable pageable, boolean withFacets) {
+        boolean hasKeyword = request.getKeyword() != null && !request.getKeyword().isBlank();
+        List<String> terms = hasKeyword
+                ? new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokenize(request.getKeyword())))
+                : List.of();
+
+        int offset = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE - 1) : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE - offset;
+        int keep = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+
+        lock.readLock().lock();
+        try {
+            Bitmap categoryFilter = categoryIds != null ? categoryFilter(categoryIds) : null;
+            Bitmap priceFilter = request.getMinPrice() != null || request.getMaxPrice() != null
+                    ? priceFilter(request.getMinPrice(), request.getMaxPrice())
+                    : null;
+            Bitmap stockFilter = Boolean.TRUE.equals(request.getInStock()) ? inStock : null;
+
+            Bitmap filter = live.copy();
+            for (Bitmap bitmap : new Bitmap[]{categoryFilter, priceFilter, stockFilter}) {
+                if (bitmap != null) {
+                    filter.and(bitmap);
+                }
+            }
+
+            Comparator<Hit> order = ranking(pageable.getSort(), hasKeyword);
+            PriorityQueue<Hit> top = new PriorityQueue<>(Math.max(1, Math.min(keep, 1024)), order.reversed());
+            long total = 0;
+            Bitmap matches;
+
+            if (hasKeyword) {
+                matches = new Bitmap(nextDocument);
+                total = matchKeyword(terms, matches, filter, top, keep, order);
+            } else {
+                matches = live;
+                for (int doc = filter.nextSetBit(0); doc >= 0; doc = filter.nextSetBit(doc + 1)) {
+                    total++;
+                    offer(top, new Hit(doc, 0f), keep, order);
+                }
+            }
+
+            SearchFacets facets = withFacets
+                    ? countFacets(matches, categoryFilter, priceFilter, stockFilter)
+                    : null;
+
+            List<Hit> ranked = new ArrayList<>(top);
+            ranked.sort(order);
+            List<Long> page = new ArrayList<>(Math.max(0, ranked.size() - offset));
+            for (int i = offset; i < ranked.size(); i++) {
+                page.add(productIds[ranked.get(i).doc]);
+            }
+            return new SearchHits(total, Collections.unmodifiableList(page), facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersect the posting lists of the terms. Every live match is set in
+     * {@code matches}; matches that also pass the filter are scored.
+     */
+    private long matchKeyword(List<String> terms, Bitmap matches, Bitmap filter,
+                              PriorityQueue<Hit> top, int keep, Comparator<Hit> order) {
+        if (terms.isEmpty()) {
+            return 0;
+        }
+        PostingList[] lists = new PostingList[terms.size()];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(terms.get(i));
+            if (lists[i] == null) {
+                return 0;
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(PostingList::count));
+
+        int n = lists.length;
+        PostingList.Cursor[] cursors = new PostingList.Cursor[n];
+        float[] idf = new float[n];
+        for (int i = 0; i < n; i++) {
+            cursors[i] = lists[i].cursor();
+            idf[i] = (float) Math.log(1 + (liveCount - lists[i].count() + 0.5) / (lists[i].count() + 0.5));
+        }
+        float averageLength = liveCount > 0 ? (float) totalLength / liveCount : 1f;
+
+        long total = 0;
+        PostingList.Cursor lead = cursors[0];
+        if (!lead.next()) {
+            return 0;
+        }
+        int doc = lead.doc();
+        search:
+        while (true) {
+            int i = 1;
+            for (; i < n; i++) {
+                if (!cursors[i].advance(doc)) {
+                    break search;
+                }
+                if (cursors[i].doc() != doc) {
+                    break;
+                }
+            }
+
+            if (i < n) {
+                if (!lead.advance(cursors[i].doc())) {
+                    break;
+                }
+                doc = lead.doc();
+                continue;
+            }
+
+            if (live.get(doc)) {
+                matches.set(doc);
+                if (filter.get(doc)) {
+                    total++;
+                    float normalizer = K1 * (1 - B + B * lengths[doc] / averageLength);
+                    float score = 0;
+                    for (int t = 0; t < n; t++) {
+                        int tf = cursors[t].frequency();
+                        score += idf[t] * tf * (K1 + 1) / (tf + normalizer);
+                    }
+                    offer(top, new Hit(doc, score), keep, order);
+                }
+            }
+
+            if (!lead.next()) {
+                break;
+            }
+            doc = lead.doc();
+        }
+        return total;
+    }
+
+    private Bitmap categoryFilter(Collection<Long> categoryIds) {
+        if (categoryIds.size() == 1) {
+            return categories.getOrDefault(categoryIds.iterator().next(), new Bitmap());
+        }
+        Bitmap union = new Bitmap();
+        for (Long categoryId : categoryIds) {
+            Bitmap category = categories.get(categoryId);
+            if (category != null) {
+                union.or(category);
+            }
+        }
+        return union;
+    }
+
+    /**
+     * Count all facets in one pass over the words of the match bitmap
+     */
+    private SearchFacets countFacets(Bitmap matches, Bitmap categoryFilter, Bitmap priceFilter, Bitmap stockFilter) {
+        Long[] categoryKeys = categories.keySet().toArray(new Long[0]);
+        Bitmap[] categoryBitmaps = new Bitmap[categoryKeys.length];
+        for (int i = 0; i < categoryKeys.length; i++) {
+            categoryBitmaps[i] = categories.get(categoryKeys[i]);
+        }
+        long[] categoryCounts = new long[categoryKeys.length];
+        long[] bandCounts = new long[priceBands.length];
+        long inStockCount = 0;
+
+        int wordCount = (nextDocument + 63) >>> 6;
+        for (int w = 0; w < wordCount; w++) {
+            long match = matches.word(w);
+            if (match == 0) {
+                continue;
+            }
+            long category = categoryFilter != null ? categoryFilter.word(w) : -1L;
+            long price = priceFilter != null ? priceFilter.word(w) : -1L;
+            long stocked = stockFilter != null ? stockFilter.word(w) : -1L;
+
+            long forCategories = match & price & stocked;
+            if (forCategories != 0) {
+                for (int i = 0; i < categoryBitmaps.length; i++) {
+                    categoryCounts[i] += Long.bitCount(forCategories & categoryBitmaps[i].word(w));
+                }
+            }
+            long forPrices = match & category & stocked;
+            if (forPrices != 0) {
+                for (int i = 0; i < priceBands.length; i++) {
+                    bandCounts[i] += Long.bitCount(forPrices & priceBands[i].word(w));
+                }
+            }
+            inStockCount += Long.bitCount(match & category & price & inStock.word(w));
+        }
+
+        Integer[] byCount = new Integer[categoryKeys.length];
+        for (int i = 0; i < byCount.length; i++) {
+            byCount[i] = i;
+        }
+        Arrays.sort(byCount, (a, b) -> Long.compare(categoryCounts[b], categoryCounts[a]));
+        Map<Long, Long> counts = new LinkedHashMap<>();
+        for (int i : byCount) {
+            if (categoryCounts[i] > 0) {
+                counts.put(categoryKeys[i], categoryCounts[i]);
+            }
+        }
+        return new SearchFacets(counts, bandCounts, inStockCount);
+    }
+
+    /**
+     * OR together the price bands that lie fully inside the range, then add
+     * the documents of partially covered bands one by one
+     */
+    private Bitmap priceFilter(BigDecimal minPrice, BigDecimal maxPrice) {
+        long min = minPrice != null ? toCents(minPrice, RoundingMode.CEILING) : Long.MIN_VALUE;
+        long max = maxPrice != null ? toCents(maxPrice, RoundingMode.FLOOR) : Long.MAX_VALUE;
+
+        Bitmap result = new Bitmap(nextDocument);
+        for (int band = 0; band < priceBands.length; band++) {
+            long low = band == 0 ? Long.MIN_VALUE : PRICE_BAND_BOUNDS[band];
+            long high = band + 1 < PRICE_BAND_BOUNDS.length ? PRICE_BAND_BOUNDS[band + 1] - 1 : Long.MAX_VALUE;
+            if (high < min || low > max) {
+                continue;
+            }
+            if (low >= min && high <= max) {
+                result.or(priceBands[band]);
+                continue;
+            }
+            Bitmap partial = priceBands[band];
+            for (int doc = partial.nextSetBit(0); doc >= 0; doc = partial.nextSetBit(doc + 1)) {
+                if (priceCents[doc] >= min && priceCents[doc] <= max) {
+                    result.set(doc);
+                }
+            }
+        }
+        return result;
+    }
+
+    private Comparator<Hit> ranking(Sort sort, boolean byRelevance) {
+        if (sort.isUnsorted()) {
+            Comparator<Hit> byProductId = Comparator.comparingLong(hit -> productIds[hit.doc]);
+            return byRelevance
+                    ? Comparator.comparingDouble((Hit hit) -> hit.score).reversed().thenComparing(byProductId)
+                    : byProductId;
+        }
+
+        Comparator<Hit> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Hit> next = switch (order.getProperty()) {
+                case "price" -> Comparator.comparingLong(hit -> priceCents[hit.doc]);
+                case "stockQuantity" -> Comparator.comparingInt(hit -> stock[hit.doc]);
+                case "id" -> Comparator.comparingLong(hit -> productIds[hit.doc]);
+                default -> throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            };
+            if (order.isDescending()) {
+                next = next.reversed();
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator.thenComparingLong(hit -> productIds[hit.doc]);
+    }
+
+    private static void offer(PriorityQueue<Hit> top, Hit hit, int keep, Comparator<Hit> order) {
+        if (top.size() < keep) {
+            top.add(hit);
+        } else if (keep > 0 && order.compare(hit, top.peek()) < 0) {
+            top.poll();
+            top.add(hit);
+        }
+    }
+
+    private void addToBitmaps(int doc) {
+        live.set(doc);
+        if (stock[doc] > 0) {
+            inStock.set(doc);
+        }
+        if (categoryIds[doc] != 0L) {
+            categories.computeIfAbsent(categoryIds[doc], id -> new Bitmap()).set(doc);
+        }
+        priceBands[priceBand(priceCents[doc])].set(doc);
+    }
+
+    private void kill(int doc) {
+        live.clear(doc);
+        inStock.clear(doc);
+        Bitmap category = categories.get(categoryIds[doc]);
+        if (category != null) {
+            category.clear(doc);
+        }
+        priceBands[priceBand(priceCents[doc])].clear(doc);
+
+        liveCount--;
+        totalLength -= lengths[doc];
+        documentsByProductId.remove(productIds[doc]);
+    }
+
+    private void compactIfNeeded() {
+        int dead = nextDocument - liveCount;
+        if (dead < MIN_DEAD_FOR_COMPACTION || dead * 4 < nextDocument) {
+            return;
+        }
+
+        int[] renumbered = new int[nextDocument];
+        int next = 0;
+        for (int doc = 0; doc < nextDocument; doc++) {
+            if (live.get(doc)) {
+                productIds[next] = productIds[doc];
+                lengths[next] = lengths[doc];
+                categoryIds[next] = categoryIds[doc];
+                priceCents[next] = priceCents[doc];
+                stock[next] = stock[doc];
+                renumbered[doc] = next++;
+            } else {
+                renumbered[doc] = -1;
+            }
+        }
+
+        Map<String, PostingList> compacted = new HashMap<>(postings.size() * 2);
+        for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+            PostingList list = entry.getValue().remap(renumbered);
+            if (list.count() > 0) {
+                compacted.put(entry.getKey(), list);
+            }
+        }
+        postings = compacted;
+
+        live = new Bitmap(next);
+        inStock = new Bitmap(next);
+        categories = new HashMap<>();
+        priceBands = newPriceBands();
+        for (int doc = 0; doc < next; doc++) {
+            addToBitmaps(doc);
+        }
+
+        documentsByProductId.replaceAll((productId, doc) -> renumbered[doc]);
+        nextDocument = next;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= productIds.length) {
+            return;
+        }
+        int grown = Math.max(capacity, productIds.length + (productIds.length >> 1));
+        productIds = Arrays.copyOf(productIds, grown);
+        lengths = Arrays.copyOf(lengths, grown);
+        categoryIds = Arrays.copyOf(categoryIds, grown);
+        priceCents = Arrays.copyOf(priceCents, grown);
+        stock = Arrays.copyOf(stock, grown);
+    }
+
+    private static Bitmap[] newPriceBands() {
+        Bitmap[] bands = new Bitmap[PRICE_BAND_BOUNDS.length];
+        for (int i = 0; i < bands.length; i++) {
+            bands[i] = new Bitmap();
+        }
+        return bands;
+    }
+
+    private static int priceBand(long cents) {
+        int band = 0;
+        while (band + 1 < PRICE_BAND_BOUNDS.length && cents >= PRICE_BAND_BOUNDS[band + 1]) {
+            band++;
+        }
+        return band;
+    }
+
+    private static void addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        for (String token : Tokenizer.tokenize(text)) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+    }
+
+    private static long toCents(BigDecimal amount, RoundingMode rounding) {
+        if (amount == null) {
+            return 0L;
+        }
+        return amount.movePointRight(2).setScale(0, rounding).longValue();
+    }
+
+    private static final class Hit {
+
+        private final int doc;
+        private final float score;
+
+        private Hit(int doc, float score) {
+            this.doc = doc;
+            this.score = score;
+        }
+    }
+}
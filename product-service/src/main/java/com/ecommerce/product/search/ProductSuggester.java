@@ -0,0 +1,109 @@
+package com.ecommerce.product.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Autocomplete over a {@link SuggestionTrie} plus the product changes made
+ * since it was built.
+ *
+ * The trie cannot be modified, so changed products are kept in a small
+ * overlay that replaces their trie entries and is scanned on every lookup.
+ * Each change is numbered; installing a trie built after change N drops
+ * the changes up to N, since the trie already reflects them. The overlay
+ * therefore only grows between rebuilds, which the owner triggers once it
+ * is large enough to slow lookups down.
+ *
+ * Safe for concurrent use.
+ */
+public class ProductSuggester {
+
+    private record Change(long sequence, SuggestionTrie.Entry entry, String normalized) {
+    }
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Change> changes = new ConcurrentHashMap<>();
+    private volatile SuggestionTrie trie = SuggestionTrie.build(List.of(), 0);
+    private volatile Map<Long, Double> popularity = Map.of();
+
+    /**
+     * Number of the latest change; a trie built from data read after this
+     * call reflects every change up to it.
+     */
+    public long currentSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * @param trie          Trie built from data read after {@code builtAfter}
+     * @param popularity    Product ID -> score used to rank changed products
+     * @param builtAfter    {@link #currentSequence()} when the build started
+     */
+    public void install(SuggestionTrie trie, Map<Long, Double> popularity, long builtAfter) {
+        this.trie = trie;
+        this.popularity = popularity;
+        changes.values().removeIf(change -> change.sequence() <= builtAfter);
+    }
+
+    public void upsert(long productId, String name) {
+        SuggestionTrie.Entry entry = new SuggestionTrie.Entry(SuggestionTrie.Kind.PRODUCT, productId, name,
+                popularity.getOrDefault(productId, 0.0));
+        changes.put(productId, new Change(sequence.incrementAndGet(), entry, SuggestionTrie.normalize(name)));
+    }
+
+    public void remove(long productId) {
+        changes.put(productId, new Change(sequence.incrementAndGet(), null, null));
+    }
+
+    public int pendingChanges() {
+        return changes.size();
+    }
+
+    /**
+     * @param query Text typed so far; matched against the start of any word
+     * @param limit Maximum number of suggestions
+     * @return Suggestions, most popular first
+     */
+    public List<SuggestionTrie.Entry> suggest(String query, int limit) {
+        String prefix = SuggestionTrie.normalize(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        List<SuggestionTrie.Entry> candidates = new ArrayList<>();
+        for (SuggestionTrie.Entry entry : trie.lookup(prefix)) {
+            if (entry.kind() != SuggestionTrie.Kind.PRODUCT || !changes.containsKey(entry.id())) {
+                candidates.add(entry);
+            }
+        }
+        if (!changes.isEmpty()) {
+            String wordPrefix = " " + prefix;
+            for (Change change : changes.values()) {
+                if (change.entry() != null
+                        && (change.normalized().startsWith(prefix) || change.normalized().contains(wordPrefix))) {
+                    candidates.add(change.entry());
+                }
+            }
+            candidates.sort(Comparator.comparingDouble(SuggestionTrie.Entry::score).reversed()
+                    .thenComparingInt(entry -> entry.text().length()));
+        }
+
+        List<SuggestionTrie.Entry> suggestions = new ArrayList<>(limit);
+        Set<String> seen = new HashSet<>();
+        for (SuggestionTrie.Entry entry : candidates) {
+            if (suggestions.size() == limit) {
+                break;
+            }
+            if (seen.add(entry.kind() + ":" + SuggestionTrie.normalize(entry.text()))) {
+                suggestions.add(entry);
+            }
+        }
+        return suggestions;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.product.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Facet counts for a search. Each facet is counted with every filter
+ * applied except its own, so the counts show what selecting a different
+ * value would return.
+ */
+@Getter
+@AllArgsConstructor
+public class SearchFacets {
+
+    /** Matching products per category ID, largest first */
+    private final Map<Long, Long> categoryCounts;
+    /** Matching products per price band, see {@link ProductSearchIndex#PRICE_BAND_BOUNDS} */
+    private final long[] priceBandCounts;
+    private final long inStockCount;
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.product.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of search results: product IDs in rank order, the total
+ * number of matching products and, if requested, facet counts.
+ */
+@Getter
+@AllArgsConstructor
+public class SearchHits {
+
+    private final long total;
+    private final List<Long> productIds;
+    private final SearchFacets facets;
+}
@@ -0,0 +1,320 @@
+package com.ecommerce.product.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable compressed prefix tree (radix tree) for autocomplete.
+ *
+ * Each entry is reachable from every word it contains, so "head" finds
+ * "Wireless Headphones". Chains of single-child nodes are merged into one
+ * edge, and nodes are stored in flat arrays with each node's children
+ * next to each other and ordered by their first character, so a lookup
+ * is one binary search per edge and allocates nothing until the result.
+ *
+ * Every node holds its subtree's best entries, ranked by score, so a
+ * lookup costs the length of the prefix, not the number of matches.
+ * Entries with the same normalized text are suggested once.
+ */
+public final class SuggestionTrie {
+
+    public enum Kind {
+        PRODUCT,
+        CATEGORY
+    }
+
+    /**
+     * @param id    Product or category ID
+     * @param score Popularity; higher is suggested first
+     */
+    public record Entry(Kind kind, long id, String text, double score) {
+    }
+
+    /** Long names are reachable from their first words only */
+    private static final int MAX_KEYS_PER_ENTRY = 8;
+
+    private final Entry[] entries;
+
+    private final char[] labels;
+    private final int[] labelStart;
+    private final int[] labelLength;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] topStart;
+    private final int[] topCount;
+    private final int[] top;
+
+    private SuggestionTrie(Entry[] entries, char[] labels, int[] labelStart, int[] labelLength,
+                           int[] firstChild, int[] childCount, int[] topStart, int[] topCount, int[] top) {
+        this.entries = entries;
+        this.labels = labels;
+        this.labelStart = labelStart;
+        this.labelLength = labelLength;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.topStart = topStart;
+        this.topCount = topCount;
+        this.top = top;
+    }
+
+    /**
+     * @param topK Entries kept per prefix; lookups return at most this many
+     */
+    public static SuggestionTrie build(List<Entry> entries, int topK) {
+        return new Builder(entries, topK).build();
+    }
+
+    /**
+     * Lower-cased, accent-folded words separated by single spaces; the form
+     * in which texts are indexed and prefixes are looked up.
+     */
+    public static String normalize(String text) {
+        return String.join(" ", Tokenizer.tokenize(text));
+    }
+
+    /**
+     * @param prefix Normalized prefix
+     * @return Best entries with a word sequence starting with the prefix,
+     *         best first
+     */
+    public List<Entry> lookup(String prefix) {
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        int node = 0;
+        int pos = 0;
+        while (true) {
+            int start = labelStart[node];
+            for (int i = 0; i < labelLength[node]; i++) {
+                if (pos == prefix.length()) {
+                    return topOf(node);
+                }
+                if (labels[start + i] != prefix.charAt(pos)) {
+                    return List.of();
+                }
+                pos++;
+            }
+            if (pos == prefix.length()) {
+                return topOf(node);
+            }
+            node = child(node, prefix.charAt(pos));
+            if (node < 0) {
+                return List.of();
+            }
+        }
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    public int nodeCount() {
+        return labelStart.length;
+    }
+
+    private int child(int node, char c) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char first = labels[labelStart[mid]];
+            if (first < c) {
+                low = mid + 1;
+            } else if (first > c) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private List<Entry> topOf(int node) {
+        List<Entry> result = new ArrayList<>(topCount[node]);
+        for (int i = topStart[node]; i < topStart[node] + topCount[node]; i++) {
+            result.add(entries[top[i]]);
+        }
+        return result;
+    }
+
+    private record Key(String text, int entry) {
+    }
+
+    private static final class Builder {
+
+        private final Entry[] entries;
+        private final int topK;
+        private final String[] keys;
+        private final int[] keyEntries;
+        // Position of each entry in ranking order, and its distinct-text number
+        private final int[] rank;
+        private final int[] textIds;
+
+        private final StringBuilder labels = new StringBuilder();
+        private final int[] labelStart;
+        private final int[] labelLength;
+        private final int[] firstChild;
+        private final int[] childCount;
+        private final int[] topStart;
+        private final int[] topCount;
+        private int[] top = new int[1024];
+        private int topSize;
+        private int nodeCount = 1;
+
+        Builder(List<Entry> source, int topK) {
+            this.entries = source.toArray(new Entry[0]);
+            this.topK = topK;
+
+            String[] normalized = new String[entries.length];
+            List<Key> keyList = new ArrayList<>();
+            Map<String, Integer> texts = new HashMap<>();
+            textIds = new int[entries.length];
+            for (int i = 0; i < entries.length; i++) {
+                normalized[i] = normalize(entries[i].text());
+                textIds[i] = texts.computeIfAbsent(entries[i].kind() + ":" + normalized[i], text -> texts.size());
+                int keysAdded = 0;
+                for (int start = 0; start < normalized[i].length() && keysAdded < MAX_KEYS_PER_ENTRY; start++) {
+                    if (start == 0 || normalized[i].charAt(start - 1) == ' ') {
+                        keyList.add(new Key(normalized[i].substring(start), i));
+                        keysAdded++;
+                    }
+                }
+            }
+
+            Key[] sortedKeys = keyList.toArray(new Key[0]);
+            Arrays.sort(sortedKeys, Comparator.comparing(Key::text));
+            keys = new String[sortedKeys.length];
+            keyEntries = new int[sortedKeys.length];
+            for (int i = 0; i < sortedKeys.length; i++) {
+                keys[i] = sortedKeys[i].text();
+                keyEntries[i] = sortedKeys[i].entry();
+            }
+
+            Key[] byRank = new Key[entries.length];
+            for (int i = 0; i < byRank.length; i++) {
+                byRank[i] = new Key(normalized[i], i);
+            }
+            Arrays.sort(byRank, Comparator.<Key>comparingDouble(key -> -entries[key.entry()].score())
+                    .thenComparingInt(key -> key.text().length())
+                    .thenComparing(Key::text));
+            rank = new int[entries.length];
+            for (int i = 0; i < byRank.length; i++) {
+                rank[byRank[i].entry()] = i;
+            }
+
+            // A radix tree over n keys has at most 2n nodes
+            int maxNodes = 2 * keys.length + 1;
+            labelStart = new int[maxNodes];
+            labelLength = new int[maxNodes];
+            firstChild = new int[maxNodes];
+            childCount = new int[maxNodes];
+            topStart = new int[maxNodes];
+            topCount = new int[maxNodes];
+        }
+
+        SuggestionTrie build() {
+            if (keys.length > 0) {
+                fill(0, 0, keys.length, 0, true);
+            }
+            return new SuggestionTrie(entries, labels.toString().toCharArray(),
+                    Arrays.copyOf(labelStart, nodeCount), Arrays.copyOf(labelLength, nodeCount),
+                    Arrays.copyOf(firstChild, nodeCount), Arrays.copyOf(childCount, nodeCount),
+                    Arrays.copyOf(topStart, nodeCount), Arrays.copyOf(topCount, nodeCount),
+                    Arrays.copyOf(top, topSize));
+        }
+
+        /**
+         * Fill a node covering keys [lo, hi), which share their first
+         * {@code depth} characters.
+         */
+        private void fill(int node, int lo, int hi, int depth, boolean root) {
+            // Keys are sorted, so the first and last share the longest common prefix
+            int end = depth;
+            if (!root) {
+                String first = keys[lo];
+                String last = keys[hi - 1];
+                int max = Math.min(first.length(), last.length());
+                while (end < max && first.charAt(end) == last.charAt(end)) {
+                    end++;
+                }
+            }
+            labelStart[node] = labels.length();
+            labelLength[node] = end - depth;
+            labels.append(keys[lo], depth, end);
+
+            // Candidates are packed as rank << 32 | entry so they sort by rank
+            int own = 0;
+            int i = lo;
+            while (i < hi && keys[i].length() == end) {
+                own++;
+                i++;
+            }
+            long[] candidates = new long[own];
+            for (int k = 0; k < own; k++) {
+                candidates[k] = candidate(keyEntries[lo + k]);
+            }
+            int candidateCount = own;
+
+            int groupCount = 0;
+            int[] groupStarts = new int[Math.min(hi - i, 64) + 1];
+            while (i < hi) {
+                if (groupCount + 1 == groupStarts.length) {
+                    groupStarts = Arrays.copyOf(groupStarts, groupStarts.length * 2);
+                }
+                groupStarts[groupCount++] = i;
+                char c = keys[i].charAt(end);
+                while (i < hi && keys[i].charAt(end) == c) {
+                    i++;
+                }
+            }
+            groupStarts[groupCount] = hi;
+
+            int children = nodeCount;
+            firstChild[node] = children;
+            childCount[node] = groupCount;
+            nodeCount += groupCount;
+            for (int g = 0; g < groupCount; g++) {
+                int child = children + g;
+                fill(child, groupStarts[g], groupStarts[g + 1], end, false);
+                if (candidateCount + topCount[child] > candidates.length) {
+                    candidates = Arrays.copyOf(candidates, Math.max(candidates.length * 2, candidateCount + topCount[child]));
+                }
+                for (int t = topStart[child]; t < topStart[child] + topCount[child]; t++) {
+                    candidates[candidateCount++] = candidate(top[t]);
+                }
+            }
+
+            Arrays.sort(candidates, 0, candidateCount);
+            topStart[node] = topSize;
+            int taken = 0;
+            for (int c = 0; c < candidateCount && taken < topK; c++) {
+                int entry = (int) candidates[c];
+                if (!hasText(topStart[node], taken, textIds[entry])) {
+                    if (topSize == top.length) {
+                        top = Arrays.copyOf(top, top.length * 2);
+                    }
+                    top[topSize++] = entry;
+                    taken++;
+                }
+            }
+            topCount[node] = taken;
+        }
+
+        private long candidate(int entry) {
+            return (long) rank[entry] << 32 | entry;
+        }
+
+        private boolean hasText(int from, int count, int textId) {
+            for (int t = from; t < from + count; t++) {
+                if (textIds[top[t]] == textId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
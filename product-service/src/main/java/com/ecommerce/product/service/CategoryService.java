@@ -2,17 +2,23 @@ package com.ecommerce.product.service;
 
 import com.ecommerce.product.dto.CategoryRequest;
 import com.ecommerce.product.dto.CategoryResponse;
+import com.ecommerce.product.dto.CategoryTreeResponse;
 import com.ecommerce.product.entity.Category;
+import com.ecommerce.product.event.CategoryChangedEvent;
 import com.ecommerce.product.exception.DuplicateResourceException;
+import com.ecommerce.product.exception.InvalidRequestException;
 import com.ecommerce.product.exception.ResourceNotFoundException;
 import com.ecommerce.product.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -20,19 +26,30 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final CategoryTreeService categoryTreeService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<CategoryResponse> getAllCategories() {
         log.info("Fetching all categories");
-        return categoryRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return categoryTreeService.current().categories();
     }
 
+    @Transactional(readOnly = true)
     public CategoryResponse getCategoryById(Long id) {
         log.info("Fetching category with id: {}", id);
-        Category category = categoryRepository.findById(id)
+        CategoryResponse category = categoryTreeService.current().find(id);
+        if (category != null) {
+            return category;
+        }
+        // Possibly created on another instance since the last refresh
+        return categoryRepository.findById(id)
+                .map(this::mapToResponse)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
-        return mapToResponse(category);
+    }
+
+    public List<CategoryTreeResponse> getCategoryTree() {
+        log.info("Fetching category tree");
+        return categoryTreeService.current().roots();
     }
 
     @Transactional
@@ -56,6 +73,7 @@ public class CategoryService {
                 .build();
 
         category = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
         log.info("Category created successfully with id: {}", category.getId());
 
         return mapToResponse(category);
@@ -76,6 +94,13 @@ public class CategoryService {
         if (request.getParentCategoryId() != null) {
             parentCategory = categoryRepository.findById(request.getParentCategoryId())
                     .orElseThrow(() -> new ResourceNotFoundException("Parent category not found with id: " + request.getParentCategoryId()));
+            Set<Long> seen = new HashSet<>();
+            for (Category ancestor = parentCategory; ancestor != null && seen.add(ancestor.getId());
+                 ancestor = ancestor.getParentCategory()) {
+                if (Objects.equals(ancestor.getId(), id)) {
+                    throw new InvalidRequestException("Category " + id + " cannot be moved under its own subtree");
+                }
+            }
         }
 
         category.setName(request.getName());
@@ -83,6 +108,7 @@ public class CategoryService {
         category.setParentCategory(parentCategory);
 
         category = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
         log.info("Category updated successfully with id: {}", category.getId());
 
         return mapToResponse(category);
@@ -96,6 +122,7 @@ public class CategoryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
 
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
         log.info("Category deleted successfully with id: {}", id);
     }
 
@@ -0,0 +1,74 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.category.CategoryTree;
+import com.ecommerce.product.datasource.ReplicaRouting;
+import com.ecommerce.product.event.CategoryChangedEvent;
+import com.ecommerce.product.repository.CategoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Owns the current {@link CategoryTree} snapshot. It is rebuilt after
+ * every committed category change on this instance, and periodically so
+ * that changes made on other instances show up within the refresh
+ * interval.
+ */
+@Service
+@Slf4j
+public class CategoryTreeService {
+
+    private final CategoryRepository categoryRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private volatile CategoryTree current;
+
+    public CategoryTreeService(CategoryRepository categoryRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * The current snapshot, built on first use if startup has not
+     * built it yet
+     */
+    public CategoryTree current() {
+        CategoryTree tree = current;
+        return tree != null ? tree : rebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.categories.refresh-interval:PT1M}")
+    public void refresh() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("Failed to refresh category tree, keeping the previous one", e);
+        }
+    }
+
+    public synchronized CategoryTree rebuild() {
+        // Read the primary so a rebuild after a change always includes it
+        CategoryTree tree = CategoryTree.of(ReplicaRouting.onPrimary(() -> readOnlyTransactionTemplate.execute(
+                status -> categoryRepository.findAllAsResponses())));
+        current = tree;
+        log.debug("Category tree rebuilt with {} categories", tree.size());
+        return tree;
+    }
+}
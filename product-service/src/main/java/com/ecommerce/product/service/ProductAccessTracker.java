@@ -0,0 +1,127 @@
+package com.ecommerce.product.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks how often each product is read so the hottest ones can be
+ * preloaded into the cache.
+ *
+ * Reads are counted in memory and flushed periodically into a Redis
+ * sorted set shared by all instances. Scores are halved every decay
+ * interval so the ranking follows current traffic rather than all-time
+ * totals. Every instance schedules the decay, but a Redis lock held for
+ * one interval lets only the first of them apply it, so the decay rate
+ * does not depend on the number of replicas.
+ */
+@Service
+@Slf4j
+public class ProductAccessTracker {
+
+    static final String HOT_PRODUCTS_KEY = "products:hot";
+    static final String DECAY_LOCK_KEY = "products:hot:decay-lock";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration decayInterval;
+    private volatile Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    public ProductAccessTracker(StringRedisTemplate redisTemplate,
+                                @Value("${cache.products.access-decay-interval:PT1H}") Duration decayInterval) {
+        this.redisTemplate = redisTemplate;
+        this.decayInterval = decayInterval;
+    }
+
+    public void record(Long productId) {
+        pending.computeIfAbsent(productId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * @param limit Maximum number of IDs to return
+     * @return Most-read product IDs, hottest first
+     */
+    public List<Long> hottestProductIds(int limit) {
+        Set<String> members = redisTemplate.opsForZSet().reverseRange(HOT_PRODUCTS_KEY, 0, limit - 1L);
+        if (members == null) {
+            return Collections.emptyList();
+        }
+        return members.stream().map(Long::valueOf).collect(Collectors.toList());
+    }
+
+    /**
+     * @param limit Maximum number of products to return
+     * @return Product ID -> decayed read count of the most-read products
+     */
+    public Map<Long, Double> popularity(int limit) {
+        Set<ZSetOperations.TypedTuple<String>> members =
+                redisTemplate.opsForZSet().reverseRangeWithScores(HOT_PRODUCTS_KEY, 0, limit - 1L);
+        if (members == null) {
+            return Collections.emptyMap();
+        }
+        Map<Long, Double> popularity = new HashMap<>(members.size() * 2);
+        for (ZSetOperations.TypedTuple<String> member : members) {
+            if (member.getValue() != null && member.getScore() != null) {
+                popularity.put(Long.valueOf(member.getValue()), member.getScore());
+            }
+        }
+        return popularity;
+    }
+
+    @Scheduled(fixedDelayString = "${cache.products.access-flush-interval:PT30S}")
+    public void flush() {
+        Map<Long, LongAdder> drained = pending;
+        if (drained.isEmpty()) {
+            return;
+        }
+        pending = new ConcurrentHashMap<>();
+
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                drained.forEach((productId, count) ->
+                        stringConnection.zIncrBy(HOT_PRODUCTS_KEY, count.sum(), productId.toString()));
+                return null;
+            });
+            log.debug("Flushed access counts for {} products", drained.size());
+        } catch (Exception e) {
+            log.warn("Failed to flush product access counts, dropping {} entries", drained.size(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cache.products.access-decay-interval:PT1H}",
+            initialDelayString = "${cache.products.access-decay-interval:PT1H}")
+    public void decay() {
+        try {
+            // SET NX PX: the lock expires after one interval, so the next decay is due when it can be taken again
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(DECAY_LOCK_KEY,
+                    String.valueOf(System.currentTimeMillis()), decayInterval);
+            if (!Boolean.TRUE.equals(acquired)) {
+                log.debug("Product access counts already decayed this interval");
+                return;
+            }
+            ZSetOperations<String, String> zSet = redisTemplate.opsForZSet();
+            zSet.unionAndStore(HOT_PRODUCTS_KEY, Collections.emptyList(), HOT_PRODUCTS_KEY,
+                    Aggregate.SUM, Weights.of(0.5));
+            zSet.removeRangeByScore(HOT_PRODUCTS_KEY, 0, 0.5);
+        } catch (Exception e) {
+            log.warn("Failed to decay product access counts", e);
+        }
+    }
+}
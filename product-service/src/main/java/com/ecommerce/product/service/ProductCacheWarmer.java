@@ -0,0 +1,55 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.event.CatalogBulkChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Preloads the most-read products into the product cache on startup and
+ * after bulk catalog changes, so the hit rate does not collapse after a
+ * deploy, a cache key version bump or an import.
+ */
+@Service
+@Slf4j
+public class ProductCacheWarmer {
+
+    private final ProductAccessTracker accessTracker;
+    private final ProductService productService;
+    private final int warmUpSize;
+
+    public ProductCacheWarmer(ProductAccessTracker accessTracker,
+                              ProductService productService,
+                              @Value("${cache.products.warm-up.size:1000}") int warmUpSize) {
+        this.accessTracker = accessTracker;
+        this.productService = productService;
+        this.warmUpSize = warmUpSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        warmUp();
+    }
+
+    @EventListener
+    public void onCatalogBulkChanged(CatalogBulkChangedEvent event) {
+        log.info("Warming product cache after {} changed {} products", event.getSource(), event.getAffectedProducts());
+        warmUp();
+    }
+
+    public synchronized void warmUp() {
+        try {
+            long startedAt = System.currentTimeMillis();
+            List<Long> hottest = accessTracker.hottestProductIds(warmUpSize);
+            int loaded = productService.preloadProducts(hottest);
+            log.info("Product cache warm-up: {} hot products, {} loaded from the database in {} ms",
+                    hottest.size(), loaded, System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            log.warn("Product cache warm-up failed", e);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.ExportFormat;
+import com.ecommerce.product.dto.ProductExportRow;
+import com.ecommerce.product.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the active catalog as NDJSON or CSV straight from a database
+ * cursor. Rows are read as DTOs and written one at a time, and the output
+ * is flushed every few hundred rows, so memory use stays flat however
+ * large the catalog is.
+ */
+@Service
+@Slf4j
+public class ProductExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String CSV_HEADER =
+            "id,sku,name,description,categoryId,categoryName,price,stockQuantity,imageUrl,updatedAt";
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int flushEvery;
+
+    public ProductExportService(ProductRepository productRepository,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${product.export.flush-every:500}") int flushEvery) {
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.flushEvery = flushEvery;
+    }
+
+    /**
+     * Write the active catalog to a stream.
+     *
+     * @param out Destination, left open
+     * @param format Output format
+     * @param gzip Whether to compress the output on the fly
+     * @return Number of products written
+     */
+    public long exportCatalog(OutputStream out, ExportFormat format, boolean gzip) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        // Sync flush makes each flush push the rows compressed so far to the client
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_SIZE, true) : null;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(compressed != null ? compressed : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long written;
+        try {
+            written = readOnlyTransactionTemplate.execute(status -> {
+                try (Stream<ProductExportRow> rows = productRepository.streamExportRows()) {
+                    long count = 0;
+                    Iterator<ProductExportRow> iterator = rows.iterator();
+                    while (iterator.hasNext()) {
+                        ProductExportRow row = iterator.next();
+                        if (format == ExportFormat.CSV) {
+                            writeCsvRow(writer, row);
+                        } else {
+                            generator.writeObject(row);
+                            generator.flush();
+                            writer.write('\n');
+                        }
+                        if (++count % flushEvery == 0) {
+                            writer.flush();
+                        }
+                    }
+                    return count;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        generator.close();
+        writer.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        out.flush();
+        log.info("Exported {} products as {}{} in {} ms", written, format, gzip ? " (gzip)" : "",
+                System.currentTimeMillis() - startedAt);
+        return written;
+    }
+
+    private void writeCsvRow(Writer writer, ProductExportRow row) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writeCsvField(writer, row.getSku());
+        writer.write(',');
+        writeCsvField(writer, row.getName());
+        writer.write(',');
+        writeCsvField(writer, row.getDescription());
+        writer.write(',');
+        writeCsvField(writer, row.getCategoryId() != null ? row.getCategoryId().toString() : null);
+        writer.write(',');
+        writeCsvField(writer, row.getCategoryName());
+        writer.write(',');
+        writeCsvField(writer, toPlainString(row.getPrice()));
+        writer.write(',');
+        writeCsvField(writer, row.getStockQuantity() != null ? row.getStockQuantity().toString() : null);
+        writer.write(',');
+        writeCsvField(writer, row.getImageUrl());
+        writer.write(',');
+        writeCsvField(writer, row.getUpdatedAt() != null ? row.getUpdatedAt().toString() : null);
+        writer.write('\n');
+    }
+
+    /**
+     * Quote a field only when it contains a separator, quote or line break
+     */
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static String toPlainString(BigDecimal value) {
+        return value != null ? value.toPlainString() : null;
+    }
+}
@@ -0,0 +1,402 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.datasource.ReplicaRouting;
+import com.ecommerce.product.dto.ImportFormat;
+import com.ecommerce.product.dto.ProductImportEvent;
+import com.ecommerce.product.dto.ProductImportRecord;
+import com.ecommerce.product.entity.Category;
+import com.ecommerce.product.event.CatalogBulkChangedEvent;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Streams products from NDJSON or CSV input into the catalog in chunks.
+ *
+ * Categories and existing SKUs are loaded once up front, so rows are
+ * checked in memory. Each chunk is written with JDBC batch inserts in its
+ * own transaction. Bad rows are reported one by one and never abort the
+ * rest of the file. Derived caches are refreshed once at the end through a
+ * single {@link CatalogBulkChangedEvent}, not once per product.
+ */
+@Service
+@Slf4j
+public class ProductImportService {
+
+    private static final String INSERT_PRODUCT_SQL =
+            "INSERT INTO products (name, description, category_id, price, stock_quantity, sku, image_url, " +
+            "is_active, hot_inventory, created_at, updated_at, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_IMAGE_SQL =
+            "INSERT INTO product_images (product_id, image_url, is_primary) VALUES (?, ?, ?)";
+
+    private static final String ADDITIONAL_IMAGES_COLUMN = "additionalImages";
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public ProductImportService(ProductRepository productRepository,
+                                CategoryRepository categoryRepository,
+                                JdbcTemplate jdbcTemplate,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                @Value("${product.import.chunk-size:1000}") int chunkSize) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Import products from a stream.
+     *
+     * @param input NDJSON or CSV input, read line by line
+     * @param format Input format
+     * @param listener Receives rejected rows, per-chunk progress and the final summary
+     * @return Completion event with the final counters
+     */
+    public ProductImportEvent importProducts(InputStream input, ImportFormat format,
+                                             Consumer<ProductImportEvent> listener) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        CategoryLookup categories = loadCategories();
+        Set<String> knownSkus = prefetchSkus();
+        log.info("Starting {} product import, {} categories and {} existing SKUs prefetched",
+                format, categories.size(), knownSkus.size());
+
+        ImportCounters counters = new ImportCounters();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String[] csvHeader = format == ImportFormat.CSV ? readCsvHeader(reader) : null;
+
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        long rowNumber = 0;
+        String line;
+        try {
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                rowNumber++;
+                try {
+                    ProductImportRecord record = format == ImportFormat.CSV
+                            ? parseCsvRecord(csvHeader, line)
+                            : objectMapper.readValue(line, ProductImportRecord.class);
+                    chunk.add(new ImportRow(rowNumber, record, null));
+                } catch (Exception e) {
+                    counters.processed++;
+                    reject(counters, listener, rowNumber, null, "Malformed row: " + e.getMessage());
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    processChunk(chunk, categories, knownSkus, counters, listener, startedAt);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(chunk, categories, knownSkus, counters, listener, startedAt);
+            }
+        } finally {
+            // Committed chunks stay even if the input breaks off, so caches must still learn about them
+            if (counters.imported > 0) {
+                eventPublisher.publishEvent(new CatalogBulkChangedEvent("product-import", (int) counters.imported));
+            }
+        }
+
+        ProductImportEvent completed = counters.toEvent(ProductImportEvent.COMPLETED, startedAt);
+        listener.accept(completed);
+        log.info("Product import finished: {} processed, {} imported, {} rejected in {} ms",
+                completed.getProcessed(), completed.getImported(), completed.getRejected(), completed.getElapsedMs());
+        return completed;
+    }
+
+    // Duplicate checks need the primary's view, not a lagging replica's
+    private CategoryLookup loadCategories() {
+        return ReplicaRouting.onPrimary(() -> readOnlyTransactionTemplate.execute(status -> {
+            Set<Long> ids = new HashSet<>();
+            Map<String, Long> idsByName = new HashMap<>();
+            for (Category category : categoryRepository.findAll()) {
+                ids.add(category.getId());
+                idsByName.put(normalize(category.getName()), category.getId());
+            }
+            return new CategoryLookup(ids, idsByName);
+        }));
+    }
+
+    private Set<String> prefetchSkus() {
+        return ReplicaRouting.onPrimary(() -> readOnlyTransactionTemplate.execute(status -> {
+            Set<String> skus = new HashSet<>();
+            try (Stream<String> stream = productRepository.streamAllSkus()) {
+                stream.forEach(sku -> skus.add(normalize(sku)));
+            }
+            return skus;
+        }));
+    }
+
+    private void processChunk(List<ImportRow> chunk, CategoryLookup categories, Set<String> knownSkus,
+                              ImportCounters counters, Consumer<ProductImportEvent> listener, long startedAt) {
+        List<ImportRow> accepted = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            counters.processed++;
+            ProductImportRecord record = row.record();
+            String reason = validate(record);
+            Long categoryId = null;
+            if (reason == null) {
+                categoryId = categories.resolve(record);
+                if (categoryId == null) {
+                    reason = record.getCategoryId() == null && record.getCategoryName() == null
+                            ? "Category is required"
+                            : "Category not found";
+                } else if (!knownSkus.add(normalize(record.getSku()))) {
+                    reason = "SKU already exists";
+                }
+            }
+            if (reason != null) {
+                reject(counters, listener, row.rowNumber(), record.getSku(), reason);
+            } else {
+                accepted.add(new ImportRow(row.rowNumber(), record, categoryId));
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeChunk(accepted));
+                counters.imported += accepted.size();
+            } catch (Exception e) {
+                log.error("Failed to write import chunk ending at row {}", accepted.get(accepted.size() - 1).rowNumber(), e);
+                for (ImportRow row : accepted) {
+                    knownSkus.remove(normalize(row.record().getSku()));
+                    reject(counters, listener, row.rowNumber(), row.record().getSku(),
+                            "Chunk write failed: " + e.getMessage());
+                }
+            }
+        }
+
+        listener.accept(counters.toEvent(ProductImportEvent.PROGRESS, startedAt));
+    }
+
+    private void writeChunk(List<ImportRow> rows) {
+        List<Long> productIds = insertProducts(rows);
+        if (productIds.size() != rows.size()) {
+            throw new IllegalStateException("Expected " + rows.size() + " generated keys but got " + productIds.size());
+        }
+
+        List<Object[]> images = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            List<String> additionalImages = rows.get(i).record().getAdditionalImages();
+            if (additionalImages == null) {
+                continue;
+            }
+            for (String url : additionalImages) {
+                if (url != null && !url.isBlank()) {
+                    images.add(new Object[]{productIds.get(i), url.trim(), false});
+                }
+            }
+        }
+        if (!images.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_IMAGE_SQL, images, new int[]{Types.BIGINT, Types.VARCHAR, Types.BOOLEAN});
+        }
+    }
+
+    private List<Long> insertProducts(List<ImportRow> rows) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_PRODUCT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                for (ImportRow row : rows) {
+                    ProductImportRecord record = row.record();
+                    ps.setString(1, record.getName().trim());
+                    ps.setString(2, record.getDescription());
+                    ps.setLong(3, row.categoryId());
+                    ps.setBigDecimal(4, record.getPrice());
+                    ps.setInt(5, record.getStockQuantity());
+                    ps.setString(6, record.getSku().trim());
+                    ps.setString(7, record.getImageUrl());
+                    ps.setBoolean(8, true);
+                    ps.setBoolean(9, false);
+                    ps.setTimestamp(10, now);
+                    ps.setTimestamp(11, now);
+                    ps.setLong(12, 0L);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                List<Long> ids = new ArrayList<>(rows.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                return ids;
+            }
+        });
+    }
+
+    private String validate(ProductImportRecord record) {
+        Set<ConstraintViolation<ProductImportRecord>> violations = validator.validate(record);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .reduce((a, b) -> a + "; " + b)
+                .orElse("Invalid row");
+    }
+
+    private void reject(ImportCounters counters, Consumer<ProductImportEvent> listener,
+                        long rowNumber, String sku, String reason) {
+        counters.rejected++;
+        listener.accept(ProductImportEvent.rejected(rowNumber, sku, reason));
+    }
+
+    private String[] readCsvHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            return new String[0];
+        }
+        List<String> columns = splitCsvLine(header);
+        return columns.stream().map(String::trim).toArray(String[]::new);
+    }
+
+    private ProductImportRecord parseCsvRecord(String[] header, String line) {
+        List<String> values = splitCsvLine(line);
+        if (values.size() > header.length) {
+            throw new IllegalArgumentException("expected " + header.length + " columns but found " + values.size());
+        }
+        Map<String, Object> row = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (value.isEmpty()) {
+                row.put(header[i], null);
+            } else if (ADDITIONAL_IMAGES_COLUMN.equals(header[i])) {
+                // A CSV cell holds all additional image URLs separated by '|'
+                row.put(header[i], Arrays.asList(value.split("\\|")));
+            } else {
+                row.put(header[i], value);
+            }
+        }
+        return objectMapper.convertValue(row, ProductImportRecord.class);
+    }
+
+    /**
+     * Split one CSV line, honouring double-quoted fields and "" escapes
+     */
+    private List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record ImportRow(long rowNumber, ProductImportRecord record, Long categoryId) {}
+
+    /**
+     * Categories by ID and by case-insensitive name, loaded once per import
+     */
+    private record CategoryLookup(Set<Long> ids, Map<String, Long> idsByName) {
+
+        private Long resolve(ProductImportRecord record) {
+            if (record.getCategoryId() != null) {
+                return ids.contains(record.getCategoryId()) ? record.getCategoryId() : null;
+            }
+            if (record.getCategoryName() != null && !record.getCategoryName().isBlank()) {
+                return idsByName.get(normalize(record.getCategoryName()));
+            }
+            return null;
+        }
+
+        private int size() {
+            return ids.size();
+        }
+    }
+
+    private static class ImportCounters {
+        private long processed;
+        private long imported;
+        private long rejected;
+
+        private ProductImportEvent toEvent(String type, long startedAt) {
+            return ProductImportEvent.builder()
+                    .type(type)
+                    .processed(processed)
+                    .imported(imported)
+                    .rejected(rejected)
+                    .elapsedMs(System.currentTimeMillis() - startedAt)
+                    .build();
+        }
+    }
+}
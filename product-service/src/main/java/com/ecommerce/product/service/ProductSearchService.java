@@ -0,0 +1,169 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.datasource.ReplicaRouting;
+import com.ecommerce.product.dto.ProductSearchRequest;
+import com.ecommerce.product.event.CatalogBulkChangedEvent;
+import com.ecommerce.product.event.ProductChangedEvent;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.search.ProductDocument;
+import com.ecommerce.product.search.ProductSearchIndex;
+import com.ecommerce.product.search.SearchHits;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Owns the in-memory product search index. The index is built from the
+ * database when the application starts and kept current from
+ * {@link ProductChangedEvent}s after each commit on this instance. It is
+ * also rebuilt periodically so that product, stock and bulk changes made
+ * on other instances show up within the refresh interval. Until the first
+ * build finishes, {@link #isReady()} is false and callers fall back to SQL.
+ */
+@Service
+@Slf4j
+public class ProductSearchService {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final Object swapLock = new Object();
+    private volatile ProductSearchIndex current;
+    private boolean building;
+    private Set<Long> changedDuringBuild = new HashSet<>();
+
+    public ProductSearchService(ProductRepository productRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    public boolean isReady() {
+        return current != null;
+    }
+
+    public boolean canServe(Pageable pageable) {
+        return isReady() && ProductSearchIndex.supports(pageable.getSort());
+    }
+
+    public SearchHits search(ProductSearchRequest request, Pageable pageable, boolean withFacets) {
+        return current.search(request, pageable, withFacets);
+    }
+
+    /**
+     * @param categoryIds Categories to match, or null for no category filter
+     */
+    public SearchHits search(ProductSearchRequest request, Collection<Long> categoryIds,
+                             Pageable pageable, boolean withFacets) {
+        return current.search(request, categoryIds, pageable, withFacets);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        ProductSearchIndex index;
+        synchronized (swapLock) {
+            if (building) {
+                changedDuringBuild.add(event.getProductId());
+            }
+            index = current;
+        }
+        if (index == null) {
+            return;
+        }
+
+        switch (event.getType()) {
+            case CREATED, UPDATED -> {
+                if (Boolean.FALSE.equals(event.getProduct().getIsActive())) {
+                    index.remove(event.getProductId());
+                } else {
+                    index.index(ProductDocument.from(event.getProduct()));
+                }
+            }
+            case DELETED -> index.remove(event.getProductId());
+            case STOCK_CHANGED -> index.adjustStock(event.getProductId(), event.getStockDelta());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * One full rebuild is cheaper than applying a bulk change row by row.
+     */
+    @EventListener
+    public void onCatalogBulkChanged(CatalogBulkChangedEvent event) {
+        log.info("Rebuilding product search index after {} changed {} products",
+                event.getSource(), event.getAffectedProducts());
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.search.refresh-interval:PT1M}",
+            initialDelayString = "${catalog.search.refresh-interval:PT1M}")
+    public void refresh() {
+        rebuild();
+    }
+
+    /**
+     * Build a new index from the products table and swap it in.
+     *
+     * Products changed while the table is being scanned are re-read once
+     * the scan is done, so the new index never keeps a stale version.
+     */
+    public synchronized void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        ProductSearchIndex next = new ProductSearchIndex();
+        synchronized (swapLock) {
+            building = true;
+            changedDuringBuild = new HashSet<>();
+        }
+
+        try {
+            // Rebuilds follow writes, so they must not read a lagging replica
+            ReplicaRouting.onPrimary(() -> readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                try (Stream<ProductDocument> documents = productRepository.streamSearchDocuments()) {
+                    documents.forEach(next::index);
+                }
+            }));
+
+            while (true) {
+                List<Long> changed;
+                synchronized (swapLock) {
+                    if (changedDuringBuild.isEmpty()) {
+                        current = next;
+                        building = false;
+                        break;
+                    }
+                    changed = new ArrayList<>(changedDuringBuild);
+                    changedDuringBuild = new HashSet<>();
+                }
+                changed.forEach(next::remove);
+                productRepository.findSearchDocumentsByIdIn(changed).forEach(next::index);
+            }
+
+            log.info("Product search index rebuilt: {} products, {} terms, {} KB of postings in {} ms",
+                    next.size(), next.termCount(), next.postingBytes() / 1024,
+                    System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            synchronized (swapLock) {
+                building = false;
+            }
+            log.error("Failed to rebuild product search index, keeping the previous one", e);
+        }
+    }
+}
@@ -1,28 +1,52 @@
 package com.ecommerce.product.service;
 
+import com.ecommerce.product.cache.MultiKeyCaches;
+import com.ecommerce.product.dto.CursorPage;
 import com.ecommerce.product.dto.ProductRequest;
 import com.ecommerce.product.dto.ProductResponse;
 import com.ecommerce.product.dto.ProductSearchRequest;
+import com.ecommerce.product.dto.ProductSearchResponse;
+import com.ecommerce.product.dto.ProductSummaryResponse;
 import com.ecommerce.product.entity.Category;
 import com.ecommerce.product.entity.Product;
 import com.ecommerce.product.entity.ProductImage;
+import com.ecommerce.product.event.ProductChangedEvent;
 import com.ecommerce.product.exception.DuplicateResourceException;
+import com.ecommerce.product.exception.InvalidRequestException;
 import com.ecommerce.product.exception.OutOfStockException;
 import com.ecommerce.product.exception.ResourceNotFoundException;
+import com.ecommerce.product.inventory.HotInventory;
+import com.ecommerce.product.pagination.ProductCursorCodec;
 import com.ecommerce.product.repository.CategoryRepository;
 import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.search.ProductSearchIndex;
+import com.ecommerce.product.search.SearchFacets;
+import com.ecommerce.product.search.SearchHits;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,26 +54,122 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ProductService {
 
+    private static final int PRELOAD_BATCH_SIZE = 500;
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
-
-    @Cacheable(value = "products", key = "#id")
+    private final ProductSearchService productSearchService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductCursorCodec cursorCodec;
+    private final CacheManager cacheManager;
+    private final HotInventory hotInventory;
+    private final CategoryTreeService categoryTreeService;
+
+    /**
+     * Get a product through the product cache. Concurrent misses for the
+     * same ID share one query, and unknown IDs are cached as null for a
+     * short time so repeated lookups do not reach the database.
+     */
     public ProductResponse getProductById(Long id) {
+        ProductResponse product = cacheManager.getCache("products").get(id, () -> findProduct(id));
+        if (product == null) {
+            throw new ResourceNotFoundException("Product not found with id: " + id);
+        }
+        return product;
+    }
+
+    private ProductResponse findProduct(Long id) {
         log.info("Fetching product with id: {}", id);
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
-        return mapToResponse(product);
+        return productRepository.findWithDetailsById(id)
+                .map(this::mapToResponse)
+                .orElse(null);
     }
 
+    @Transactional(readOnly = true)
     public Page<ProductResponse> getAllProducts(Pageable pageable) {
         log.info("Fetching all active products");
         return productRepository.findByIsActiveTrue(pageable)
                 .map(this::mapToResponse);
     }
 
+    @Transactional(readOnly = true)
+    public Page<ProductSummaryResponse> getProductSummaries(Pageable pageable) {
+        log.info("Fetching active product summaries");
+        return productRepository.findSummariesByIsActiveTrue(pageable);
+    }
+
+    @Transactional(readOnly = true)
     public Page<ProductResponse> searchProducts(ProductSearchRequest request, Pageable pageable) {
         log.info("Searching products with criteria: {}", request);
 
+        if (productSearchService.canServe(pageable)) {
+            return toPage(productSearchService.search(request, resolveCategoryIds(request), pageable, false), pageable);
+        }
+
+        return productRepository.findAll(buildSpecification(request), pageable)
+                .map(this::mapToResponse);
+    }
+
+    /**
+     * List active products with keyset pagination
+     *
+     * @param after Cursor from the previous page, or blank for the first page
+     * @param sort Sort for the first page; later pages keep the cursor's sort
+     * @param size Page size
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ProductResponse> getAllProducts(String after, Sort sort, int size) {
+        log.info("Fetching active products after cursor");
+        return scroll(buildSpecification(new ProductSearchRequest()), after, sort, size);
+    }
+
+    /**
+     * Search products with keyset pagination
+     *
+     * @param request Search filters
+     * @param after Cursor from the previous page, or blank for the first page
+     * @param sort Sort for the first page; later pages keep the cursor's sort
+     * @param size Page size
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ProductResponse> searchProducts(ProductSearchRequest request, String after, Sort sort, int size) {
+        log.info("Searching products after cursor with criteria: {}", request);
+        return scroll(buildSpecification(request), after, sort, size);
+    }
+
+    private CursorPage<ProductResponse> scroll(Specification<Product> spec, String after, Sort sort, int size) {
+        Sort keysetSort;
+        ScrollPosition position;
+        if (after == null || after.isBlank()) {
+            keysetSort = cursorCodec.resolveSort(sort);
+            position = ScrollPosition.keyset();
+        } else {
+            ProductCursorCodec.Position cursor = cursorCodec.decode(after);
+            keysetSort = cursor.getSort();
+            position = cursor.getScrollPosition();
+        }
+
+        Window<Product> window = productRepository.findBy(spec, query -> query
+                .sortBy(keysetSort)
+                .limit(size)
+                .scroll(position));
+
+        List<ProductResponse> content = window.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? cursorCodec.encode(keysetSort, window.positionAt(window.size() - 1))
+                : null;
+
+        return CursorPage.<ProductResponse>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(nextCursor != null)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private Specification<Product> buildSpecification(ProductSearchRequest request) {
         Specification<Product> spec = Specification.where(null);
 
         if (request.getKeyword() != null && !request.getKeyword().trim().isEmpty()) {
@@ -58,9 +178,14 @@ public class ProductService {
                             "%" + request.getKeyword().toLowerCase() + "%"));
         }
 
-        if (request.getCategoryId() != null) {
+        Collection<Long> categoryIds = resolveCategoryIds(request);
+        if (categoryIds != null && categoryIds.size() == 1) {
+            Long categoryId = categoryIds.iterator().next();
             spec = spec.and((root, query, cb) ->
-                    cb.equal(root.get("category").get("id"), request.getCategoryId()));
+                    cb.equal(root.get("category").get("id"), categoryId));
+        } else if (categoryIds != null) {
+            spec = spec.and((root, query, cb) ->
+                    root.get("category").get("id").in(categoryIds));
         }
 
         if (request.getMinPrice() != null) {
@@ -78,14 +203,60 @@ public class ProductService {
                     cb.greaterThan(root.get("stockQuantity"), 0));
         }
 
-        spec = spec.and((root, query, cb) -> cb.equal(root.get("isActive"), true));
+        return spec.and((root, query, cb) -> cb.equal(root.get("isActive"), true));
+    }
 
-        return productRepository.findAll(spec, pageable)
-                .map(this::mapToResponse);
+    /**
+     * The categories a search filters on: none, the requested one, or the
+     * requested one and all its descendants taken from the category tree
+     * snapshot, so a subtree is matched with one IN list.
+     */
+    private Collection<Long> resolveCategoryIds(ProductSearchRequest request) {
+        if (request.getCategoryId() == null) {
+            return null;
+        }
+        if (!Boolean.TRUE.equals(request.getIncludeSubcategories())) {
+            return List.of(request.getCategoryId());
+        }
+        List<Long> subtree = categoryTreeService.current().subtreeIds(request.getCategoryId());
+        return subtree.isEmpty() ? List.of(request.getCategoryId()) : subtree;
+    }
+
+    @Transactional(readOnly = true)
+    public ProductSearchResponse searchProductsWithFacets(ProductSearchRequest request, Pageable pageable) {
+        log.info("Faceted search with criteria: {}", request);
+
+        if (!productSearchService.canServe(pageable)) {
+            log.warn("Search index unavailable for {}, returning results without facets", pageable.getSort());
+            return ProductSearchResponse.builder()
+                    .results(searchProducts(request, pageable))
+                    .build();
+        }
+
+        SearchHits hits = productSearchService.search(request, resolveCategoryIds(request), pageable, true);
+        return ProductSearchResponse.builder()
+                .results(toPage(hits, pageable))
+                .facets(mapToFacets(hits.getFacets()))
+                .build();
+    }
+
+    private Page<ProductResponse> toPage(SearchHits hits, Pageable pageable) {
+        if (hits.getProductIds().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.getTotal());
+        }
+
+        Map<Long, Product> products = productRepository.findByIdIn(hits.getProductIds()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductResponse> content = hits.getProductIds().stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, hits.getTotal());
     }
 
     @Transactional
-    @CacheEvict(value = "products", allEntries = true)
+    @CacheEvict(value = "products", key = "#result.id")
     public ProductResponse createProduct(ProductRequest request) {
         log.info("Creating new product: {}", request.getName());
 
@@ -121,7 +292,9 @@ public class ProductService {
         product = productRepository.save(product);
         log.info("Product created successfully with id: {}", product.getId());
 
-        return mapToResponse(product);
+        ProductResponse response = mapToResponse(product);
+        eventPublisher.publishEvent(ProductChangedEvent.created(response));
+        return response;
     }
 
     @Transactional
@@ -145,14 +318,21 @@ public class ProductService {
         product.setDescription(request.getDescription());
         product.setCategory(category);
         product.setPrice(request.getPrice());
-        product.setStockQuantity(request.getStockQuantity());
+        if (!product.getHotInventory()) {
+            product.setStockQuantity(request.getStockQuantity());
+        } else if (!product.getStockQuantity().equals(request.getStockQuantity())) {
+            log.warn("Ignoring stock change for product {}: stock is held in hot inventory", id);
+        }
         product.setSku(request.getSku());
         product.setImageUrl(request.getImageUrl());
 
-        product = productRepository.save(product);
+        // Flush so the response carries the incremented version
+        product = productRepository.saveAndFlush(product);
         log.info("Product updated successfully with id: {}", product.getId());
 
-        return mapToResponse(product);
+        ProductResponse response = mapToResponse(product);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(response));
+        return response;
     }
 
     @Transactional
@@ -165,48 +345,169 @@ public class ProductService {
 
         product.setIsActive(false);
         productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
         log.info("Product soft deleted successfully with id: {}", id);
     }
 
-    @Transactional
-    @CacheEvict(value = "products", key = "#productId")
+    /**
+     * Reserve stock from the product's hot inventory counter if it has one,
+     * otherwise with a conditional update of the product row.
+     */
     public boolean reserveStock(Long productId, Integer quantity) {
         log.info("Reserving {} units of product {}", quantity, productId);
+        requirePositive(quantity);
+
+        HotInventory.Result hot = hotInventory.reserve(productId, quantity);
+        if (hot == HotInventory.Result.NOT_HOT) {
+            if (productRepository.decrementStock(productId, quantity, LocalDateTime.now()) == 1) {
+                cacheManager.getCache("products").evict(productId);
+                eventPublisher.publishEvent(ProductChangedEvent.stockChanged(productId, -quantity));
+                log.info("Stock reserved successfully for product {}", productId);
+                return true;
+            }
+            // The row may have been switched to hot inventory meanwhile
+            hot = hotInventory.reserveIgnoringHint(productId, quantity);
+            if (hot == HotInventory.Result.NOT_HOT && !productRepository.existsById(productId)) {
+                throw new ResourceNotFoundException("Product not found with id: " + productId);
+            }
+        }
 
-        Product product = productRepository.findByIdWithLock(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
-
-        if (product.getStockQuantity() < quantity) {
-            log.warn("Insufficient stock for product {}. Available: {}, Requested: {}",
-                    productId, product.getStockQuantity(), quantity);
+        if (hot != HotInventory.Result.RESERVED) {
+            log.warn("Insufficient stock for product {}. Requested: {}", productId, quantity);
             return false;
         }
-
-        product.setStockQuantity(product.getStockQuantity() - quantity);
-        productRepository.save(product);
-        log.info("Stock reserved successfully for product {}", productId);
-
+        log.info("Stock reserved from hot inventory for product {}", productId);
         return true;
     }
 
-    @Transactional
-    @CacheEvict(value = "products", key = "#productId")
     public void releaseStock(Long productId, Integer quantity) {
         log.info("Releasing {} units of product {}", quantity, productId);
+        requirePositive(quantity);
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+        if (hotInventory.release(productId, quantity)) {
+            log.info("Stock released to hot inventory for product {}", productId);
+            return;
+        }
+        if (productRepository.incrementStock(productId, quantity, LocalDateTime.now()) == 0) {
+            if (hotInventory.releaseIgnoringHint(productId, quantity)) {
+                log.info("Stock released to hot inventory for product {}", productId);
+                return;
+            }
+            throw new ResourceNotFoundException("Product not found with id: " + productId);
+        }
 
-        product.setStockQuantity(product.getStockQuantity() + quantity);
-        productRepository.save(product);
+        cacheManager.getCache("products").evict(productId);
+        eventPublisher.publishEvent(ProductChangedEvent.stockChanged(productId, quantity));
         log.info("Stock released successfully for product {}", productId);
     }
 
+    private static void requirePositive(Integer quantity) {
+        if (quantity == null || quantity <= 0) {
+            throw new InvalidRequestException("Quantity must be positive");
+        }
+    }
+
+    /**
+     * Load products that are not cached yet into the product cache
+     *
+     * @param ids Product IDs, most important first
+     * @return Number of products loaded from the database
+     */
+    public int preloadProducts(Collection<Long> ids) {
+        Cache cache = cacheManager.getCache("products");
+        List<Long> distinct = ids.stream().distinct().collect(Collectors.toList());
+
+        int loaded = 0;
+        for (int from = 0; from < distinct.size(); from += PRELOAD_BATCH_SIZE) {
+            List<Long> batch = distinct.subList(from, Math.min(from + PRELOAD_BATCH_SIZE, distinct.size()));
+            Map<Object, Object> cached = MultiKeyCaches.getAll(cache, batch);
+            List<Long> missing = batch.stream()
+                    .filter(id -> !cached.containsKey(id))
+                    .collect(Collectors.toList());
+            if (!missing.isEmpty()) {
+                Map<Long, ProductResponse> fromDatabase = loadProducts(missing);
+                MultiKeyCaches.putAll(cache, fromDatabase);
+                loaded += fromDatabase.size();
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Get products through the product cache: the near-cache first, then
+     * one Redis MGET for its misses, then one query for whatever is still
+     * missing, which is written back to both layers in one pipeline.
+     * IDs the query did not find are written back as cached nulls.
+     *
+     * Not read-only, so misses are loaded from the primary: a lagging
+     * replica could put a product back into the cache in the state it had
+     * before an update.
+     *
+     * @param ids Product IDs; duplicates are returned once
+     * @return Found products in the order of the IDs; unknown IDs are skipped
+     */
     public List<ProductResponse> getProductsByIds(List<Long> ids) {
         log.info("Fetching products by ids: {}", ids);
-        return productRepository.findByIdIn(ids).stream()
-                .map(this::mapToResponse)
+        List<Long> distinct = ids.stream().distinct().collect(Collectors.toList());
+        Cache cache = cacheManager.getCache("products");
+
+        Map<Object, Object> cached = MultiKeyCaches.getAll(cache, distinct);
+        List<Long> missing = distinct.stream()
+                .filter(id -> !cached.containsKey(id))
                 .collect(Collectors.toList());
+        Map<Long, ProductResponse> fromDatabase = new HashMap<>();
+        if (!missing.isEmpty()) {
+            fromDatabase.putAll(loadProducts(missing));
+            // Unknown IDs are cached as null so they skip the database next time
+            missing.forEach(id -> fromDatabase.putIfAbsent(id, null));
+            MultiKeyCaches.putAll(cache, fromDatabase);
+        }
+
+        List<ProductResponse> products = new ArrayList<>(distinct.size());
+        for (Long id : distinct) {
+            Object product = cached.containsKey(id) ? cached.get(id) : fromDatabase.get(id);
+            if (product != null) {
+                products.add((ProductResponse) product);
+            }
+        }
+        return products;
+    }
+
+    private Map<Long, ProductResponse> loadProducts(List<Long> ids) {
+        Map<Long, ProductResponse> products = new HashMap<>();
+        for (Product product : productRepository.findByIdIn(ids)) {
+            products.put(product.getId(), mapToResponse(product));
+        }
+        return products;
+    }
+
+    private ProductSearchResponse.Facets mapToFacets(SearchFacets facets) {
+        Map<Long, String> categoryNames = categoryRepository.findAllById(facets.getCategoryCounts().keySet()).stream()
+                .collect(Collectors.toMap(Category::getId, Category::getName));
+
+        List<ProductSearchResponse.CategoryFacet> categories = facets.getCategoryCounts().entrySet().stream()
+                .map(entry -> ProductSearchResponse.CategoryFacet.builder()
+                        .categoryId(entry.getKey())
+                        .categoryName(categoryNames.get(entry.getKey()))
+                        .count(entry.getValue())
+                        .build())
+                .collect(Collectors.toList());
+
+        long[] bounds = ProductSearchIndex.PRICE_BAND_BOUNDS;
+        List<ProductSearchResponse.PriceRangeFacet> priceRanges = new ArrayList<>();
+        for (int band = 0; band < bounds.length; band++) {
+            priceRanges.add(ProductSearchResponse.PriceRangeFacet.builder()
+                    .minPrice(BigDecimal.valueOf(bounds[band], 2))
+                    .maxPrice(band + 1 < bounds.length ? BigDecimal.valueOf(bounds[band + 1], 2) : null)
+                    .count(facets.getPriceBandCounts()[band])
+                    .build());
+        }
+
+        return ProductSearchResponse.Facets.builder()
+                .categories(categories)
+                .priceRanges(priceRanges)
+                .inStock(facets.getInStockCount())
+                .build();
     }
 
     private ProductResponse mapToResponse(Product product) {
@@ -230,6 +531,7 @@ public class ProductService {
                 .images(imageUrls)
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
+                .version(product.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,196 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.datasource.ReplicaRouting;
+import com.ecommerce.product.dto.CategoryResponse;
+import com.ecommerce.product.dto.SuggestionResponse;
+import com.ecommerce.product.event.CatalogBulkChangedEvent;
+import com.ecommerce.product.event.CategoryChangedEvent;
+import com.ecommerce.product.event.ProductChangedEvent;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.search.ProductDocument;
+import com.ecommerce.product.search.ProductSuggester;
+import com.ecommerce.product.search.SuggestionTrie;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Owns the autocomplete index over active product names and category
+ * names, ranked by how often products are read.
+ *
+ * The index is built from the database on startup and patched from
+ * {@link ProductChangedEvent}s after each commit. Patches accumulate in
+ * the {@link ProductSuggester} overlay and are folded into a fresh trie
+ * once there are enough of them, after category changes, and every
+ * rebuild interval so that popularity and changes made on other
+ * instances are picked up.
+ */
+@Service
+@Slf4j
+public class ProductSuggestService {
+
+    private static final int MAX_SUGGESTIONS = 20;
+    // Popularity is only tracked for this many products; the rest rank by name
+    private static final int POPULARITY_LIMIT = 100_000;
+
+    private final ProductRepository productRepository;
+    private final CategoryTreeService categoryTreeService;
+    private final ProductAccessTracker accessTracker;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int rebuildThreshold;
+    private final Duration rebuildInterval;
+
+    private final ProductSuggester suggester = new ProductSuggester();
+    private volatile boolean ready;
+    private volatile boolean categoriesChanged;
+    private volatile long lastBuiltAt;
+
+    public ProductSuggestService(ProductRepository productRepository,
+                                 CategoryTreeService categoryTreeService,
+                                 ProductAccessTracker accessTracker,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${catalog.suggest.rebuild-threshold:1000}") int rebuildThreshold,
+                                 @Value("${catalog.suggest.rebuild-interval:PT15M}") Duration rebuildInterval) {
+        this.productRepository = productRepository;
+        this.categoryTreeService = categoryTreeService;
+        this.accessTracker = accessTracker;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.rebuildThreshold = rebuildThreshold;
+        this.rebuildInterval = rebuildInterval;
+    }
+
+    /**
+     * @return Up to {@code limit} suggestions, most popular first; empty
+     *         until the first build finishes
+     */
+    public List<SuggestionResponse> suggest(String query, int limit) {
+        if (!ready) {
+            return List.of();
+        }
+        return suggester.suggest(query, Math.max(1, Math.min(limit, MAX_SUGGESTIONS))).stream()
+                .map(ProductSuggestService::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED, UPDATED -> {
+                if (Boolean.FALSE.equals(event.getProduct().getIsActive())) {
+                    suggester.remove(event.getProductId());
+                } else {
+                    suggester.upsert(event.getProductId(), event.getProduct().getName());
+                }
+            }
+            case DELETED -> suggester.remove(event.getProductId());
+            case STOCK_CHANGED -> {
+                // Stock does not affect suggestions
+            }
+        }
+    }
+
+    /**
+     * The category tree is rebuilt by its own listener; pick up the new
+     * names on the next refresh rather than racing it.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        categoriesChanged = true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    @EventListener
+    public void onCatalogBulkChanged(CatalogBulkChangedEvent event) {
+        log.info("Rebuilding suggestions after {} changed {} products", event.getSource(), event.getAffectedProducts());
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.suggest.refresh-interval:PT10S}")
+    public void refresh() {
+        if (categoriesChanged
+                || suggester.pendingChanges() >= rebuildThreshold
+                || System.currentTimeMillis() - lastBuiltAt >= rebuildInterval.toMillis()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Build a new trie from the database and swap it in. Changes made
+     * while the table is scanned stay in the overlay, so none are lost.
+     */
+    public synchronized void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        long builtAfter = suggester.currentSequence();
+        categoriesChanged = false;
+        try {
+            Map<Long, Double> popularity = loadPopularity();
+            List<SuggestionTrie.Entry> entries = new ArrayList<>();
+            Map<Long, Double> categoryScores = new HashMap<>();
+
+            // Rebuilds follow writes, so they must not read a lagging replica
+            ReplicaRouting.onPrimary(() -> readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                try (Stream<ProductDocument> documents = productRepository.streamSearchDocuments()) {
+                    documents.forEach(document -> {
+                        double score = popularity.getOrDefault(document.getId(), 0.0);
+                        entries.add(new SuggestionTrie.Entry(SuggestionTrie.Kind.PRODUCT,
+                                document.getId(), document.getName(), score));
+                        if (document.getCategoryId() != null) {
+                            categoryScores.merge(document.getCategoryId(), score, Double::sum);
+                        }
+                    });
+                }
+            }));
+            for (CategoryResponse category : categoryTreeService.current().categories()) {
+                entries.add(new SuggestionTrie.Entry(SuggestionTrie.Kind.CATEGORY, category.getId(),
+                        category.getName(), categoryScores.getOrDefault(category.getId(), 0.0)));
+            }
+
+            SuggestionTrie trie = SuggestionTrie.build(entries, MAX_SUGGESTIONS);
+            suggester.install(trie, popularity, builtAfter);
+            lastBuiltAt = System.currentTimeMillis();
+            ready = true;
+            log.info("Suggestion index rebuilt: {} entries, {} nodes in {} ms",
+                    trie.size(), trie.nodeCount(), lastBuiltAt - startedAt);
+        } catch (Exception e) {
+            log.error("Failed to rebuild suggestion index, keeping the previous one", e);
+        }
+    }
+
+    private Map<Long, Double> loadPopularity() {
+        try {
+            return accessTracker.popularity(POPULARITY_LIMIT);
+        } catch (Exception e) {
+            log.warn("Could not read product popularity, ranking suggestions by name", e);
+            return Map.of();
+        }
+    }
+
+    private static SuggestionResponse toResponse(SuggestionTrie.Entry entry) {
+        boolean product = entry.kind() == SuggestionTrie.Kind.PRODUCT;
+        return SuggestionResponse.builder()
+                .text(entry.text())
+                .type(product ? SuggestionResponse.Type.PRODUCT : SuggestionResponse.Type.CATEGORY)
+                .productId(product ? entry.id() : null)
+                .categoryId(product ? null : entry.id())
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.product.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Hands back the stock of reservations that were never confirmed, e.g.
+ * because the customer abandoned checkout or the payment service failed.
+ *
+ * Expired holds are processed in batches, each in its own transaction, so
+ * a backlog never turns into one long transaction. Several instances may
+ * sweep at once; each line is expired by a conditional update and so
+ * returned only once.
+ */
+@Service
+@Slf4j
+public class ReservationExpirySweeper {
+
+    private final StockReservationService reservationService;
+    private final int batchSize;
+
+    public ReservationExpirySweeper(StockReservationService reservationService,
+                                    @Value("${inventory.holds.sweep-batch-size:500}") int batchSize) {
+        this.reservationService = reservationService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.holds.sweep-interval:PT30S}")
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            int found;
+            do {
+                found = reservationService.expireHolds(now, batchSize);
+            } while (found == batchSize);
+        } catch (Exception e) {
+            log.warn("Failed to sweep expired stock holds, will retry", e);
+        }
+    }
+}
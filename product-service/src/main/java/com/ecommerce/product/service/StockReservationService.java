@@ -0,0 +1,321 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.BatchReservationRequest;
+import com.ecommerce.product.dto.BatchReservationResponse;
+import com.ecommerce.product.dto.BatchReservationResponse.LineResult;
+import com.ecommerce.product.dto.BatchReservationResponse.LineStatus;
+import com.ecommerce.product.entity.ReservationStatus;
+import com.ecommerce.product.entity.StockReservation;
+import com.ecommerce.product.event.ProductChangedEvent;
+import com.ecommerce.product.exception.ReservationConflictException;
+import com.ecommerce.product.exception.ResourceNotFoundException;
+import com.ecommerce.product.inventory.HotInventory;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.repository.StockReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Reserves stock for several products in one transaction.
+ *
+ * Lines are merged per product and processed in ascending product ID
+ * order, so concurrent batches always lock product rows in the same
+ * order and cannot deadlock each other.
+ *
+ * A reservation is a time-bounded hold: stock is taken when it is made
+ * and handed back by the expiry sweeper unless it is confirmed or
+ * released first. The product's stock quantity therefore always is the
+ * stock available to new reservations.
+ */
+@Service
+@Slf4j
+public class StockReservationService {
+
+    private final ProductRepository productRepository;
+    private final StockReservationRepository reservationRepository;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HotInventory hotInventory;
+    private final PlatformTransactionManager transactionManager;
+    private final Duration holdTtl;
+
+    public StockReservationService(ProductRepository productRepository,
+                                   StockReservationRepository reservationRepository,
+                                   CacheManager cacheManager,
+                                   ApplicationEventPublisher eventPublisher,
+                                   HotInventory hotInventory,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${inventory.holds.ttl:PT30M}") Duration holdTtl) {
+        this.productRepository = productRepository;
+        this.reservationRepository = reservationRepository;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.hotInventory = hotInventory;
+        this.transactionManager = transactionManager;
+        this.holdTtl = holdTtl;
+    }
+
+    /**
+     * Reserve every line or none of them
+     *
+     * @param request Lines to reserve; repeated products are merged
+     * @return Per-product results in product ID order, plus a reservation
+     *         token if everything was reserved
+     */
+    @Transactional
+    public BatchReservationResponse reserveBatch(BatchReservationRequest request) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (BatchReservationRequest.Item item : request.getItems()) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        log.info("Reserving stock for {} products in one batch", quantities.size());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<LineResult> lines = new ArrayList<>(quantities.size());
+        boolean allReserved = true;
+        Map<Long, Integer> hotLines = new TreeMap<>();
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            LineStatus status = reserveLine(line.getKey(), line.getValue(), now, hotLines);
+            allReserved &= status == LineStatus.OK;
+            lines.add(LineResult.builder()
+                    .productId(line.getKey())
+                    .quantity(line.getValue())
+                    .status(status)
+                    .build());
+        }
+
+        // Counters are outside the transaction; give their stock back unless it commits
+        returnHotStockUnlessCommitted(hotLines);
+
+        if (!allReserved) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            log.warn("Batch reservation rejected: {}", lines.stream()
+                    .filter(line -> line.getStatus() != LineStatus.OK)
+                    .map(line -> line.getProductId() + "=" + line.getStatus())
+                    .collect(Collectors.joining(", ")));
+            return BatchReservationResponse.builder()
+                    .reserved(false)
+                    .lines(lines)
+                    .build();
+        }
+
+        String token = UUID.randomUUID().toString();
+        LocalDateTime expiresAt = now.plus(holdTtl);
+        reservationRepository.saveAll(lines.stream()
+                .map(line -> StockReservation.builder()
+                        .token(token)
+                        .productId(line.getProductId())
+                        .quantity(line.getQuantity())
+                        .status(ReservationStatus.RESERVED)
+                        .expiresAt(expiresAt)
+                        .build())
+                .collect(Collectors.toList()));
+
+        Cache cache = cacheManager.getCache("products");
+        for (LineResult line : lines) {
+            if (hotLines.containsKey(line.getProductId())) {
+                continue;
+            }
+            cache.evict(line.getProductId());
+            eventPublisher.publishEvent(ProductChangedEvent.stockChanged(line.getProductId(), -line.getQuantity()));
+        }
+
+        log.info("Batch reservation {} holds {} products", token, lines.size());
+        return BatchReservationResponse.builder()
+                .reserved(true)
+                .reservationToken(token)
+                .expiresAt(expiresAt)
+                .lines(lines)
+                .build();
+    }
+
+    /**
+     * Make a reservation permanent, typically once the order is paid.
+     * Confirming an already confirmed reservation is a no-op.
+     *
+     * @param token Token from {@link #reserveBatch}
+     * @return Number of lines confirmed by this call
+     * @throws ReservationConflictException if any line was already released or expired
+     */
+    @Transactional
+    public int confirmReservation(String token) {
+        List<StockReservation> lines = findLines(token);
+
+        LocalDateTime now = LocalDateTime.now();
+        int confirmed = 0;
+        for (StockReservation line : lines) {
+            if (line.getStatus() == ReservationStatus.CONFIRMED) {
+                continue;
+            }
+            if (line.getStatus() != ReservationStatus.RESERVED
+                    || reservationRepository.transition(line.getId(), ReservationStatus.RESERVED, ReservationStatus.CONFIRMED, now) == 0) {
+                // Rolls back the lines confirmed so far
+                throw new ReservationConflictException("Reservation " + token + " has expired or was released");
+            }
+            confirmed++;
+        }
+
+        log.info("Confirmed {} of {} lines for reservation {}", confirmed, lines.size(), token);
+        return confirmed;
+    }
+
+    /**
+     * Return the stock of every line still held under the token, whether
+     * confirmed or not. Releasing the same token twice is a no-op.
+     *
+     * @param token Token from {@link #reserveBatch}
+     * @return Number of lines released by this call
+     */
+    @Transactional
+    public int releaseReservation(String token) {
+        List<StockReservation> lines = findLines(token);
+
+        LocalDateTime now = LocalDateTime.now();
+        Cache cache = cacheManager.getCache("products");
+        int released = 0;
+        for (StockReservation line : lines) {
+            if (line.getStatus().holdsStock()
+                    && reservationRepository.transition(line.getId(), line.getStatus(), ReservationStatus.RELEASED, now) == 1) {
+                returnStock(line.getProductId(), line.getQuantity(), now, cache);
+                released++;
+            }
+        }
+
+        log.info("Released {} of {} lines for reservation {}", released, lines.size(), token);
+        return released;
+    }
+
+    /**
+     * Expire up to {@code limit} unconfirmed lines whose hold ran out and
+     * return their stock.
+     *
+     * @return Number of expired lines found; less than the limit once none are left
+     */
+    @Transactional
+    public int expireHolds(LocalDateTime now, int limit) {
+        List<StockReservation> expired = reservationRepository.findExpired(
+                ReservationStatus.RESERVED, now, PageRequest.of(0, limit));
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        // Same product lock order as reservations
+        expired.sort(Comparator.comparing(StockReservation::getProductId));
+        Cache cache = cacheManager.getCache("products");
+        int returned = 0;
+        for (StockReservation line : expired) {
+            if (reservationRepository.transition(line.getId(), ReservationStatus.RESERVED, ReservationStatus.EXPIRED, now) == 1) {
+                returnStock(line.getProductId(), line.getQuantity(), now, cache);
+                returned++;
+            }
+        }
+
+        log.info("Expired {} stock holds", returned);
+        return expired.size();
+    }
+
+    private List<StockReservation> findLines(String token) {
+        List<StockReservation> lines = reservationRepository.findByTokenOrderByProductIdAsc(token);
+        if (lines.isEmpty()) {
+            throw new ResourceNotFoundException("Reservation not found with token: " + token);
+        }
+        return lines;
+    }
+
+    private void returnStock(Long productId, int quantity, LocalDateTime now, Cache cache) {
+        if (hotInventory.isHot(productId) || !releaseStoredStock(productId, quantity, now, cache)) {
+            releaseHotStockAfterCommit(productId, quantity);
+        }
+    }
+
+    private LineStatus reserveLine(Long productId, int quantity, LocalDateTime now, Map<Long, Integer> hotLines) {
+        HotInventory.Result hot = hotInventory.reserve(productId, quantity);
+        if (hot == HotInventory.Result.NOT_HOT) {
+            if (productRepository.decrementStock(productId, quantity, now) == 1) {
+                return LineStatus.OK;
+            }
+            // The row may have been switched to hot inventory meanwhile
+            hot = hotInventory.reserveIgnoringHint(productId, quantity);
+            if (hot == HotInventory.Result.NOT_HOT) {
+                return productRepository.existsById(productId) ? LineStatus.INSUFFICIENT_STOCK : LineStatus.NOT_FOUND;
+            }
+        }
+        if (hot != HotInventory.Result.RESERVED) {
+            return LineStatus.INSUFFICIENT_STOCK;
+        }
+        hotLines.put(productId, quantity);
+        return LineStatus.OK;
+    }
+
+    private void returnHotStockUnlessCommitted(Map<Long, Integer> hotLines) {
+        if (hotLines.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    hotLines.forEach(hotInventory::releaseIgnoringHint);
+                }
+            }
+        });
+    }
+
+    /**
+     * Counter changes cannot be rolled back, so hot stock is only returned
+     * once the line is known to be settled. If the counter is gone by then
+     * the stock goes back to the product row in a new transaction.
+     */
+    private void releaseHotStockAfterCommit(Long productId, int quantity) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (hotInventory.releaseIgnoringHint(productId, quantity)) {
+                    return;
+                }
+                TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+                transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+                Boolean stored = transactionTemplate.execute(status ->
+                        releaseStoredStock(productId, quantity, LocalDateTime.now(), cacheManager.getCache("products")));
+                if (!Boolean.TRUE.equals(stored)) {
+                    log.error("Could not return {} units of product {}: neither hot inventory nor the product row accepted them",
+                            quantity, productId);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return false if the product row refused the change because it is in hot inventory
+     */
+    private boolean releaseStoredStock(Long productId, int quantity, LocalDateTime now, Cache cache) {
+        if (productRepository.incrementStock(productId, quantity, now) == 0) {
+            return false;
+        }
+        cache.evict(productId);
+        eventPublisher.publishEvent(ProductChangedEvent.stockChanged(productId, quantity));
+        return true;
+    }
+}
@@ -0,0 +1,197 @@
+package com.ecommerce.product.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    private com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private ConcurrentMapCache remote;
+    private SimpleMeterRegistry meterRegistry;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        local = Caffeine.newBuilder().maximumSize(100).build();
+        remote = new ConcurrentMapCache("products");
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TwoLevelCache("products", local, remote, invalidationBus, meterRegistry);
+    }
+
+    @Test
+    void get_RemoteHitIsCopiedToLocal() {
+        remote.put(1L, "product-1");
+
+        assertEquals("product-1", cache.get(1L).get());
+        assertEquals("product-1", local.getIfPresent("1"));
+
+        remote.evict(1L);
+        assertEquals("product-1", cache.get(1L).get());
+        assertEquals(1.0, requests("local", "hit"));
+        assertEquals(1.0, requests("remote", "hit"));
+    }
+
+    @Test
+    void get_WithLoader_LoadsOnceAndFillsBothLayers() {
+        assertEquals("loaded", cache.get(2L, () -> "loaded"));
+        assertEquals("loaded", cache.get(2L, () -> "reloaded"));
+
+        assertEquals("loaded", remote.get(2L).get());
+        assertEquals("loaded", local.getIfPresent("2"));
+        assertEquals(1.0, requests("remote", "miss"));
+    }
+
+    @Test
+    void get_WithLoader_ConcurrentMissesShareOneLoad() throws Exception {
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> cache.get(8L, () -> {
+                    loads.incrementAndGet();
+                    release.await();
+                    return "loaded";
+                })));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (loadCount("coalesced") < callers - 1 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("loaded", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(callers - 1, loadCount("coalesced"));
+    }
+
+    @Test
+    void get_WithLoader_CachesNullResult() {
+        assertNull(cache.get(9L, () -> null));
+        assertNull(cache.get(9L, () -> {
+            throw new IllegalStateException("should not reload");
+        }));
+
+        assertNotNull(remote.get(9L));
+        assertNull(remote.get(9L).get());
+        assertEquals(1.0, requests("remote", "miss"));
+    }
+
+    @Test
+    void get_WithLoader_RefreshesBeforeExpiry() {
+        // A 5ms load against a 1s TTL with a very large beta is always
+        // close enough to expiry to refresh
+        cache = new TwoLevelCache("products", local, remote, invalidationBus, meterRegistry,
+                Duration.ofSeconds(1), Duration.ofSeconds(1), 1e9);
+        cache.get(10L, () -> {
+            Thread.sleep(5);
+            return "v1";
+        });
+
+        assertEquals("v2", cache.get(10L, () -> "v2"));
+        assertEquals("v2", remote.get(10L).get());
+        assertEquals(1.0, loadCount("early-refresh"));
+    }
+
+    @Test
+    void getAll_ReturnsCachedNulls() {
+        cache.put(11L, null);
+
+        Map<Object, Object> found = cache.getAll(List.of(11L, 12L));
+
+        assertTrue(found.containsKey(11L));
+        assertNull(found.get(11L));
+        assertFalse(found.containsKey(12L));
+    }
+
+    @Test
+    void evict_ClearsBothLayersAndBroadcasts() {
+        cache.put(3L, "product-3");
+
+        cache.evict(3L);
+
+        assertNull(remote.get(3L));
+        assertNull(local.getIfPresent("3"));
+        verify(invalidationBus).publish("products", "3");
+    }
+
+    @Test
+    void evictLocal_KeepsRemoteEntry() {
+        cache.put(4L, "product-4");
+
+        cache.evictLocal("4");
+
+        assertNull(local.getIfPresent("4"));
+        assertEquals("product-4", remote.get(4L).get());
+        verify(invalidationBus, never()).publish(anyString(), anyString());
+    }
+
+    @Test
+    void getAll_ReadsLocalFirstAndCopiesRemoteHits() {
+        cache.put(1L, "product-1");
+        remote.put(2L, "product-2");
+
+        Map<Object, Object> found = cache.getAll(List.of(1L, 2L, 3L));
+
+        assertEquals(Map.of(1L, "product-1", 2L, "product-2"), found);
+        assertEquals("product-2", local.getIfPresent("2"));
+        assertEquals(1.0, requests("local", "hit"));
+        assertEquals(2.0, requests("local", "miss"));
+        assertEquals(1.0, requests("remote", "hit"));
+        assertEquals(1.0, requests("remote", "miss"));
+    }
+
+    @Test
+    void putAll_FillsBothLayers() {
+        cache.putAll(Map.of(5L, "product-5", 6L, "product-6"));
+
+        assertEquals("product-5", remote.get(5L).get());
+        assertEquals("product-6", local.getIfPresent("6"));
+    }
+
+    private double loadCount(String type) {
+        return meterRegistry.get("cache.layer.loads")
+                .tag("type", type)
+                .counter()
+                .count();
+    }
+
+    private double requests(String layer, String result) {
+        return meterRegistry.get("cache.layer.requests")
+                .tag("layer", layer)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
@@ -0,0 +1,126 @@
+package com.ecommerce.product.cache;
+
+import com.ecommerce.product.dto.ProductResponse;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionedSmileRedisSerializerTest {
+
+    private final VersionedSmileRedisSerializer<ProductResponse> serializer =
+            new VersionedSmileRedisSerializer<>(ProductResponse.class);
+
+    @Test
+    void serialize_RoundTripsProduct() {
+        ProductResponse product = product(1L);
+
+        byte[] bytes = serializer.serialize(product);
+
+        assertEquals(VersionedSmileRedisSerializer.FORMAT_VERSION, bytes[0]);
+        assertEquals(product, serializer.deserialize(bytes));
+    }
+
+    @Test
+    void serialize_IsSmallerThanJson() {
+        ProductResponse product = product(1L);
+
+        byte[] smile = serializer.serialize(product);
+        byte[] json = jsonSerializer().serialize(product);
+
+        assertTrue(smile.length < json.length, () -> smile.length + " bytes vs " + json.length + " bytes of JSON");
+    }
+
+    @Test
+    void deserialize_UnknownFormatVersionIsMiss() {
+        byte[] bytes = serializer.serialize(product(1L));
+        bytes[0] = VersionedSmileRedisSerializer.FORMAT_VERSION + 1;
+
+        assertNull(serializer.deserialize(bytes));
+    }
+
+    @Test
+    void deserialize_EmptyIsNull() {
+        assertNull(serializer.deserialize(null));
+        assertNull(serializer.deserialize(new byte[0]));
+    }
+
+    /**
+     * Compares size and encode/decode time with the JSON serializer used
+     * before. Run with -Dbenchmark=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmark_AgainstJson() {
+        GenericJackson2JsonRedisSerializer json = jsonSerializer();
+        ProductResponse product = product(42L);
+        int rounds = 200_000;
+
+        for (int i = 0; i < rounds; i++) {
+            json.deserialize(json.serialize(product));
+            serializer.deserialize(serializer.serialize(product));
+        }
+
+        long start = System.nanoTime();
+        byte[] jsonBytes = null;
+        for (int i = 0; i < rounds; i++) {
+            jsonBytes = json.serialize(product);
+        }
+        long jsonEncode = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            json.deserialize(jsonBytes);
+        }
+        long jsonDecode = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        byte[] smileBytes = null;
+        for (int i = 0; i < rounds; i++) {
+            smileBytes = serializer.serialize(product);
+        }
+        long smileEncode = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            serializer.deserialize(smileBytes);
+        }
+        long smileDecode = System.nanoTime() - start;
+
+        System.out.printf("json  %4d bytes encode=%d ns decode=%d ns%n",
+                jsonBytes.length, jsonEncode / rounds, jsonDecode / rounds);
+        System.out.printf("smile %4d bytes encode=%d ns decode=%d ns%n",
+                smileBytes.length, smileEncode / rounds, smileDecode / rounds);
+        assertEquals(product, serializer.deserialize(smileBytes));
+    }
+
+    private static GenericJackson2JsonRedisSerializer jsonSerializer() {
+        return new GenericJackson2JsonRedisSerializer()
+                .configure(mapper -> mapper.registerModule(new JavaTimeModule()));
+    }
+
+    private static ProductResponse product(Long id) {
+        LocalDateTime created = LocalDateTime.of(2024, 3, 1, 12, 30, 15);
+        return ProductResponse.builder()
+                .id(id)
+                .name("Wireless Noise Cancelling Headphones")
+                .description("Over-ear headphones with 30 hours of battery life and active noise cancellation")
+                .categoryId(7L)
+                .categoryName("Audio")
+                .price(new BigDecimal("249.99"))
+                .stockQuantity(120)
+                .sku("AUD-HP-" + id)
+                .imageUrl("https://cdn.example.com/products/" + id + "/front.jpg")
+                .isActive(true)
+                .images(List.of(
+                        "https://cdn.example.com/products/" + id + "/front.jpg",
+                        "https://cdn.example.com/products/" + id + "/side.jpg"))
+                .createdAt(created)
+                .updatedAt(created.plusDays(3))
+                .build();
+    }
+}
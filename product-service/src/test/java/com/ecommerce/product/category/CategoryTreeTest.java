@@ -0,0 +1,58 @@
+package com.ecommerce.product.category;
+
+import com.ecommerce.product.dto.CategoryResponse;
+import com.ecommerce.product.dto.CategoryTreeResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CategoryTreeTest {
+
+    @Test
+    void of_NestsChildrenAndPrecomputesSubtrees() {
+        CategoryTree tree = CategoryTree.of(List.of(
+                category(1L, "Electronics", null),
+                category(2L, "Phones", 1L),
+                category(3L, "Laptops", 1L),
+                category(4L, "Android", 2L),
+                category(5L, "Books", null)));
+
+        assertEquals(List.of("Books", "Electronics"), tree.roots().stream().map(CategoryTreeResponse::getName).toList());
+        CategoryTreeResponse electronics = tree.roots().get(1);
+        assertEquals(List.of("Laptops", "Phones"), electronics.getChildren().stream().map(CategoryTreeResponse::getName).toList());
+        assertEquals(2, electronics.getChildren().get(1).getChildren().get(0).getDepth());
+
+        assertEquals(List.of(1L, 3L, 2L, 4L), tree.subtreeIds(1L));
+        assertEquals(List.of(2L, 4L), tree.subtreeIds(2L));
+        assertEquals(List.of(5L), tree.subtreeIds(5L));
+        assertEquals(List.of(), tree.subtreeIds(42L));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), tree.categories().stream().map(CategoryResponse::getId).toList());
+    }
+
+    @Test
+    void of_CycleOrDanglingParent_KeepsEveryCategoryReachable() {
+        CategoryTree tree = CategoryTree.of(List.of(
+                category(1L, "A", 2L),
+                category(2L, "B", 1L),
+                category(3L, "C", 99L)));
+
+        assertEquals(3, tree.size());
+        assertEquals(2, tree.roots().size());
+        assertEquals(List.of(3L), tree.subtreeIds(3L));
+        assertEquals(List.of(1L, 2L), tree.subtreeIds(1L));
+    }
+
+    @Test
+    void roots_CannotBeModified() {
+        CategoryTree tree = CategoryTree.of(List.of(category(1L, "Electronics", null)));
+
+        assertThrows(UnsupportedOperationException.class, () -> tree.roots().clear());
+        assertThrows(UnsupportedOperationException.class, () -> tree.subtreeIds(1L).clear());
+    }
+
+    private static CategoryResponse category(Long id, String name, Long parentId) {
+        return CategoryResponse.builder().id(id).name(name).parentCategoryId(parentId).build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.product.controller;
+
+import com.ecommerce.product.dto.ProductResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductETagsTest {
+
+    @Test
+    void of_ChangesWithVersionAndCategoryNameOnly() {
+        String tag = ProductETags.of(product(1L, 3L, "Laptops"));
+
+        assertTrue(tag.startsWith("\"") && tag.endsWith("\""));
+        ProductResponse sameVersion = product(1L, 3L, "Laptops");
+        sameVersion.setName("Ignored, the version did not change");
+        assertEquals(tag, ProductETags.of(sameVersion));
+        assertNotEquals(tag, ProductETags.of(product(1L, 4L, "Laptops")));
+        assertNotEquals(tag, ProductETags.of(product(1L, 3L, "Notebooks")));
+        assertNotEquals(tag, ProductETags.of(product(2L, 3L, "Laptops")));
+    }
+
+    @Test
+    void ofPage_ChangesWithContentOrderAndPosition() {
+        List<ProductResponse> products = List.of(product(1L, 0L, "A"), product(2L, 5L, "A"));
+        String tag = ProductETags.ofPage(new PageImpl<>(products, PageRequest.of(0, 2), 10));
+
+        assertEquals(tag, ProductETags.ofPage(new PageImpl<>(
+                List.of(product(1L, 0L, "A"), product(2L, 5L, "A")), PageRequest.of(0, 2), 10)));
+        assertNotEquals(tag, ProductETags.ofPage(new PageImpl<>(
+                List.of(product(2L, 5L, "A"), product(1L, 0L, "A")), PageRequest.of(0, 2), 10)));
+        assertNotEquals(tag, ProductETags.ofPage(new PageImpl<>(
+                List.of(product(1L, 0L, "A"), product(2L, 6L, "A")), PageRequest.of(0, 2), 10)));
+        assertNotEquals(tag, ProductETags.ofPage(new PageImpl<>(products, PageRequest.of(0, 2), 11)));
+    }
+
+    private static ProductResponse product(Long id, Long version, String categoryName) {
+        return ProductResponse.builder()
+                .id(id)
+                .name("Product " + id)
+                .categoryName(categoryName)
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.ecommerce.product.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, Duration.ofMinutes(1)));
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        jdbcTemplate = new JdbcTemplate(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRouting.clear();
+    }
+
+    @Test
+    void readOnlyTransaction_UsesReplica() {
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readWriteTransactionAndNoTransaction_UsePrimary() {
+        assertEquals("primary", readWrite.execute(status -> currentDatabase()));
+        ReplicaRouting.clear();
+
+        assertEquals("primary", currentDatabase());
+    }
+
+    @Test
+    void readOnlyTransaction_AfterWrite_UsesPrimary() {
+        readWrite.executeWithoutResult(status ->
+                jdbcTemplate.update("UPDATE marker SET writes = writes + 1"));
+
+        assertEquals("primary", readOnly.execute(status -> currentDatabase()));
+        assertEquals(1, readOnly.execute(status ->
+                jdbcTemplate.queryForObject("SELECT writes FROM marker", Integer.class)));
+    }
+
+    @Test
+    void readOnlyTransaction_AfterRollback_UsesReplica() {
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE marker SET writes = writes + 1");
+            status.setRollbackOnly();
+        });
+
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void onPrimary_PinsReadOnlyTransactions() {
+        assertEquals("primary", ReplicaRouting.onPrimary(() -> readOnly.execute(status -> currentDatabase())));
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void restore_KeepsClientOnPrimaryUntilExpiry() {
+        ReplicaRouting.restore(System.currentTimeMillis() + 60_000);
+        assertEquals("primary", readOnly.execute(status -> currentDatabase()));
+
+        ReplicaRouting.clear();
+        ReplicaRouting.restore(System.currentTimeMillis() - 1);
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS marker");
+        jdbcTemplate.execute("CREATE TABLE marker (name VARCHAR(20), writes INT)");
+        jdbcTemplate.update("INSERT INTO marker VALUES (?, 0)", name);
+        return dataSource;
+    }
+}
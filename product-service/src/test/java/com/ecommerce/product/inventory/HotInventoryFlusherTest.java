@@ -0,0 +1,117 @@
+package com.ecommerce.product.inventory;
+
+import com.ecommerce.product.entity.Category;
+import com.ecommerce.product.entity.InventoryFlush;
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.InventoryFlushRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({HotInventoryFlusher.class, ConcurrentMapCacheManager.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class HotInventoryFlusherTest {
+
+    @MockBean
+    private HotInventory hotInventory;
+
+    @Autowired
+    private HotInventoryFlusher flusher;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private InventoryFlushRepository flushRepository;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(Category.builder().name("Flash Sale").build());
+        productId = productRepository.save(Product.builder()
+                .name("Limited Sneaker")
+                .category(category)
+                .price(new BigDecimal("199.00"))
+                .stockQuantity(500)
+                .isActive(true)
+                .hotInventory(true)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        flushRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void flush_AppliesNetDeltaAndCompletesBatch() {
+        when(hotInventory.beginFlush(anyString()))
+                .thenReturn(new HotInventory.FlushBatch("batch-1", Map.of(productId, -120)))
+                .thenReturn(null);
+
+        assertEquals(1, flusher.flush());
+
+        assertEquals(380, stock());
+        assertTrue(flushRepository.existsById("batch-1"));
+        verify(hotInventory).completeFlush("batch-1");
+    }
+
+    @Test
+    void flush_BatchAlreadyApplied_IsNotAppliedTwice() {
+        // The previous run committed but died before deleting the batch from Redis
+        Product product = productRepository.findById(productId).orElseThrow();
+        product.setStockQuantity(380);
+        productRepository.save(product);
+        flushRepository.save(InventoryFlush.builder()
+                .batchId("batch-1")
+                .productCount(1)
+                .appliedAt(LocalDateTime.now())
+                .build());
+        when(hotInventory.beginFlush(anyString()))
+                .thenReturn(new HotInventory.FlushBatch("batch-1", Map.of(productId, -120)))
+                .thenReturn(null);
+
+        flusher.flush();
+
+        assertEquals(380, stock());
+        verify(hotInventory).completeFlush("batch-1");
+    }
+
+    @Test
+    void hotProduct_RefusesDirectStockChanges() {
+        assertEquals(0, productRepository.decrementStock(productId, 1, LocalDateTime.now()));
+        assertEquals(0, productRepository.incrementStock(productId, 1, LocalDateTime.now()));
+        assertEquals(500, stock());
+    }
+
+    private int stock() {
+        return productRepository.findById(productId).orElseThrow().getStockQuantity();
+    }
+}
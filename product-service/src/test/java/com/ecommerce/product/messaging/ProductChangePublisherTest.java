@@ -0,0 +1,114 @@
+package com.ecommerce.product.messaging;
+
+import com.ecommerce.product.config.RabbitMQConfig;
+import com.ecommerce.product.event.ProductChangedEvent;
+import com.ecommerce.product.event.ProductChangedMessage;
+import com.ecommerce.product.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.net.ConnectException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductChangePublisherTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductChangePublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new ProductChangePublisher(productRepository, rabbitTemplate, transactionManager,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void publishPending_CoalescesChangesPerProduct() {
+        ProductChangedMessage product1 = message(1L, 7);
+        when(productRepository.findChangedMessagesByIdIn(List.of(1L))).thenReturn(List.of(product1));
+
+        publisher.onProductChanged(ProductChangedEvent.stockChanged(1L, -1));
+        publisher.onProductChanged(ProductChangedEvent.stockChanged(1L, -2));
+        publisher.onProductChanged(ProductChangedEvent.stockChanged(2L, 1));
+        publisher.onProductChanged(ProductChangedEvent.deleted(2L));
+        publisher.publishPending();
+
+        verify(rabbitTemplate).convertAndSend(RabbitMQConfig.PRODUCT_EXCHANGE,
+                RabbitMQConfig.PRODUCT_CHANGED_ROUTING_KEY, product1);
+        verify(rabbitTemplate).convertAndSend(eq(RabbitMQConfig.PRODUCT_EXCHANGE),
+                eq(RabbitMQConfig.PRODUCT_DELETED_ROUTING_KEY),
+                argThat((Object sent) -> sent instanceof ProductChangedMessage message
+                        && message.getProductId() == 2L && message.getDeleted()));
+        verifyNoMoreInteractions(rabbitTemplate);
+
+        publisher.publishPending();
+        verifyNoMoreInteractions(rabbitTemplate);
+    }
+
+    @Test
+    void publishPending_ChangedThenRemovedIsPublishedAsDeleted() {
+        when(productRepository.findChangedMessagesByIdIn(List.of(3L))).thenReturn(List.of());
+
+        publisher.onProductChanged(ProductChangedEvent.stockChanged(3L, -1));
+        publisher.publishPending();
+
+        verify(rabbitTemplate).convertAndSend(eq(RabbitMQConfig.PRODUCT_EXCHANGE),
+                eq(RabbitMQConfig.PRODUCT_DELETED_ROUTING_KEY), any(ProductChangedMessage.class));
+    }
+
+    @Test
+    void publishPending_BrokerDown_RetriesInNextWindow() {
+        ProductChangedMessage product4 = message(4L, 3);
+        when(productRepository.findChangedMessagesByIdIn(List.of(4L))).thenReturn(List.of(product4));
+        doThrow(new AmqpConnectException(new ConnectException("refused")))
+                .doNothing()
+                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class));
+
+        publisher.onProductChanged(ProductChangedEvent.stockChanged(4L, -1));
+        publisher.publishPending();
+        publisher.publishPending();
+
+        verify(rabbitTemplate, times(2)).convertAndSend(RabbitMQConfig.PRODUCT_EXCHANGE,
+                RabbitMQConfig.PRODUCT_CHANGED_ROUTING_KEY, product4);
+    }
+
+    @Test
+    void publishPending_NothingPending_DoesNothing() {
+        publisher.publishPending();
+
+        verifyNoInteractions(productRepository, rabbitTemplate);
+    }
+
+    private static ProductChangedMessage message(Long productId, int stock) {
+        return ProductChangedMessage.builder()
+                .productId(productId)
+                .name("Product " + productId)
+                .price(new BigDecimal("19.99"))
+                .stockQuantity(stock)
+                .active(true)
+                .version(5L)
+                .deleted(false)
+                .changedAt(LocalDateTime.now())
+                .build();
+    }
+}
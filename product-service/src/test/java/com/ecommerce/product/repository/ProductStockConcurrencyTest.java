@@ -0,0 +1,141 @@
+package com.ecommerce.product.repository;
+
+import com.ecommerce.product.entity.Category;
+import com.ecommerce.product.entity.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductStockConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        Category category = categoryRepository.save(Category.builder().name("Flash Sale").build());
+        productId = productRepository.save(Product.builder()
+                .name("Limited Sneaker")
+                .category(category)
+                .price(new BigDecimal("199.00"))
+                .stockQuantity(50)
+                .isActive(true)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void decrementStock_ConcurrentReservations_NeverOversell() throws Exception {
+        AtomicInteger reserved = new AtomicInteger();
+        runConcurrently(200, () -> {
+            int updated = transactionTemplate.execute(status ->
+                    productRepository.decrementStock(productId, 1, LocalDateTime.now()));
+            reserved.addAndGet(updated);
+        });
+
+        assertEquals(50, reserved.get());
+        assertEquals(0, productRepository.findById(productId).orElseThrow().getStockQuantity());
+    }
+
+    @Test
+    void decrementStock_InsufficientStock_LeavesStockUntouched() {
+        int updated = transactionTemplate.execute(status ->
+                productRepository.decrementStock(productId, 51, LocalDateTime.now()));
+
+        assertEquals(0, updated);
+        assertEquals(50, productRepository.findById(productId).orElseThrow().getStockQuantity());
+    }
+
+    @Test
+    void incrementAndDecrement_Concurrently_LoseNoUpdates() throws Exception {
+        AtomicInteger taken = new AtomicInteger();
+        runConcurrently(400, new Runnable() {
+            private final AtomicInteger calls = new AtomicInteger();
+
+            @Override
+            public void run() {
+                if (calls.incrementAndGet() % 2 == 0) {
+                    transactionTemplate.executeWithoutResult(status ->
+                            productRepository.incrementStock(productId, 2, LocalDateTime.now()));
+                } else {
+                    int updated = transactionTemplate.execute(status ->
+                            productRepository.decrementStock(productId, 3, LocalDateTime.now()));
+                    taken.addAndGet(updated * 3);
+                }
+            }
+        });
+
+        Product product = productRepository.findById(productId).orElseThrow();
+        assertEquals(50 + 200 * 2 - taken.get(), product.getStockQuantity());
+        assertTrue(product.getStockQuantity() >= 0);
+    }
+
+    @Test
+    void updates_UnknownProduct_AffectNoRows() {
+        assertEquals(0, (int) transactionTemplate.execute(status ->
+                productRepository.decrementStock(-1L, 1, LocalDateTime.now())));
+        assertEquals(0, (int) transactionTemplate.execute(status ->
+                productRepository.incrementStock(-1L, 1, LocalDateTime.now())));
+    }
+
+    private void runConcurrently(int tasks, Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.ecommerce.product.search;
+
+import com.ecommerce.product.dto.ProductSearchRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.index(document(1L, "Wireless Mouse", "A comfortable mouse", "WM-001", 10L, "25.00", 5));
+        index.index(document(2L, "Keyboard", "Works with any wireless mouse", "KB-002", 10L, "45.50", 0));
+        index.index(document(3L, "Café Crème Mug", "Ceramic", "MUG-3", 20L, "9.99", 3));
+    }
+
+    @Test
+    void search_MatchesAllTermsAndRanksNameAboveDescription() {
+        SearchHits hits = index.search(keyword("wireless MOUSE"), PageRequest.of(0, 10), false);
+
+        assertEquals(2, hits.getTotal());
+        assertEquals(List.of(1L, 2L), hits.getProductIds());
+    }
+
+    @Test
+    void search_FoldsAccentsAndMatchesSkuTokens() {
+        assertEquals(List.of(3L), index.search(keyword("cafe creme"), PageRequest.of(0, 10), false).getProductIds());
+        assertEquals(List.of(1L), index.search(keyword("wm"), PageRequest.of(0, 10), false).getProductIds());
+    }
+
+    @Test
+    void search_AppliesFiltersAndSort() {
+        ProductSearchRequest request = keyword("mouse");
+        request.setInStock(true);
+        assertEquals(List.of(1L), index.search(request, PageRequest.of(0, 10), false).getProductIds());
+
+        request.setInStock(null);
+        request.setMinPrice(new BigDecimal("30"));
+        assertEquals(List.of(2L), index.search(request, PageRequest.of(0, 10), false).getProductIds());
+
+        request.setMinPrice(null);
+        SearchHits byPrice = index.search(request, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "price")), false);
+        assertEquals(List.of(2L, 1L), byPrice.getProductIds());
+    }
+
+    @Test
+    void search_WithCategorySet_MatchesAnyOfTheCategories() {
+        ProductSearchRequest request = new ProductSearchRequest();
+
+        assertEquals(List.of(1L, 2L, 3L), index.search(request, List.of(10L, 20L, 99L),
+                PageRequest.of(0, 10, Sort.by("id")), false).getProductIds());
+        assertEquals(List.of(3L), index.search(request, List.of(20L),
+                PageRequest.of(0, 10, Sort.by("id")), false).getProductIds());
+    }
+
+    @Test
+    void updatesAndRemovals_AreVisibleToSearch() {
+        index.index(document(1L, "Wired Mouse", "A comfortable mouse", "WM-001", 10L, "25.00", 5));
+        assertEquals(List.of(2L), index.search(keyword("wireless"), PageRequest.of(0, 10), false).getProductIds());
+
+        index.remove(2L);
+        assertEquals(0, index.search(keyword("wireless"), PageRequest.of(0, 10), false).getTotal());
+
+        ProductSearchRequest inStock = keyword("mug");
+        inStock.setInStock(true);
+        index.adjustStock(3L, -3);
+        assertEquals(0, index.search(inStock, PageRequest.of(0, 10), false).getTotal());
+    }
+
+    @Test
+    void compaction_KeepsResultsConsistent() {
+        for (long id = 100; id < 5100; id++) {
+            index.index(document(id, "Blue Shirt " + id, "Cotton", "SH-" + id, 30L, "19.99", 1));
+        }
+        for (long id = 100; id < 5100; id += 2) {
+            index.remove(id);
+        }
+
+        SearchHits hits = index.search(keyword("blue shirt"), PageRequest.of(0, 10, Sort.by("id")), false);
+        assertEquals(2500, hits.getTotal());
+        assertEquals(List.of(101L, 103L, 105L, 107L, 109L, 111L, 113L, 115L, 117L, 119L), hits.getProductIds());
+        assertEquals(2503, index.size());
+    }
+
+    @Test
+    void facets_CountEachFacetWithoutItsOwnFilter() {
+        ProductSearchRequest request = ProductSearchRequest.builder()
+                .categoryId(10L)
+                .inStock(true)
+                .build();
+
+        SearchHits hits = index.search(request, PageRequest.of(0, 10), true);
+        SearchFacets facets = hits.getFacets();
+
+        assertEquals(List.of(1L), hits.getProductIds());
+        assertEquals(1L, facets.getCategoryCounts().get(10L));
+        assertEquals(1L, facets.getCategoryCounts().get(20L));
+        assertEquals(1, facets.getPriceBandCounts()[1]);
+        assertEquals(0, facets.getPriceBandCounts()[0]);
+        assertEquals(1, facets.getInStockCount());
+    }
+
+    @Test
+    void filtersWithoutKeyword_ReturnProductsInIdOrder() {
+        ProductSearchRequest request = ProductSearchRequest.builder()
+                .minPrice(new BigDecimal("9.99"))
+                .maxPrice(new BigDecimal("25"))
+                .build();
+
+        SearchHits hits = index.search(request, PageRequest.of(0, 10), false);
+
+        assertEquals(List.of(1L, 3L), hits.getProductIds());
+        assertNull(hits.getFacets());
+    }
+
+    /**
+     * Latency benchmark at catalog scale. Run with -Dbenchmark=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmark_MillionProducts() {
+        String[] words = {"red", "blue", "green", "black", "shirt", "shoe", "phone", "case", "lamp", "desk",
+                "chair", "cable", "charger", "wireless", "cotton", "leather", "steel", "mini", "pro", "max"};
+        Random random = new Random(42);
+        ProductSearchIndex large = new ProductSearchIndex();
+
+        long buildStart = System.nanoTime();
+        for (long id = 1; id <= 1_000_000; id++) {
+            String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)]
+                    + " " + words[random.nextInt(words.length)];
+            String description = "Item " + id + " made of " + words[random.nextInt(words.length)];
+            large.index(document(id, name, description, "SKU-" + id, (long) random.nextInt(100),
+                    BigDecimal.valueOf(random.nextInt(100_000), 2).toPlainString(), random.nextInt(5)));
+        }
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+
+        ProductSearchRequest request = keyword("wireless charger");
+        request.setInStock(true);
+        long[] latencies = new long[2000];
+        for (int i = 0; i < latencies.length; i++) {
+            long start = System.nanoTime();
+            large.search(request, PageRequest.of(i % 5, 20), true);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("Indexed %d products in %d ms, %d KB of postings%n",
+                large.size(), buildMillis, large.postingBytes() / 1024);
+        System.out.printf("Search latency p50=%d us p99=%d us%n",
+                latencies[latencies.length / 2] / 1000, latencies[latencies.length * 99 / 100] / 1000);
+        assertEquals(1_000_000, large.size());
+    }
+
+    private static ProductSearchRequest keyword(String keyword) {
+        return ProductSearchRequest.builder().keyword(keyword).build();
+    }
+
+    private static ProductDocument document(Long id, String name, String description, String sku,
+                                            Long categoryId, String price, int stock) {
+        return ProductDocument.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .sku(sku)
+                .categoryId(categoryId)
+                .price(new BigDecimal(price))
+                .stockQuantity(stock)
+                .build();
+    }
+}
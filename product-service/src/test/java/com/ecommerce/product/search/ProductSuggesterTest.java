@@ -0,0 +1,62 @@
+package com.ecommerce.product.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSuggesterTest {
+
+    private ProductSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        suggester = new ProductSuggester();
+        suggester.install(SuggestionTrie.build(List.of(
+                product(1L, "Wireless Mouse", 5),
+                product(2L, "Wireless Headphones", 9)), 10), Map.of(1L, 5.0, 2L, 9.0, 3L, 7.0), 0);
+    }
+
+    @Test
+    void suggest_NormalizesQueryAndLimits() {
+        assertEquals(List.of(2L, 1L), ids(suggester.suggest("  WIRE", 5)));
+        assertEquals(List.of(2L), ids(suggester.suggest("wire", 1)));
+        assertTrue(suggester.suggest("!!", 5).isEmpty());
+    }
+
+    @Test
+    void suggest_AppliesChangesSinceBuild() {
+        suggester.upsert(3L, "Wireless Charger");
+        suggester.upsert(1L, "Gaming Mouse");
+        suggester.remove(2L);
+
+        assertEquals(List.of(3L), ids(suggester.suggest("wireless", 5)));
+        assertEquals(List.of(1L), ids(suggester.suggest("mouse", 5)));
+        assertEquals(3, suggester.pendingChanges());
+    }
+
+    @Test
+    void install_KeepsOnlyChangesNewerThanTheBuild() {
+        suggester.upsert(3L, "Wireless Charger");
+        long builtAfter = suggester.currentSequence();
+        suggester.remove(1L);
+
+        suggester.install(SuggestionTrie.build(List.of(
+                product(1L, "Wireless Mouse", 5),
+                product(3L, "Wireless Charger", 7)), 10), Map.of(), builtAfter);
+
+        assertEquals(1, suggester.pendingChanges());
+        assertEquals(List.of(3L), ids(suggester.suggest("wireless", 5)));
+    }
+
+    private static SuggestionTrie.Entry product(Long id, String name, double score) {
+        return new SuggestionTrie.Entry(SuggestionTrie.Kind.PRODUCT, id, name, score);
+    }
+
+    private static List<Long> ids(List<SuggestionTrie.Entry> entries) {
+        return entries.stream().map(SuggestionTrie.Entry::id).toList();
+    }
+}
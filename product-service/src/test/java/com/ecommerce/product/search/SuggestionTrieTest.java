@@ -0,0 +1,95 @@
+package com.ecommerce.product.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionTrieTest {
+
+    private final SuggestionTrie trie = SuggestionTrie.build(List.of(
+            product(1L, "Wireless Mouse", 5),
+            product(2L, "Wireless Headphones", 9),
+            product(3L, "Wired Keyboard", 1),
+            product(4L, "Café Crème Mug", 2),
+            new SuggestionTrie.Entry(SuggestionTrie.Kind.CATEGORY, 10L, "Wireless", 3)), 3);
+
+    @Test
+    void lookup_RanksPrefixMatchesByScore() {
+        assertEquals(List.of(2L, 1L, 10L), ids(trie.lookup("wire")));
+        // Keeps only the top 3 of the 4 matches
+        assertEquals(List.of(2L, 1L, 10L), ids(trie.lookup("wi")));
+        assertEquals(List.of(3L), ids(trie.lookup("wired")));
+    }
+
+    @Test
+    void lookup_MatchesAnyWordAndFoldsAccents() {
+        assertEquals(List.of(2L), ids(trie.lookup("head")));
+        assertEquals(List.of(4L), ids(trie.lookup(SuggestionTrie.normalize("CREME m"))));
+        assertEquals(List.of(1L), ids(trie.lookup("wireless m")));
+    }
+
+    @Test
+    void lookup_UnknownPrefix_ReturnsNothing() {
+        assertTrue(trie.lookup("wireless x").isEmpty());
+        assertTrue(trie.lookup("zebra").isEmpty());
+        assertTrue(trie.lookup("").isEmpty());
+    }
+
+    @Test
+    void lookup_SuggestsSameTextOnce() {
+        SuggestionTrie duplicates = SuggestionTrie.build(List.of(
+                product(1L, "USB Cable", 1), product(2L, "usb cable", 4), product(3L, "USB Hub", 2)), 5);
+
+        assertEquals(List.of(2L, 3L), ids(duplicates.lookup("usb")));
+    }
+
+    /**
+     * Latency benchmark at catalog scale. Run with -Dbenchmark=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmark_MillionProducts() {
+        String[] words = {"red", "blue", "green", "black", "shirt", "shoe", "phone", "case", "lamp", "desk",
+                "chair", "cable", "charger", "wireless", "cotton", "leather", "steel", "mini", "pro", "max"};
+        Random random = new Random(42);
+        List<SuggestionTrie.Entry> entries = new ArrayList<>();
+        for (long id = 1; id <= 1_000_000; id++) {
+            String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)]
+                    + " " + words[random.nextInt(words.length)] + " " + id;
+            entries.add(product(id, name, random.nextInt(1000)));
+        }
+
+        long buildStart = System.nanoTime();
+        SuggestionTrie large = SuggestionTrie.build(entries, 10);
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+
+        String[] prefixes = {"w", "wir", "wireless c", "charger 12", "pro max", "steel 99"};
+        long[] latencies = new long[20_000];
+        for (int i = 0; i < latencies.length; i++) {
+            long start = System.nanoTime();
+            large.lookup(prefixes[i % prefixes.length]);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("Built suggestions for %d products in %d ms, %d nodes%n",
+                large.size(), buildMillis, large.nodeCount());
+        System.out.printf("Suggest latency p50=%d us p99=%d us%n",
+                latencies[latencies.length / 2] / 1000, latencies[latencies.length * 99 / 100] / 1000);
+        assertEquals(1_000_000, large.size());
+    }
+
+    private static SuggestionTrie.Entry product(Long id, String name, double score) {
+        return new SuggestionTrie.Entry(SuggestionTrie.Kind.PRODUCT, id, name, score);
+    }
+
+    private static List<Long> ids(List<SuggestionTrie.Entry> entries) {
+        return entries.stream().map(SuggestionTrie.Entry::id).toList();
+    }
+}
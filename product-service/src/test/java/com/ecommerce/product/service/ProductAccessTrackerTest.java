@@ -0,0 +1,85 @@
+package com.ecommerce.product.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductAccessTrackerTest {
+
+    private static final Duration DECAY_INTERVAL = Duration.ofHours(1);
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void decay_ManyInstancesInOneInterval_HalvesScoresOnce() {
+        // Arrange: the lock is shared through Redis, as in a cluster of replicas
+        AtomicBoolean locked = new AtomicBoolean();
+        when(valueOperations.setIfAbsent(eq(ProductAccessTracker.DECAY_LOCK_KEY), anyString(), eq(DECAY_INTERVAL)))
+                .thenAnswer(invocation -> locked.compareAndSet(false, true));
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+
+        // Act
+        for (int instance = 0; instance < 3; instance++) {
+            new ProductAccessTracker(redisTemplate, DECAY_INTERVAL).decay();
+        }
+
+        // Assert
+        verify(zSetOperations, times(1)).unionAndStore(ProductAccessTracker.HOT_PRODUCTS_KEY, Collections.emptyList(),
+                ProductAccessTracker.HOT_PRODUCTS_KEY, Aggregate.SUM, Weights.of(0.5));
+        verify(zSetOperations, times(1)).removeRangeByScore(ProductAccessTracker.HOT_PRODUCTS_KEY, 0, 0.5);
+    }
+
+    @Test
+    void decay_LockHeld_LeavesScoresAlone() {
+        // Arrange
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+
+        // Act
+        new ProductAccessTracker(redisTemplate, DECAY_INTERVAL).decay();
+
+        // Assert
+        verify(redisTemplate, never()).opsForZSet();
+    }
+
+    @Test
+    void decay_RedisUnavailable_DoesNotThrow() {
+        // Arrange
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> new ProductAccessTracker(redisTemplate, DECAY_INTERVAL).decay());
+        verify(redisTemplate, never()).opsForZSet();
+    }
+}
@@ -0,0 +1,125 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.ExportFormat;
+import com.ecommerce.product.entity.Category;
+import com.ecommerce.product.entity.Product;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "product.export.flush-every=2"
+})
+@ActiveProfiles("test")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(ProductExportService.class)
+class ProductExportServiceTest {
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Category category = Category.builder().name("Peripherals").build();
+        entityManager.persist(category);
+        persist(category, "Keyboard", "Mechanical, \"tenkeyless\"", "KB-1", true);
+        persist(category, "Mouse", "Wireless\nsilent", "MS-1", true);
+        persist(null, "Cable", null, "CB-1", true);
+        persist(category, "Retired", null, "RT-1", false);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void exportCatalog_Ndjson_WritesActiveProductsInIdOrderWithoutLoadingEntities() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = productExportService.exportCatalog(out, ExportFormat.NDJSON, false);
+
+        assertEquals(3, written);
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, lines.size());
+        JsonNode keyboard = objectMapper.readTree(lines.get(0));
+        assertEquals("KB-1", keyboard.get("sku").asText());
+        assertEquals("Peripherals", keyboard.get("categoryName").asText());
+        assertEquals("Mechanical, \"tenkeyless\"", keyboard.get("description").asText());
+        assertEquals("Wireless\nsilent", objectMapper.readTree(lines.get(1)).get("description").asText());
+        assertTrue(objectMapper.readTree(lines.get(2)).get("categoryId").isNull());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void exportCatalog_Csv_QuotesOnlyWhereNeeded() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        productExportService.exportCatalog(out, ExportFormat.CSV, false);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("id,sku,name,description,categoryId,categoryName,price,stockQuantity,imageUrl,updatedAt\n"));
+        assertTrue(csv.contains(",KB-1,Keyboard,\"Mechanical, \"\"tenkeyless\"\"\",")); 
+        assertTrue(csv.contains(",MS-1,Mouse,\"Wireless\nsilent\","));
+        assertTrue(csv.contains(",CB-1,Cable,,,,12.50,7,,"));
+        assertFalse(csv.contains("RT-1"));
+    }
+
+    @Test
+    void exportCatalog_Gzip_ProducesACompleteGzipStream() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        productExportService.exportCatalog(out, ExportFormat.NDJSON, true);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            List<String> lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+            assertEquals(3, lines.size());
+            assertEquals("CB-1", objectMapper.readTree(lines.get(2)).get("sku").asText());
+        }
+    }
+
+    private void persist(Category category, String name, String description, String sku, boolean active) {
+        entityManager.persist(Product.builder()
+                .name(name)
+                .description(description)
+                .category(category)
+                .price(new BigDecimal("12.50"))
+                .stockQuantity(7)
+                .sku(sku)
+                .isActive(active)
+                .build());
+    }
+}
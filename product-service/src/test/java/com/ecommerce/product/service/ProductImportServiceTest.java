@@ -0,0 +1,163 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.ImportFormat;
+import com.ecommerce.product.dto.ProductImportEvent;
+import com.ecommerce.product.entity.Category;
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.event.CatalogBulkChangedEvent;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "product.import.chunk-size=2")
+@ActiveProfiles("test")
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Import(ProductImportService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RecordApplicationEvents
+class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(Category.builder().name("Peripherals").build());
+        productRepository.save(Product.builder()
+                .name("Existing Keyboard")
+                .category(category)
+                .price(new BigDecimal("49.99"))
+                .stockQuantity(5)
+                .sku("KB-1")
+                .isActive(true)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM product_images");
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void importProducts_Ndjson_ImportsValidRowsAndReportsTheRest() throws Exception {
+        String input = String.join("\n",
+                "{\"name\":\"Mouse\",\"categoryId\":" + category.getId() + ",\"price\":19.99,\"stockQuantity\":10,\"sku\":\"MS-1\"," +
+                        "\"additionalImages\":[\"side.jpg\",\"top.jpg\"]}",
+                "{\"name\":\"Duplicate\",\"categoryName\":\"peripherals\",\"price\":5,\"stockQuantity\":1,\"sku\":\"kb-1\"}",
+                "not json",
+                "{\"name\":\"Monitor\",\"categoryName\":\"Displays\",\"price\":199,\"stockQuantity\":1,\"sku\":\"MN-1\"}",
+                "{\"name\":\"Pad\",\"categoryName\":\"PERIPHERALS\",\"price\":-1,\"stockQuantity\":1,\"sku\":\"PD-1\"}",
+                "",
+                "{\"name\":\"Webcam\",\"categoryName\":\"Peripherals\",\"price\":59.50,\"stockQuantity\":3,\"sku\":\"WC-1\"}",
+                "{\"name\":\"Webcam again\",\"categoryId\":" + category.getId() + ",\"price\":59.50,\"stockQuantity\":3,\"sku\":\"WC-1\"}");
+        List<ProductImportEvent> events = new ArrayList<>();
+
+        ProductImportEvent completed = productImportService.importProducts(stream(input), ImportFormat.NDJSON, events::add);
+
+        assertEquals(7, completed.getProcessed());
+        assertEquals(2, completed.getImported());
+        assertEquals(5, completed.getRejected());
+        assertEquals(List.of("SKU already exists", "Malformed row", "Category not found",
+                        "Price must be greater than 0", "SKU already exists"),
+                events.stream()
+                        .filter(event -> ProductImportEvent.REJECTED.equals(event.getType()))
+                        .map(event -> event.getReason().startsWith("Malformed row") ? "Malformed row" : event.getReason())
+                        .toList());
+        assertEquals(ProductImportEvent.COMPLETED, events.get(events.size() - 1).getType());
+
+        Product mouse = productRepository.findBySku("MS-1").orElseThrow();
+        assertEquals(category.getId(), mouse.getCategory().getId());
+        assertEquals(0, new BigDecimal("19.99").compareTo(mouse.getPrice()));
+        assertEquals(0L, mouse.getVersion());
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM product_images WHERE product_id = ?", Integer.class, mouse.getId()));
+        assertTrue(productRepository.findBySku("WC-1").isPresent());
+        assertEquals(3, productRepository.count());
+    }
+
+    @Test
+    void importProducts_Csv_SplitsImagesAndHonoursQuotes() throws Exception {
+        String input = String.join("\n",
+                "name,description,categoryName,price,stockQuantity,sku,imageUrl,additionalImages",
+                "Mouse,\"Wireless, \"\"silent\"\"\",Peripherals,19.99,10,MS-1,front.jpg,side.jpg|top.jpg|back.jpg",
+                "Cable,,Peripherals,4.99,100,CB-1,,");
+
+        ProductImportEvent completed = productImportService.importProducts(stream(input), ImportFormat.CSV, event -> {});
+
+        assertEquals(2, completed.getImported());
+        assertEquals(0, completed.getRejected());
+        Product mouse = productRepository.findBySku("MS-1").orElseThrow();
+        assertEquals("Wireless, \"silent\"", mouse.getDescription());
+        assertEquals("front.jpg", mouse.getImageUrl());
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM product_images WHERE product_id = ?", Integer.class, mouse.getId()));
+    }
+
+    @Test
+    void importProducts_PublishesOneBulkChangeForTheWholeFile() throws Exception {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            input.append("{\"name\":\"Item ").append(i).append("\",\"categoryId\":").append(category.getId())
+                    .append(",\"price\":1,\"stockQuantity\":1,\"sku\":\"IT-").append(i).append("\"}\n");
+        }
+        List<ProductImportEvent> events = new ArrayList<>();
+
+        productImportService.importProducts(stream(input.toString()), ImportFormat.NDJSON, events::add);
+
+        // Chunks of two: 2 + 2 + 1
+        assertEquals(3, events.stream().filter(event -> ProductImportEvent.PROGRESS.equals(event.getType())).count());
+        List<CatalogBulkChangedEvent> bulkChanges = applicationEvents.stream(CatalogBulkChangedEvent.class).toList();
+        assertEquals(1, bulkChanges.size());
+        assertEquals(5, bulkChanges.get(0).getAffectedProducts());
+    }
+
+    @Test
+    void importProducts_NothingImported_PublishesNoBulkChange() throws Exception {
+        productImportService.importProducts(stream("{\"name\":\"Dup\",\"categoryId\":" + category.getId() +
+                ",\"price\":1,\"stockQuantity\":1,\"sku\":\"KB-1\"}"), ImportFormat.NDJSON, event -> {});
+
+        assertEquals(0, applicationEvents.stream(CatalogBulkChangedEvent.class).count());
+    }
+
+    private static ByteArrayInputStream stream(String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,75 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.ProductSearchRequest;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.search.ProductDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new ProductSearchService(productRepository, transactionManager);
+    }
+
+    @Test
+    void refresh_PicksUpChangesCommittedOnAnotherInstance() {
+        // Arrange: this instance builds its index, then another instance sells
+        // out product 1, deletes product 2 and creates product 3
+        when(productRepository.streamSearchDocuments()).thenReturn(
+                Stream.of(document(1L, "Wireless Mouse", 5), document(2L, "Wired Mouse", 3)),
+                Stream.of(document(1L, "Wireless Mouse", 0), document(3L, "Gaming Mouse", 7)));
+        searchService.buildOnStartup();
+
+        ProductSearchRequest inStock = new ProductSearchRequest();
+        inStock.setKeyword("mouse");
+        inStock.setInStock(true);
+        assertEquals(List.of(1L, 2L), ids(inStock));
+
+        // Act
+        searchService.refresh();
+
+        // Assert
+        assertEquals(List.of(3L), ids(inStock));
+        inStock.setInStock(null);
+        assertEquals(List.of(1L, 3L), ids(inStock));
+    }
+
+    private List<Long> ids(ProductSearchRequest request) {
+        return searchService.search(request, PageRequest.of(0, 10, Sort.by("id")), false).getProductIds();
+    }
+
+    private static ProductDocument document(Long id, String name, int stock) {
+        return ProductDocument.builder()
+                .id(id)
+                .name(name)
+                .sku("SKU-" + id)
+                .categoryId(10L)
+                .price(new BigDecimal("20.00"))
+                .stockQuantity(stock)
+                .build();
+    }
+}
@@ -0,0 +1,248 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.ProductResponse;
+import com.ecommerce.product.dto.ProductSearchRequest;
+import com.ecommerce.product.dto.ProductSummaryResponse;
+import com.ecommerce.product.entity.Category;
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.entity.ProductImage;
+import com.ecommerce.product.exception.InvalidRequestException;
+import com.ecommerce.product.inventory.HotInventory;
+import com.ecommerce.product.pagination.ProductCursorCodec;
+import com.ecommerce.product.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({ProductService.class, ConcurrentMapCacheManager.class})
+class ProductServiceQueryCountTest {
+
+    private static final int PRODUCTS = 25;
+    private static final int PAGE_SIZE = 20;
+
+    @MockBean
+    private ProductSearchService productSearchService;
+
+    @MockBean
+    private ProductCursorCodec cursorCodec;
+
+    @MockBean
+    private HotInventory hotInventory;
+
+    @MockBean
+    private CategoryTreeService categoryTreeService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Category firstCategory;
+    private final List<Long> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Category category = Category.builder().name("Category " + i).build();
+            entityManager.persist(category);
+            categories.add(category);
+        }
+        firstCategory = categories.get(0);
+
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = Product.builder()
+                    .name("Product " + i)
+                    .description("Description " + i)
+                    .category(categories.get(i % categories.size()))
+                    .price(new BigDecimal("10.00").add(BigDecimal.valueOf(i)))
+                    .stockQuantity(5)
+                    .sku("SKU-" + i)
+                    .isActive(true)
+                    .build();
+            product.setImages(List.of(
+                    ProductImage.builder().product(product).imageUrl("front-" + i + ".jpg").isPrimary(true).build(),
+                    ProductImage.builder().product(product).imageUrl("back-" + i + ".jpg").isPrimary(false).build()));
+            entityManager.persist(product);
+            productIds.add(product.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllProducts_LoadsCategoriesAndImagesWithoutPerRowQueries() {
+        // Act
+        Page<ProductResponse> page = productService.getAllProducts(PageRequest.of(0, PAGE_SIZE));
+
+        // Assert
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        page.getContent().forEach(product -> {
+            assertNotNull(product.getCategoryName());
+            assertEquals(2, product.getImages().size());
+        });
+        // Page with categories joined, count, one batch of images
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void searchProducts_DatabasePath_LoadsCategoriesAndImagesWithoutPerRowQueries() {
+        // Arrange
+        ProductSearchRequest request = new ProductSearchRequest();
+        request.setMinPrice(BigDecimal.ZERO);
+
+        // Act
+        Page<ProductResponse> page = productService.searchProducts(request, PageRequest.of(0, PAGE_SIZE));
+
+        // Assert
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        page.getContent().forEach(product -> assertEquals(2, product.getImages().size()));
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getProductSummaries_ReadsDtosWithoutLoadingEntities() {
+        // Act
+        Page<ProductSummaryResponse> page = productService.getProductSummaries(PageRequest.of(0, PAGE_SIZE));
+
+        // Assert
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        assertNotNull(page.getContent().get(0).getCategoryName());
+        assertEquals(PRODUCTS, page.getTotalElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getProductsByIds_LoadsEverythingInOneStatement() {
+        // Act
+        List<ProductResponse> products = productService.getProductsByIds(productIds.subList(0, PAGE_SIZE));
+
+        // Assert
+        assertEquals(PAGE_SIZE, products.size());
+        assertEquals(firstCategory.getName(), products.get(0).getCategoryName());
+        products.forEach(product -> assertEquals(2, product.getImages().size()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getProductsByIds_ServesRepeatsFromCacheInRequestOrder() {
+        // Arrange
+        List<Long> ids = List.of(productIds.get(4), productIds.get(1), productIds.get(3), productIds.get(1));
+        productService.getProductsByIds(productIds.subList(3, 5));
+        statistics.clear();
+
+        // Act
+        List<ProductResponse> products = productService.getProductsByIds(
+                List.of(ids.get(0), ids.get(1), ids.get(2), ids.get(3), Long.MAX_VALUE));
+
+        // Assert
+        assertEquals(List.of(productIds.get(4), productIds.get(1), productIds.get(3)),
+                products.stream().map(ProductResponse::getId).toList());
+        // Only the uncached product and the unknown ID reach the database
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        productService.getProductsByIds(ids);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Compares a 50-item cart lookup straight from the database with the
+     * cached path. Run with -Dbenchmark=true.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmark_FiftyItemCart() {
+        List<Long> cart = new ArrayList<>(productIds);
+        for (int i = 0; i < 25; i++) {
+            Product product = Product.builder()
+                    .name("Extra " + i)
+                    .category(entityManager.find(Category.class, firstCategory.getId()))
+                    .price(BigDecimal.ONE)
+                    .stockQuantity(1)
+                    .sku("EXTRA-" + i)
+                    .isActive(true)
+                    .build();
+            entityManager.persist(product);
+            cart.add(product.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        int rounds = 2000;
+        long[] database = new long[rounds];
+        long[] cached = new long[rounds];
+        productService.getProductsByIds(cart);
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            productRepository.findByIdIn(cart);
+            entityManager.clear();
+            database[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            productService.getProductsByIds(cart);
+            cached[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(database);
+        Arrays.sort(cached);
+
+        System.out.printf("50-item cart from database p50=%d us p99=%d us%n",
+                database[rounds / 2] / 1000, database[rounds * 99 / 100] / 1000);
+        System.out.printf("50-item cart from cache    p50=%d us p99=%d us%n",
+                cached[rounds / 2] / 1000, cached[rounds * 99 / 100] / 1000);
+        assertEquals(50, productService.getProductsByIds(cart).size());
+    }
+
+    @Test
+    void getProductById_LoadsCategoryAndImagesInOneStatement() {
+        // Act
+        ProductResponse product = productService.getProductById(productIds.get(0));
+
+        // Assert
+        assertEquals(firstCategory.getName(), product.getCategoryName());
+        assertEquals(2, product.getImages().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void reserveAndReleaseStock_NonPositiveQuantity_RejectedAsInvalidRequest() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> productService.reserveStock(productIds.get(0), 0));
+        assertThrows(InvalidRequestException.class, () -> productService.releaseStock(productIds.get(0), -1));
+        assertThrows(InvalidRequestException.class, () -> productService.reserveStock(productIds.get(0), null));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,213 @@
+package com.ecommerce.product.service;
+
+import com.ecommerce.product.dto.BatchReservationRequest;
+import com.ecommerce.product.dto.BatchReservationResponse;
+import com.ecommerce.product.dto.BatchReservationResponse.LineStatus;
+import com.ecommerce.product.entity.Category;
+import com.ecommerce.product.entity.Product;
+import com.ecommerce.product.entity.ReservationStatus;
+import com.ecommerce.product.exception.ReservationConflictException;
+import com.ecommerce.product.exception.ResourceNotFoundException;
+import com.ecommerce.product.inventory.HotInventory;
+import com.ecommerce.product.repository.CategoryRepository;
+import com.ecommerce.product.repository.ProductRepository;
+import com.ecommerce.product.repository.StockReservationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({StockReservationService.class, HotInventory.class, ConcurrentMapCacheManager.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockReservationServiceTest {
+
+    @MockBean
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private StockReservationRepository reservationRepository;
+
+    private Long keyboardId;
+    private Long mouseId;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(Category.builder().name("Peripherals").build());
+        keyboardId = saveProduct(category, "Keyboard", 10);
+        mouseId = saveProduct(category, "Mouse", 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationRepository.deleteAll();
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    void reserveBatch_AllAvailable_ReservesEveryLineUnderOneToken() {
+        BatchReservationResponse response = stockReservationService.reserveBatch(
+                request(item(mouseId, 2), item(keyboardId, 3), item(mouseId, 1)));
+
+        assertTrue(response.isReserved());
+        assertNotNull(response.getReservationToken());
+        assertEquals(List.of(keyboardId, mouseId), response.getLines().stream()
+                .map(BatchReservationResponse.LineResult::getProductId)
+                .toList());
+        assertEquals(3, response.getLines().get(1).getQuantity());
+        assertEquals(7, stock(keyboardId));
+        assertEquals(7, stock(mouseId));
+        assertEquals(2, reservationRepository.findByTokenOrderByProductIdAsc(response.getReservationToken()).size());
+    }
+
+    @Test
+    void reserveBatch_OneLineShort_ReservesNothing() {
+        BatchReservationResponse response = stockReservationService.reserveBatch(
+                request(item(keyboardId, 3), item(mouseId, 11), item(-1L, 1)));
+
+        assertFalse(response.isReserved());
+        assertNull(response.getReservationToken());
+        assertEquals(LineStatus.NOT_FOUND, response.getLines().get(0).getStatus());
+        assertEquals(LineStatus.OK, response.getLines().get(1).getStatus());
+        assertEquals(LineStatus.INSUFFICIENT_STOCK, response.getLines().get(2).getStatus());
+        assertEquals(10, stock(keyboardId));
+        assertEquals(10, stock(mouseId));
+        assertEquals(0, reservationRepository.count());
+    }
+
+    @Test
+    void releaseReservation_ReleasedTwice_ReturnsStockOnce() {
+        String token = stockReservationService.reserveBatch(
+                request(item(keyboardId, 4), item(mouseId, 5))).getReservationToken();
+
+        assertEquals(2, stockReservationService.releaseReservation(token));
+        assertEquals(0, stockReservationService.releaseReservation(token));
+
+        assertEquals(10, stock(keyboardId));
+        assertEquals(10, stock(mouseId));
+        assertTrue(reservationRepository.findByTokenOrderByProductIdAsc(token).stream()
+                .allMatch(line -> line.getStatus() == ReservationStatus.RELEASED));
+    }
+
+    @Test
+    void releaseReservation_UnknownToken_ThrowsException() {
+        assertThrows(ResourceNotFoundException.class,
+                () -> stockReservationService.releaseReservation("missing"));
+    }
+
+    @Test
+    void expireHolds_UnconfirmedHoldsReturnStock_ConfirmedOnesStay() {
+        String abandoned = stockReservationService.reserveBatch(request(item(keyboardId, 4))).getReservationToken();
+        String paid = stockReservationService.reserveBatch(request(item(mouseId, 5))).getReservationToken();
+        assertEquals(1, stockReservationService.confirmReservation(paid));
+
+        assertEquals(1, stockReservationService.expireHolds(LocalDateTime.now().plusHours(1), 100));
+
+        assertEquals(10, stock(keyboardId));
+        assertEquals(5, stock(mouseId));
+        assertEquals(ReservationStatus.EXPIRED,
+                reservationRepository.findByTokenOrderByProductIdAsc(abandoned).get(0).getStatus());
+        assertEquals(0, stockReservationService.expireHolds(LocalDateTime.now().plusHours(1), 100));
+    }
+
+    @Test
+    void confirmReservation_AfterExpiry_ThrowsException() {
+        String token = stockReservationService.reserveBatch(request(item(keyboardId, 4))).getReservationToken();
+        stockReservationService.expireHolds(LocalDateTime.now().plusHours(1), 100);
+
+        assertThrows(ReservationConflictException.class, () -> stockReservationService.confirmReservation(token));
+        assertEquals(10, stock(keyboardId));
+    }
+
+    @Test
+    void releaseReservation_Confirmed_ReturnsStock() {
+        String token = stockReservationService.reserveBatch(request(item(keyboardId, 4))).getReservationToken();
+        stockReservationService.confirmReservation(token);
+
+        assertEquals(1, stockReservationService.releaseReservation(token));
+        assertEquals(10, stock(keyboardId));
+    }
+
+    @Test
+    void reserveBatch_OppositeLineOrdersConcurrently_NeverDeadlockOrOversell() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                BatchReservationRequest request = i % 2 == 0
+                        ? request(item(keyboardId, 1), item(mouseId, 1))
+                        : request(item(mouseId, 1), item(keyboardId, 1));
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return stockReservationService.reserveBatch(request).isReserved();
+                }));
+            }
+            start.countDown();
+
+            int reserved = 0;
+            for (Future<Boolean> future : futures) {
+                reserved += future.get(30, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            assertEquals(10, reserved);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, stock(keyboardId));
+        assertEquals(0, stock(mouseId));
+    }
+
+    private Long saveProduct(Category category, String name, int stock) {
+        return productRepository.save(Product.builder()
+                .name(name)
+                .category(category)
+                .price(new BigDecimal("49.00"))
+                .stockQuantity(stock)
+                .isActive(true)
+                .build()).getId();
+    }
+
+    private int stock(Long productId) {
+        return productRepository.findById(productId).orElseThrow().getStockQuantity();
+    }
+
+    private static BatchReservationRequest request(BatchReservationRequest.Item... items) {
+        return BatchReservationRequest.builder().items(List.of(items)).build();
+    }
+
+    private static BatchReservationRequest.Item item(Long productId, int quantity) {
+        return BatchReservationRequest.Item.builder().productId(productId).quantity(quantity).build();
+    }
+}
@@ -3,6 +3,7 @@ package com.ecommerce.user;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * User Service Application
@@ -12,12 +13,14 @@ import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
  * - JWT token generation and validation
  * - User profile management
  * - Address management
+ * - Bulk user import and account data export
  *
  * @author E-Commerce Platform Team
  * @version 1.0
  */
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableScheduling
 public class UserServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,32 @@
+package com.ecommerce.user.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+/**
+ * Order Service Client
+ *
+ * Orders are passed through as raw JSON so the data export always
+ * contains every field order-service returns. There is deliberately no
+ * fallback: an export with silently missing orders is worse than a
+ * failed export.
+ *
+ * The caller's identity headers are forwarded, since order-service only
+ * exports a user's orders to that user or an admin.
+ */
+@FeignClient(name = "order-service")
+public interface OrderServiceClient {
+
+    @GetMapping("/api/orders/users/{userId}/export")
+    List<JsonNode> exportUserOrders(@PathVariable Long userId,
+                                    @RequestParam Long afterId,
+                                    @RequestParam int limit,
+                                    @RequestHeader("X-User-Id") Long callerId,
+                                    @RequestHeader("X-User-Role") String callerRole);
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.user.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+/**
+ * Payment Service Client
+ *
+ * Payments are passed through as raw JSON for the data export; see
+ * {@link OrderServiceClient} for why there is no fallback.
+ */
+@FeignClient(name = "payment-service")
+public interface PaymentServiceClient {
+
+    @GetMapping("/api/payments/user/{userId}/export")
+    List<JsonNode> exportUserPayments(@PathVariable Long userId,
+                                      @RequestParam Long afterId,
+                                      @RequestParam int limit,
+                                      @RequestHeader("X-User-Id") Long callerId,
+                                      @RequestHeader("X-User-Role") String callerRole);
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.user.config;
+
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Feign Configuration
+ *
+ * Enables the Feign clients used to pull order and payment data for
+ * account exports. Kept out of the application class so JPA test
+ * slices do not need the Feign infrastructure.
+ */
+@Configuration
+@EnableFeignClients(basePackages = "com.ecommerce.user.client")
+public class FeignConfig {
+}
@@ -1,13 +1,20 @@
 package com.ecommerce.user.controller;
 
+import com.ecommerce.user.dto.ProfileView;
 import com.ecommerce.user.dto.UpdateUserRequest;
 import com.ecommerce.user.dto.UserResponse;
+import com.ecommerce.user.entity.Role;
+import com.ecommerce.user.exception.ForbiddenException;
+import com.ecommerce.user.service.UserDataExportService;
 import com.ecommerce.user.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * User Controller
@@ -21,17 +28,21 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final UserDataExportService userDataExportService;
 
     /**
      * Get current user profile
      *
      * @param userId User ID from request header (set by API Gateway)
+     * @param view SUMMARY for profile fields only, FULL to include addresses
      * @return User profile
      */
     @GetMapping("/me")
     @Operation(summary = "Get current user profile", description = "Returns the profile of the authenticated user")
-    public ResponseEntity<UserResponse> getCurrentUser(@RequestHeader("X-User-Id") Long userId) {
-        UserResponse response = userService.getUserById(userId);
+    public ResponseEntity<UserResponse> getCurrentUser(
+            @RequestHeader("X-User-Id") Long userId,
+            @RequestParam(defaultValue = "FULL") ProfileView view) {
+        UserResponse response = userService.getUserById(userId, view);
         return ResponseEntity.ok(response);
     }
 
@@ -55,12 +66,39 @@ public class UserController {
      * Get user by ID (Admin only - called by other services)
      *
      * @param id User ID
+     * @param view SUMMARY for profile fields only, FULL to include addresses
      * @return User profile
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID", description = "Returns user profile by ID (for inter-service communication)")
-    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
-        UserResponse response = userService.getUserById(id);
+    public ResponseEntity<UserResponse> getUserById(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "FULL") ProfileView view) {
+        UserResponse response = userService.getUserById(id, view);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Export all data held about a user (the user themselves or an admin)
+     *
+     * @param id User ID
+     * @param callerId User ID from request header (set by API Gateway)
+     * @param callerRole User role from request header (set by API Gateway)
+     * @return NDJSON stream of profile, addresses, orders and payments
+     */
+    @GetMapping(value = "/{id}/export", produces = "application/x-ndjson")
+    @Operation(summary = "Export user data", description = "Streams everything held about a user as NDJSON (owner or Admin only)")
+    public ResponseEntity<StreamingResponseBody> exportUserData(
+            @PathVariable Long id,
+            @RequestHeader(value = "X-User-Id", required = false) Long callerId,
+            @RequestHeader(value = "X-User-Role", required = false) String callerRole) {
+        if (!id.equals(callerId) && !Role.ADMIN.name().equals(callerRole)) {
+            throw new ForbiddenException("Not allowed to export another user's data");
+        }
+        StreamingResponseBody body = userDataExportService.exportUser(id, callerId, callerRole);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"user-" + id + "-export.ndjson\"")
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
 }
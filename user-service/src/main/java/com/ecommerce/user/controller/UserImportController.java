@@ -0,0 +1,74 @@
+package com.ecommerce.user.controller;
+
+import com.ecommerce.user.dto.ImportFormat;
+import com.ecommerce.user.entity.Role;
+import com.ecommerce.user.exception.ForbiddenException;
+import com.ecommerce.user.service.UserImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * User Import Controller
+ *
+ * Provides the bulk user import endpoint used to migrate customers
+ * from the legacy store.
+ */
+@RestController
+@RequestMapping("/api/users/import")
+@RequiredArgsConstructor
+@Tag(name = "User Import", description = "Bulk user import APIs")
+public class UserImportController {
+
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+    private static final String TEXT_CSV = "text/csv";
+
+    private final UserImportService userImportService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Import users from an NDJSON or CSV request body
+     *
+     * The response is written while the import runs: one NDJSON line per
+     * rejected row, a progress line per chunk and a final summary line.
+     *
+     * @param callerRole Role of the authenticated caller, set by the gateway
+     * @param request Request whose body holds one user per line
+     * @param response Response streamed back as NDJSON
+     */
+    @PostMapping(consumes = {APPLICATION_NDJSON, TEXT_CSV}, produces = APPLICATION_NDJSON)
+    @Operation(summary = "Import users", description = "Streams users from NDJSON or CSV into the database (Admin only)")
+    public void importUsers(@RequestHeader(value = "X-User-Role", required = false) String callerRole,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!Role.ADMIN.name().equals(callerRole)) {
+            throw new ForbiddenException("Only admins can import users");
+        }
+        ImportFormat format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.valueOf(TEXT_CSV))
+                ? ImportFormat.CSV
+                : ImportFormat.NDJSON;
+
+        response.setContentType(APPLICATION_NDJSON);
+        ServletOutputStream out = response.getOutputStream();
+        userImportService.importUsers(request.getInputStream(), format, event -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(event));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.user.dto;
+
+/**
+ * Import Format Enum
+ */
+public enum ImportFormat {
+    NDJSON,
+    CSV
+}
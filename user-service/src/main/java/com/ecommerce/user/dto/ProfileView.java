@@ -0,0 +1,12 @@
+package com.ecommerce.user.dto;
+
+/**
+ * Profile View Enum
+ *
+ * Selects how much of a user profile is loaded and returned.
+ * SUMMARY returns profile fields only, FULL also includes addresses.
+ */
+public enum ProfileView {
+    SUMMARY,
+    FULL
+}
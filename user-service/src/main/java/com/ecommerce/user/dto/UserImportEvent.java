@@ -0,0 +1,44 @@
+package com.ecommerce.user.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * User Import Event DTO
+ *
+ * Streamed back to the caller as one NDJSON line per event:
+ * REJECTED for each row that was not imported, PROGRESS after each
+ * chunk and COMPLETED once the whole input has been consumed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportEvent {
+
+    public static final String REJECTED = "REJECTED";
+    public static final String PROGRESS = "PROGRESS";
+    public static final String COMPLETED = "COMPLETED";
+
+    private String type;
+    private Long row;
+    private String email;
+    private String reason;
+    private Long processed;
+    private Long imported;
+    private Long rejected;
+    private Long elapsedMs;
+
+    public static UserImportEvent rejected(long row, String email, String reason) {
+        return UserImportEvent.builder()
+                .type(REJECTED)
+                .row(row)
+                .email(email)
+                .reason(reason)
+                .build();
+    }
+}
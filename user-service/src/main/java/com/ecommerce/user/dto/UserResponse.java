@@ -1,6 +1,7 @@
 package com.ecommerce.user.dto;
 
 import com.ecommerce.user.entity.Role;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -24,6 +25,7 @@ public class UserResponse {
     private String phone;
     private Role role;
     private Boolean isActive;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private List<AddressResponse> addresses;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
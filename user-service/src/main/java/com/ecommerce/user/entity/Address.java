@@ -10,10 +10,15 @@ import lombok.NoArgsConstructor;
  * Address Entity
  *
  * Represents a user's address (billing or shipping).
+ * At most one address per user can be the default: default_user_id is a
+ * generated column holding user_id for the default row and NULL otherwise,
+ * and its unique index lets the database enforce the rule.
  */
 @Entity
 @Table(name = "addresses", indexes = {
         @Index(name = "idx_address_user", columnList = "user_id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = Address.DEFAULT_USER_CONSTRAINT, columnNames = "default_user_id")
 })
 @Data
 @NoArgsConstructor
@@ -21,6 +26,8 @@ import lombok.NoArgsConstructor;
 @Builder
 public class Address {
 
+    public static final String DEFAULT_USER_CONSTRAINT = "uk_address_default_user";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -51,4 +58,8 @@ public class Address {
     @Column(name = "is_default")
     @Builder.Default
     private Boolean isDefault = false;
+
+    @Column(name = "default_user_id", insertable = false, updatable = false,
+            columnDefinition = "BIGINT GENERATED ALWAYS AS (CASE WHEN is_default THEN user_id END)")
+    private Long defaultUserId;
 }
@@ -21,6 +21,8 @@ import java.util.List;
 @Entity
 @Table(name = "users", indexes = {
         @Index(name = "idx_user_email", columnList = "email")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
 })
 @Data
 @NoArgsConstructor
@@ -28,11 +30,13 @@ import java.util.List;
 @Builder
 public class User {
 
+    public static final String EMAIL_CONSTRAINT = "uk_user_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(unique = true, nullable = false, length = 100)
+    @Column(nullable = false, length = 100)
     private String email;
 
     @Column(nullable = false)
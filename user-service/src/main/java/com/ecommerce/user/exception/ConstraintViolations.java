@@ -0,0 +1,45 @@
+package com.ecommerce.user.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Constraint Violations
+ *
+ * Tells which database constraint a failed write violated, so that only
+ * the violations a caller expects are mapped to a specific error.
+ */
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    /**
+     * Check whether an exception was caused by violating a named constraint
+     *
+     * Databases decorate the name differently (MySQL prefixes the table,
+     * H2 upper-cases it and appends the index suffix), so the name is
+     * matched case-insensitively as a substring.
+     *
+     * @param ex Exception thrown by a write
+     * @param constraintName Constraint name as declared on the entity
+     * @return true if the named constraint was violated
+     */
+    public static boolean isViolationOf(Throwable ex, String constraintName) {
+        String expected = constraintName.toLowerCase(Locale.ROOT);
+        for (Throwable cause = ex; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(expected)) {
+                return true;
+            }
+            if (cause instanceof SQLException && cause.getMessage() != null
+                    && cause.getMessage().toLowerCase(Locale.ROOT).contains(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.user.exception;
+
+/**
+ * Exception thrown when an authenticated caller may not access a resource
+ */
+public class ForbiddenException extends RuntimeException {
+
+    public ForbiddenException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,9 @@ package com.ecommerce.user.repository;
 
 import com.ecommerce.user.entity.Address;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -38,4 +41,27 @@ public interface AddressRepository extends JpaRepository<Address, Long> {
      * @param userId User's ID
      */
     void deleteByUserId(Long userId);
+
+    /**
+     * Clear the default flag on the user's current default address
+     *
+     * @param userId User's ID
+     * @return Number of addresses updated (0 or 1)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Address a SET a.isDefault = false WHERE a.user.id = :userId AND a.isDefault = true")
+    int clearDefault(@Param("userId") Long userId);
+
+    /**
+     * Clear the default flag on the user's current default address,
+     * leaving the given address untouched
+     *
+     * @param userId User's ID
+     * @param addressId Address ID to keep
+     * @return Number of addresses updated (0 or 1)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Address a SET a.isDefault = false " +
+            "WHERE a.user.id = :userId AND a.isDefault = true AND a.id <> :addressId")
+    int clearDefaultExcept(@Param("userId") Long userId, @Param("addressId") Long addressId);
 }
@@ -1,10 +1,16 @@
 package com.ecommerce.user.repository;
 
 import com.ecommerce.user.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * User Repository
@@ -29,4 +35,48 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return true if user exists, false otherwise
      */
     boolean existsByEmail(String email);
+
+    /**
+     * Find user by ID with addresses fetched in the same query
+     *
+     * @param id User's ID
+     * @return Optional containing the user and its addresses if found
+     */
+    @EntityGraph(attributePaths = "addresses")
+    Optional<User> findWithAddressesById(Long id);
+
+    /**
+     * Find user by email with addresses fetched in the same query
+     *
+     * @param email User's email address
+     * @return Optional containing the user and its addresses if found
+     */
+    @EntityGraph(attributePaths = "addresses")
+    Optional<User> findWithAddressesByEmail(String email);
+
+    /**
+     * Find user profile columns only, without addresses
+     *
+     * @param id User's ID
+     * @return Optional containing the user summary if found
+     */
+    Optional<UserSummary> findSummaryById(Long id);
+
+    /**
+     * Find user profile columns only by email, without addresses
+     *
+     * @param email User's email address
+     * @return Optional containing the user summary if found
+     */
+    Optional<UserSummary> findSummaryByEmail(String email);
+
+    /**
+     * Stream every registered email without loading User entities.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @return Stream of email addresses
+     */
+    @Query("SELECT u.email FROM User u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllEmails();
 }
@@ -0,0 +1,32 @@
+package com.ecommerce.user.repository;
+
+import com.ecommerce.user.entity.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * User Summary Projection
+ *
+ * Closed interface projection over the users table. Spring Data selects
+ * only these columns, so summary reads never touch the addresses collection.
+ */
+public interface UserSummary {
+
+    Long getId();
+
+    String getEmail();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getPhone();
+
+    Role getRole();
+
+    Boolean getIsActive();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
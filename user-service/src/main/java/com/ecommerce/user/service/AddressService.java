@@ -70,11 +70,9 @@ public class AddressService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
 
-        // If this is the default address, unset other default addresses
+        // If this is the default address, unset the current default in one statement
         if (Boolean.TRUE.equals(request.getIsDefault())) {
-            List<Address> userAddresses = addressRepository.findByUserId(userId);
-            userAddresses.forEach(addr -> addr.setIsDefault(false));
-            addressRepository.saveAll(userAddresses);
+            addressRepository.clearDefault(userId);
         }
 
         Address address = Address.builder()
@@ -109,11 +107,9 @@ public class AddressService {
         Address address = addressRepository.findByIdAndUserId(addressId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Address not found"));
 
-        // If setting as default, unset other default addresses
+        // If setting as default, unset the current default in one statement
         if (Boolean.TRUE.equals(request.getIsDefault()) && !address.getIsDefault()) {
-            List<Address> userAddresses = addressRepository.findByUserId(userId);
-            userAddresses.forEach(addr -> addr.setIsDefault(false));
-            addressRepository.saveAll(userAddresses);
+            addressRepository.clearDefaultExcept(userId, addressId);
         }
 
         // Update fields
@@ -139,7 +135,8 @@ public class AddressService {
             address.setIsDefault(request.getIsDefault());
         }
 
-        address = addressRepository.save(address);
+        // Flush so losing a race for the one-default index fails here, not at commit
+        address = addressRepository.saveAndFlush(address);
         log.info("Address updated successfully: {}", addressId);
 
         return mapToAddressResponse(address);
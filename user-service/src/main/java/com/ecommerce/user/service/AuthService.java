@@ -5,12 +5,14 @@ import com.ecommerce.user.dto.LoginRequest;
 import com.ecommerce.user.dto.RegisterRequest;
 import com.ecommerce.user.entity.Role;
 import com.ecommerce.user.entity.User;
+import com.ecommerce.user.exception.ConstraintViolations;
 import com.ecommerce.user.exception.DuplicateResourceException;
 import com.ecommerce.user.exception.UnauthorizedException;
 import com.ecommerce.user.repository.UserRepository;
 import com.ecommerce.user.util.JwtUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,6 +30,7 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
+    private final RegisteredEmailFilter registeredEmailFilter;
 
     /**
      * Register a new user
@@ -39,8 +42,9 @@ public class AuthService {
     public AuthResponse register(RegisterRequest request) {
         log.info("Registering new user with email: {}", request.getEmail());
 
-        // Check if user already exists
-        if (userRepository.existsByEmail(request.getEmail())) {
+        // Check if user already exists; the filter rules out unknown emails without a query
+        if (registeredEmailFilter.mightBeRegistered(request.getEmail())
+                && userRepository.existsByEmail(request.getEmail())) {
             log.warn("Registration failed: Email already exists - {}", request.getEmail());
             throw new DuplicateResourceException("Email already registered");
         }
@@ -56,7 +60,17 @@ public class AuthService {
                 .isActive(true)
                 .build();
 
-        user = userRepository.save(user);
+        try {
+            user = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Only a lost race for the email is a duplicate; anything else is a real failure
+            if (!ConstraintViolations.isViolationOf(e, User.EMAIL_CONSTRAINT)) {
+                throw e;
+            }
+            log.warn("Registration failed: Email already exists - {}", request.getEmail());
+            throw new DuplicateResourceException("Email already registered", e);
+        }
+        registeredEmailFilter.add(user.getEmail());
         log.info("User registered successfully: {}", user.getId());
 
         // Generate JWT token
@@ -0,0 +1,136 @@
+package com.ecommerce.user.service;
+
+import com.ecommerce.user.repository.UserRepository;
+import com.ecommerce.user.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Registered Email Filter
+ *
+ * In-memory Bloom filter of registered emails used to answer
+ * "definitely not registered" without a database query. The users
+ * table's unique index remains the source of truth: until the first
+ * build completes, and whenever the filter reports a possible match,
+ * callers must still check the database.
+ *
+ * The filter is built from a streamed key scan at startup and rebuilt
+ * periodically so deleted or changed emails stop inflating the
+ * false-positive rate.
+ */
+@Service
+@Slf4j
+public class RegisteredEmailFilter {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter building;
+
+    public RegisteredEmailFilter(UserRepository userRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${user.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                                 @Value("${user.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Check whether an email might already be registered
+     *
+     * @param email Email address
+     * @return false only if the email is definitely not registered
+     */
+    public boolean mightBeRegistered(String email) {
+        BloomFilter filter = current;
+        return filter == null || filter.mightContain(normalize(email));
+    }
+
+    /**
+     * Record a newly registered email. Inside a transaction the email is
+     * added once it commits, so a rebuild's scan either sees the row or
+     * runs while the email is added to the filter being built.
+     *
+     * @param email Email address
+     */
+    public void add(String email) {
+        String key = normalize(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(key);
+                }
+            });
+        } else {
+            put(key);
+        }
+    }
+
+    private void put(String key) {
+        // Read the filter being built first: once a rebuild clears it, the new filter is already current
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(key);
+        }
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(key);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the filter from the users table and swap it in
+     */
+    @Scheduled(fixedDelayString = "${user.email-filter.rebuild-interval:PT6H}",
+            initialDelayString = "${user.email-filter.rebuild-interval:PT6H}")
+    public synchronized void rebuild() {
+        try {
+            long startedAt = System.currentTimeMillis();
+            long userCount = userRepository.count();
+            BloomFilter next = BloomFilter.create(Math.max(expectedInsertions, userCount * 2), falsePositiveRate);
+            building = next;
+
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                try (Stream<String> emails = userRepository.streamAllEmails()) {
+                    emails.forEach(email -> next.put(normalize(email)));
+                }
+            });
+
+            current = next;
+            log.info("Registered email filter rebuilt: {} users, {} bits, estimated false-positive rate {} in {} ms",
+                    userCount, next.bitSize(), String.format("%.5f", next.expectedFalsePositiveRate()),
+                    System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            log.error("Failed to rebuild registered email filter, keeping the previous one", e);
+        } finally {
+            building = null;
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,155 @@
+package com.ecommerce.user.service;
+
+import com.ecommerce.user.client.OrderServiceClient;
+import com.ecommerce.user.client.PaymentServiceClient;
+import com.ecommerce.user.dto.AddressResponse;
+import com.ecommerce.user.dto.ProfileView;
+import com.ecommerce.user.dto.UserResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * User Data Export Service
+ *
+ * Builds the data export for a user account (profile, addresses, orders
+ * and payments) as an NDJSON stream. Orders and payments are pulled page
+ * by page from order-service and payment-service using keyset pagination
+ * and written out as they arrive, so memory use does not depend on the
+ * size of the user's history.
+ *
+ * A complete export ends with a "summary" line. If a downstream call
+ * fails once streaming has started, an "error" line is written instead
+ * and the response is aborted, so a cut-off file is never mistaken for
+ * a complete one.
+ */
+@Service
+@Slf4j
+public class UserDataExportService {
+
+    // order-service and payment-service cap export pages at this size
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final UserService userService;
+    private final AddressService addressService;
+    private final OrderServiceClient orderServiceClient;
+    private final PaymentServiceClient paymentServiceClient;
+    private final ObjectMapper objectMapper;
+    private final int pageSize;
+
+    public UserDataExportService(UserService userService,
+                                 AddressService addressService,
+                                 OrderServiceClient orderServiceClient,
+                                 PaymentServiceClient paymentServiceClient,
+                                 ObjectMapper objectMapper,
+                                 @Value("${user.export.page-size:200}") int pageSize) {
+        this.userService = userService;
+        this.addressService = addressService;
+        this.orderServiceClient = orderServiceClient;
+        this.paymentServiceClient = paymentServiceClient;
+        this.objectMapper = objectMapper;
+        this.pageSize = Math.min(Math.max(pageSize, 1), MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Prepare the export for a user
+     *
+     * The profile is loaded up front so an unknown user fails with a 404
+     * before any bytes are streamed.
+     *
+     * @param userId User's ID
+     * @param callerId ID of the user requesting the export, forwarded downstream
+     * @param callerRole Role of the user requesting the export, forwarded downstream
+     * @return Response body that writes the export when invoked
+     */
+    public StreamingResponseBody exportUser(Long userId, Long callerId, String callerRole) {
+        UserResponse profile = userService.getUserById(userId, ProfileView.SUMMARY);
+        return out -> writeExport(profile, callerId, callerRole, out);
+    }
+
+    private void writeExport(UserResponse profile, Long callerId, String callerRole, OutputStream out) throws IOException {
+        Long userId = profile.getId();
+        log.info("Streaming data export for user: {}", userId);
+
+        writeLine(out, "profile", profile);
+
+        List<AddressResponse> addresses;
+        long orders;
+        long payments;
+        try {
+            addresses = addressService.getUserAddresses(userId);
+            for (AddressResponse address : addresses) {
+                writeLine(out, "address", address);
+            }
+            out.flush();
+
+            orders = writePages(out, "order", userId,
+                    (afterId, limit) -> orderServiceClient.exportUserOrders(userId, afterId, limit, callerId, callerRole));
+            payments = writePages(out, "payment", userId,
+                    (afterId, limit) -> paymentServiceClient.exportUserPayments(userId, afterId, limit, callerId, callerRole));
+        } catch (RuntimeException e) {
+            log.error("Data export for user {} failed after streaming started", userId, e);
+            ObjectNode error = objectMapper.createObjectNode();
+            error.put("message", "Export incomplete: " + e.getMessage());
+            writeLine(out, "error", error);
+            out.flush();
+            throw e;
+        }
+
+        ObjectNode summary = objectMapper.createObjectNode();
+        summary.put("addresses", addresses.size());
+        summary.put("orders", orders);
+        summary.put("payments", payments);
+        summary.put("exportedAt", LocalDateTime.now().toString());
+        writeLine(out, "summary", summary);
+        out.flush();
+
+        log.info("Data export for user {} complete: {} orders, {} payments", userId, orders, payments);
+    }
+
+    /**
+     * Walk a keyset-paginated endpoint, writing each record as it arrives.
+     * Only an empty page ends the walk, so a server that returns fewer
+     * records than asked for cannot truncate the export.
+     */
+    private long writePages(OutputStream out, String type, Long userId,
+                            BiFunction<Long, Integer, List<JsonNode>> fetchPage) throws IOException {
+        long written = 0;
+        long afterId = 0;
+        while (true) {
+            List<JsonNode> page = fetchPage.apply(afterId, pageSize);
+            if (page.isEmpty()) {
+                return written;
+            }
+            for (JsonNode record : page) {
+                writeLine(out, type, record);
+            }
+            out.flush();
+            written += page.size();
+            long lastId = page.get(page.size() - 1).path("id").asLong();
+            if (lastId <= afterId) {
+                throw new IllegalStateException("Paging " + type + " records did not advance past ID " + afterId);
+            }
+            afterId = lastId;
+            log.debug("Exported {} {} records for user {}", written, type, userId);
+        }
+    }
+
+    private void writeLine(OutputStream out, String type, Object data) throws IOException {
+        ObjectNode line = objectMapper.createObjectNode();
+        line.put("type", type);
+        line.set("data", objectMapper.valueToTree(data));
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write('\n');
+    }
+}
@@ -0,0 +1,375 @@
+package com.ecommerce.user.service;
+
+import com.ecommerce.user.dto.ImportFormat;
+import com.ecommerce.user.dto.UserImportEvent;
+import com.ecommerce.user.dto.UserImportRecord;
+import com.ecommerce.user.entity.AddressType;
+import com.ecommerce.user.entity.Role;
+import com.ecommerce.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * User Import Service
+ *
+ * Streams users from NDJSON or CSV input into the database in chunks.
+ * Each chunk is validated, de-duplicated against a set of emails
+ * prefetched at the start, hashed on a dedicated fork-join pool and
+ * written with JDBC batch inserts in its own transaction. Bad rows are
+ * reported one by one and never abort the rest of the file; a row the
+ * database refuses is isolated by retrying its chunk in halves.
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (email, password, first_name, last_name, phone, role, is_active, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ADDRESS_SQL =
+            "INSERT INTO addresses (user_id, address_type, street_address, city, state, zip_code, country, is_default) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ForkJoinPool hashingPool;
+    private final int chunkSize;
+
+    public UserImportService(UserRepository userRepository,
+                             PasswordEncoder passwordEncoder,
+                             RegisteredEmailFilter registeredEmailFilter,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             @Value("${user.import.chunk-size:1000}") int chunkSize,
+                             @Value("${user.import.hashing-parallelism:0}") int hashingParallelism) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.hashingPool = new ForkJoinPool(hashingParallelism > 0
+                ? hashingParallelism
+                : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    /**
+     * Import users from a stream
+     *
+     * @param input NDJSON or CSV input, read line by line
+     * @param format Input format
+     * @param listener Receives rejected rows, per-chunk progress and the final summary
+     * @return Completion event with the final counters
+     */
+    public UserImportEvent importUsers(InputStream input, ImportFormat format, Consumer<UserImportEvent> listener)
+            throws IOException {
+        long startedAt = System.currentTimeMillis();
+        Set<String> knownEmails = prefetchEmails();
+        log.info("Starting {} user import, {} existing emails prefetched", format, knownEmails.size());
+
+        ImportCounters counters = new ImportCounters();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String[] csvHeader = format == ImportFormat.CSV ? readCsvHeader(reader) : null;
+
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        long rowNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            rowNumber++;
+            try {
+                UserImportRecord record = format == ImportFormat.CSV
+                        ? parseCsvRecord(csvHeader, line)
+                        : objectMapper.readValue(line, UserImportRecord.class);
+                chunk.add(new ImportRow(rowNumber, record));
+            } catch (Exception e) {
+                counters.processed++;
+                reject(counters, listener, rowNumber, null, "Malformed row: " + e.getMessage());
+            }
+
+            if (chunk.size() >= chunkSize) {
+                processChunk(chunk, knownEmails, counters, listener, startedAt);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, knownEmails, counters, listener, startedAt);
+        }
+
+        UserImportEvent completed = counters.toEvent(UserImportEvent.COMPLETED, startedAt);
+        listener.accept(completed);
+        log.info("User import finished: {} processed, {} imported, {} rejected in {} ms",
+                completed.getProcessed(), completed.getImported(), completed.getRejected(), completed.getElapsedMs());
+        return completed;
+    }
+
+    private Set<String> prefetchEmails() {
+        return readOnlyTransactionTemplate.execute(status -> {
+            Set<String> emails = new HashSet<>();
+            try (Stream<String> stream = userRepository.streamAllEmails()) {
+                stream.forEach(email -> emails.add(normalize(email)));
+            }
+            return emails;
+        });
+    }
+
+    private void processChunk(List<ImportRow> chunk, Set<String> knownEmails, ImportCounters counters,
+                              Consumer<UserImportEvent> listener, long startedAt) {
+        List<ImportRow> accepted = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            counters.processed++;
+            String reason = validate(row.record());
+            if (reason == null && !knownEmails.add(normalize(row.record().getEmail()))) {
+                reason = "Email already registered";
+            }
+            if (reason != null) {
+                reject(counters, listener, row.rowNumber(), row.record().getEmail(), reason);
+            } else {
+                accepted.add(row);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            List<String> hashes = hashingPool.submit(() -> accepted.parallelStream()
+                    .map(row -> passwordEncoder.encode(row.record().getPassword()))
+                    .toList()).join();
+            write(accepted, hashes, knownEmails, counters, listener);
+        }
+
+        listener.accept(counters.toEvent(UserImportEvent.PROGRESS, startedAt));
+    }
+
+    /**
+     * Write rows in one transaction. If the batch fails, the rows are
+     * written again in halves, down to single rows, so only the rows the
+     * database refuses are rejected and the rest of the chunk still lands.
+     */
+    private void write(List<ImportRow> rows, List<String> hashes, Set<String> knownEmails,
+                       ImportCounters counters, Consumer<UserImportEvent> listener) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> writeChunk(rows, hashes));
+            rows.forEach(row -> registeredEmailFilter.add(row.record().getEmail()));
+            counters.imported += rows.size();
+        } catch (Exception e) {
+            if (rows.size() == 1) {
+                ImportRow row = rows.get(0);
+                log.warn("Failed to write import row {}", row.rowNumber(), e);
+                knownEmails.remove(normalize(row.record().getEmail()));
+                reject(counters, listener, row.rowNumber(), row.record().getEmail(),
+                        "Write failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                return;
+            }
+            log.debug("Import batch of rows {}-{} failed, retrying in halves",
+                    rows.get(0).rowNumber(), rows.get(rows.size() - 1).rowNumber(), e);
+            int middle = rows.size() / 2;
+            write(rows.subList(0, middle), hashes.subList(0, middle), knownEmails, counters, listener);
+            write(rows.subList(middle, rows.size()), hashes.subList(middle, rows.size()), knownEmails, counters, listener);
+        }
+    }
+
+    private void writeChunk(List<ImportRow> rows, List<String> hashes) {
+        List<Long> userIds = insertUsers(rows, hashes);
+        if (userIds.size() != rows.size()) {
+            throw new IllegalStateException("Expected " + rows.size() + " generated keys but got " + userIds.size());
+        }
+
+        List<Object[]> addresses = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            UserImportRecord record = rows.get(i).record();
+            if (record.getStreetAddress() == null || record.getStreetAddress().isBlank()) {
+                continue;
+            }
+            AddressType addressType = record.getAddressType() != null ? record.getAddressType() : AddressType.SHIPPING;
+            addresses.add(new Object[]{
+                    userIds.get(i), addressType.name(), record.getStreetAddress(), record.getCity(),
+                    record.getState(), record.getZipCode(), record.getCountry(), true
+            });
+        }
+        if (!addresses.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ADDRESS_SQL, addresses, new int[]{
+                    Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+                    Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BOOLEAN
+            });
+        }
+    }
+
+    private List<Long> insertUsers(List<ImportRow> rows, List<String> hashes) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_USER_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                for (int i = 0; i < rows.size(); i++) {
+                    UserImportRecord record = rows.get(i).record();
+                    // Store the same form the duplicate check compares
+                    ps.setString(1, normalize(record.getEmail()));
+                    ps.setString(2, hashes.get(i));
+                    ps.setString(3, record.getFirstName());
+                    ps.setString(4, record.getLastName());
+                    ps.setString(5, record.getPhone());
+                    ps.setString(6, Role.CUSTOMER.name());
+                    ps.setBoolean(7, true);
+                    ps.setTimestamp(8, now);
+                    ps.setTimestamp(9, now);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                List<Long> ids = new ArrayList<>(rows.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                return ids;
+            }
+        });
+    }
+
+    private String validate(UserImportRecord record) {
+        Set<ConstraintViolation<UserImportRecord>> violations = validator.validate(record);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .reduce((a, b) -> a + "; " + b)
+                .orElse("Invalid row");
+    }
+
+    private void reject(ImportCounters counters, Consumer<UserImportEvent> listener,
+                        long rowNumber, String email, String reason) {
+        counters.rejected++;
+        listener.accept(UserImportEvent.rejected(rowNumber, email, reason));
+    }
+
+    private String[] readCsvHeader(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            return new String[0];
+        }
+        List<String> columns = splitCsvLine(header);
+        return columns.stream().map(String::trim).toArray(String[]::new);
+    }
+
+    private UserImportRecord parseCsvRecord(String[] header, String line) {
+        List<String> values = splitCsvLine(line);
+        if (values.size() > header.length) {
+            throw new IllegalArgumentException("expected " + header.length + " columns but found " + values.size());
+        }
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i).trim();
+            row.put(header[i], value.isEmpty() ? null : value);
+        }
+        return objectMapper.convertValue(row, UserImportRecord.class);
+    }
+
+    /**
+     * Split one CSV line, honouring double-quoted fields and "" escapes
+     */
+    private List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record ImportRow(long rowNumber, UserImportRecord record) {}
+
+    private static class ImportCounters {
+        private long processed;
+        private long imported;
+        private long rejected;
+
+        private UserImportEvent toEvent(String type, long startedAt) {
+            return UserImportEvent.builder()
+                    .type(type)
+                    .processed(processed)
+                    .imported(imported)
+                    .rejected(rejected)
+                    .elapsedMs(System.currentTimeMillis() - startedAt)
+                    .build();
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.ecommerce.user.service;
 
 import com.ecommerce.user.dto.AddressResponse;
+import com.ecommerce.user.dto.ProfileView;
 import com.ecommerce.user.dto.UpdateUserRequest;
 import com.ecommerce.user.dto.UserResponse;
 import com.ecommerce.user.entity.User;
 import com.ecommerce.user.exception.ResourceNotFoundException;
 import com.ecommerce.user.repository.UserRepository;
+import com.ecommerce.user.repository.UserSummary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -33,8 +35,28 @@ public class UserService {
      * @return User response DTO
      */
     public UserResponse getUserById(Long userId) {
-        log.info("Fetching user with ID: {}", userId);
-        User user = userRepository.findById(userId)
+        return getUserById(userId, ProfileView.FULL);
+    }
+
+    /**
+     * Get user by ID with the requested level of detail
+     *
+     * SUMMARY reads profile columns only; FULL fetches the user and its
+     * addresses with a single join instead of a lazy load per collection.
+     *
+     * @param userId User's ID
+     * @param view Profile view to load
+     * @return User response DTO
+     */
+    @Transactional(readOnly = true)
+    public UserResponse getUserById(Long userId, ProfileView view) {
+        log.info("Fetching user with ID: {} ({})", userId, view);
+        if (view == ProfileView.SUMMARY) {
+            UserSummary summary = userRepository.findSummaryById(userId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
+            return mapToUserResponse(summary);
+        }
+        User user = userRepository.findWithAddressesById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
         return mapToUserResponse(user);
     }
@@ -46,8 +68,25 @@ public class UserService {
      * @return User response DTO
      */
     public UserResponse getUserByEmail(String email) {
-        log.info("Fetching user with email: {}", email);
-        User user = userRepository.findByEmail(email)
+        return getUserByEmail(email, ProfileView.FULL);
+    }
+
+    /**
+     * Get user by email with the requested level of detail
+     *
+     * @param email User's email
+     * @param view Profile view to load
+     * @return User response DTO
+     */
+    @Transactional(readOnly = true)
+    public UserResponse getUserByEmail(String email, ProfileView view) {
+        log.info("Fetching user with email: {} ({})", email, view);
+        if (view == ProfileView.SUMMARY) {
+            UserSummary summary = userRepository.findSummaryByEmail(email)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
+            return mapToUserResponse(summary);
+        }
+        User user = userRepository.findWithAddressesByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
         return mapToUserResponse(user);
     }
@@ -63,7 +102,7 @@ public class UserService {
     public UserResponse updateUser(Long userId, UpdateUserRequest request) {
         log.info("Updating user with ID: {}", userId);
 
-        User user = userRepository.findById(userId)
+        User user = userRepository.findWithAddressesById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
 
         // Update fields if provided
@@ -113,4 +152,21 @@ public class UserService {
                 .updatedAt(user.getUpdatedAt())
                 .build();
     }
+
+    /**
+     * Map UserSummary projection to UserResponse DTO without addresses
+     */
+    private UserResponse mapToUserResponse(UserSummary summary) {
+        return UserResponse.builder()
+                .id(summary.getId())
+                .email(summary.getEmail())
+                .firstName(summary.getFirstName())
+                .lastName(summary.getLastName())
+                .phone(summary.getPhone())
+                .role(summary.getRole())
+                .isActive(summary.getIsActive())
+                .createdAt(summary.getCreatedAt())
+                .updatedAt(summary.getUpdatedAt())
+                .build();
+    }
 }
@@ -0,0 +1,76 @@
+package com.ecommerce.user.controller;
+
+import com.ecommerce.user.exception.GlobalExceptionHandler;
+import com.ecommerce.user.service.UserDataExportService;
+import com.ecommerce.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserControllerTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private UserDataExportService userDataExportService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new UserController(userService, userDataExportService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void exportUserData_OwnUser_Streams() throws Exception {
+        when(userDataExportService.exportUser(1L, 1L, "CUSTOMER")).thenReturn(out -> out.write('\n'));
+
+        mockMvc.perform(get("/api/users/1/export")
+                        .header("X-User-Id", "1")
+                        .header("X-User-Role", "CUSTOMER"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"user-1-export.ndjson\""));
+    }
+
+    @Test
+    void exportUserData_Admin_StreamsAnyUser() throws Exception {
+        when(userDataExportService.exportUser(2L, 1L, "ADMIN")).thenReturn(out -> out.write('\n'));
+
+        mockMvc.perform(get("/api/users/2/export")
+                        .header("X-User-Id", "1")
+                        .header("X-User-Role", "ADMIN"))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void exportUserData_OtherUser_Forbidden() throws Exception {
+        mockMvc.perform(get("/api/users/2/export")
+                        .header("X-User-Id", "1")
+                        .header("X-User-Role", "CUSTOMER"))
+                .andExpect(status().isForbidden());
+
+        verify(userDataExportService, never()).exportUser(anyLong(), any(), any());
+    }
+
+    @Test
+    void exportUserData_NoCallerHeaders_Forbidden() throws Exception {
+        mockMvc.perform(get("/api/users/2/export"))
+                .andExpect(status().isForbidden());
+
+        verify(userDataExportService, never()).exportUser(anyLong(), any(), any());
+    }
+}
@@ -0,0 +1,71 @@
+package com.ecommerce.user.controller;
+
+import com.ecommerce.user.dto.ImportFormat;
+import com.ecommerce.user.dto.UserImportEvent;
+import com.ecommerce.user.exception.GlobalExceptionHandler;
+import com.ecommerce.user.service.UserImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportControllerTest {
+
+    @Mock
+    private UserImportService userImportService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new UserImportController(userImportService, new ObjectMapper()))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void importUsers_Admin_RunsImport() throws Exception {
+        when(userImportService.importUsers(any(), eq(ImportFormat.CSV), any()))
+                .thenReturn(UserImportEvent.builder().type(UserImportEvent.COMPLETED).build());
+
+        mockMvc.perform(post("/api/users/import")
+                        .header("X-User-Role", "ADMIN")
+                        .contentType("text/csv")
+                        .content("email,password,firstName,lastName\n"))
+                .andExpect(status().isOk());
+
+        verify(userImportService).importUsers(any(), eq(ImportFormat.CSV), any());
+    }
+
+    @Test
+    void importUsers_NonAdmin_Forbidden() throws Exception {
+        mockMvc.perform(post("/api/users/import")
+                        .header("X-User-Role", "CUSTOMER")
+                        .contentType("application/x-ndjson")
+                        .content("{}\n"))
+                .andExpect(status().isForbidden());
+
+        verify(userImportService, never()).importUsers(any(), any(), any());
+    }
+
+    @Test
+    void importUsers_NoRoleHeader_Forbidden() throws Exception {
+        mockMvc.perform(post("/api/users/import")
+                        .contentType("application/x-ndjson")
+                        .content("{}\n"))
+                .andExpect(status().isForbidden());
+
+        verify(userImportService, never()).importUsers(any(), any(), any());
+    }
+}
@@ -0,0 +1,181 @@
+package com.ecommerce.user.service;
+
+import com.ecommerce.user.dto.AddressRequest;
+import com.ecommerce.user.entity.Address;
+import com.ecommerce.user.entity.AddressType;
+import com.ecommerce.user.entity.Role;
+import com.ecommerce.user.entity.User;
+import com.ecommerce.user.exception.ConstraintViolations;
+import com.ecommerce.user.repository.AddressRepository;
+import com.ecommerce.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(AddressService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AddressDefaultConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(User.builder()
+                .email("defaults@test.com")
+                .password("encodedPassword")
+                .role(Role.CUSTOMER)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        addressRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void createAddress_NewDefault_ClearsPreviousDefault() {
+        Long first = addressService.createAddress(userId, request(true)).getId();
+        Long second = addressService.createAddress(userId, request(true)).getId();
+
+        assertEquals(List.of(second), defaultAddressIds());
+        assertFalse(addressRepository.findById(first).orElseThrow().getIsDefault());
+    }
+
+    @Test
+    void updateAddress_SetDefault_SwitchesDefault() {
+        Long first = addressService.createAddress(userId, request(true)).getId();
+        Long second = addressService.createAddress(userId, request(false)).getId();
+
+        addressService.updateAddress(userId, second, AddressRequest.builder().isDefault(true).build());
+        assertEquals(List.of(second), defaultAddressIds());
+
+        addressService.updateAddress(userId, first, AddressRequest.builder().isDefault(true).build());
+        assertEquals(List.of(first), defaultAddressIds());
+    }
+
+    @Test
+    void createAddress_CompetingDefaults_LeaveExactlyOneDefault() throws Exception {
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS * 4; i++) {
+            tasks.add(() -> addressService.createAddress(userId, request(true)));
+        }
+
+        int succeeded = runConcurrently(tasks);
+
+        assertEquals(1, defaultAddressIds().size());
+        assertEquals(succeeded, addressRepository.findByUserId(userId).size());
+    }
+
+    @Test
+    void updateAddress_CompetingDefaultSetters_LeaveExactlyOneDefault() throws Exception {
+        for (int round = 0; round < 10; round++) {
+            Long first = addressService.createAddress(userId, request(false)).getId();
+            Long second = addressService.createAddress(userId, request(false)).getId();
+
+            runConcurrently(List.of(
+                    () -> addressService.updateAddress(userId, first, AddressRequest.builder().isDefault(true).build()),
+                    () -> addressService.updateAddress(userId, second, AddressRequest.builder().isDefault(true).build())));
+
+            assertEquals(1, defaultAddressIds().size(), "round " + round);
+        }
+    }
+
+    @Test
+    void otherIntegrityViolations_AreNotMistakenForTheDefaultRace() {
+        DataIntegrityViolationException ex = assertThrows(DataIntegrityViolationException.class, () ->
+                addressRepository.saveAndFlush(Address.builder()
+                        .addressType(AddressType.SHIPPING)
+                        .streetAddress("No owner")
+                        .build()));
+
+        assertFalse(ConstraintViolations.isViolationOf(ex, Address.DEFAULT_USER_CONSTRAINT));
+    }
+
+    private List<Long> defaultAddressIds() {
+        return addressRepository.findByUserId(userId).stream()
+                .filter(Address::getIsDefault)
+                .map(Address::getId)
+                .toList();
+    }
+
+    /**
+     * Run the tasks at once; a task may only fail by losing the race for
+     * the one-default-per-user index.
+     *
+     * @return Number of tasks that succeeded
+     */
+    private int runConcurrently(List<Callable<Object>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (Callable<Object> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Object> future : futures) {
+                try {
+                    future.get(30, TimeUnit.SECONDS);
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(DataIntegrityViolationException.class, e.getCause());
+                    assertTrue(ConstraintViolations.isViolationOf(e.getCause(), Address.DEFAULT_USER_CONSTRAINT),
+                            () -> "Unexpected violation: " + e.getCause().getMessage());
+                }
+            }
+            return succeeded;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static AddressRequest request(boolean isDefault) {
+        return AddressRequest.builder()
+                .addressType(AddressType.SHIPPING)
+                .streetAddress("1 Main Street")
+                .city("Springfield")
+                .state("IL")
+                .zipCode("62701")
+                .country("USA")
+                .isDefault(isDefault)
+                .build();
+    }
+}
@@ -0,0 +1,144 @@
+package com.ecommerce.user.service;
+
+import com.ecommerce.user.dto.AuthResponse;
+import com.ecommerce.user.dto.RegisterRequest;
+import com.ecommerce.user.entity.Role;
+import com.ecommerce.user.entity.User;
+import com.ecommerce.user.exception.DuplicateResourceException;
+import com.ecommerce.user.repository.UserRepository;
+import com.ecommerce.user.util.JwtUtils;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private JwtUtils jwtUtils;
+
+    @Mock
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @InjectMocks
+    private AuthService authService;
+
+    private RegisterRequest registerRequest;
+
+    @BeforeEach
+    void setUp() {
+        registerRequest = RegisterRequest.builder()
+                .email("test@example.com")
+                .password("password123")
+                .firstName("John")
+                .lastName("Doe")
+                .phone("+1234567890")
+                .build();
+    }
+
+    @Test
+    void register_UnknownEmail_SkipsExistsCheckAndSaves() {
+        // Arrange
+        when(registeredEmailFilter.mightBeRegistered("test@example.com")).thenReturn(false);
+        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            user.setId(1L);
+            return user;
+        });
+        when(jwtUtils.generateToken(any(User.class))).thenReturn("token");
+
+        // Act
+        AuthResponse result = authService.register(registerRequest);
+
+        // Assert
+        assertEquals(1L, result.getUserId());
+        assertEquals("token", result.getToken());
+        assertEquals(Role.CUSTOMER.toString(), result.getRole());
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(registeredEmailFilter).add("test@example.com");
+    }
+
+    @Test
+    void register_FilterMatch_ExistingEmail_ThrowsException() {
+        // Arrange
+        when(registeredEmailFilter.mightBeRegistered("test@example.com")).thenReturn(true);
+        when(userRepository.existsByEmail("test@example.com")).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(DuplicateResourceException.class, () -> {
+            authService.register(registerRequest);
+        });
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void register_FilterMatch_FalsePositive_Saves() {
+        // Arrange
+        when(registeredEmailFilter.mightBeRegistered("test@example.com")).thenReturn(true);
+        when(userRepository.existsByEmail("test@example.com")).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        authService.register(registerRequest);
+
+        // Assert
+        verify(userRepository, times(1)).save(any(User.class));
+    }
+
+    @Test
+    void register_CheckSkipped_EmailUniqueKeyViolation_ThrowsDuplicate() {
+        // Arrange: the filter missed the email, so only the unique key catches it
+        when(registeredEmailFilter.mightBeRegistered("test@example.com")).thenReturn(false);
+        DataIntegrityViolationException violation = violation("PUBLIC.UK_USER_EMAIL_INDEX_4");
+        when(userRepository.save(any(User.class))).thenThrow(violation);
+
+        // Act & Assert
+        DuplicateResourceException ex = assertThrows(DuplicateResourceException.class, () -> {
+            authService.register(registerRequest);
+        });
+        assertSame(violation, ex.getCause());
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(registeredEmailFilter, never()).add(anyString());
+    }
+
+    @Test
+    void register_OtherIntegrityViolation_IsNotReportedAsDuplicate() {
+        // Arrange
+        when(registeredEmailFilter.mightBeRegistered("test@example.com")).thenReturn(false);
+        DataIntegrityViolationException violation = violation("PUBLIC.CONSTRAINT_4D");
+        when(userRepository.save(any(User.class))).thenThrow(violation);
+
+        // Act & Assert
+        DataIntegrityViolationException ex = assertThrows(DataIntegrityViolationException.class, () -> {
+            authService.register(registerRequest);
+        });
+        assertSame(violation, ex);
+        verify(registeredEmailFilter, never()).add(anyString());
+    }
+
+    private static DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement",
+                        new SQLException("Integrity constraint violation"), constraintName));
+    }
+}
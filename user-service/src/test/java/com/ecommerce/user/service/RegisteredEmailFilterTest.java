@@ -0,0 +1,150 @@
+package com.ecommerce.user.service;
+
+import com.ecommerce.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RegisteredEmailFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RegisteredEmailFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RegisteredEmailFilter(userRepository, transactionManager, 10_000, 0.01);
+    }
+
+    @Test
+    void mightBeRegistered_BeforeFirstBuild_DefersToDatabase() {
+        assertTrue(filter.mightBeRegistered("anyone@test.com"));
+    }
+
+    @Test
+    void rebuild_ContainsExistingEmailsNormalized() {
+        // Arrange
+        when(userRepository.streamAllEmails()).thenReturn(Stream.of("Ada@Test.com", "alan@test.com"));
+
+        // Act
+        filter.rebuild();
+
+        // Assert
+        assertTrue(filter.mightBeRegistered(" ada@test.com"));
+        assertTrue(filter.mightBeRegistered("ALAN@test.com"));
+        assertFalse(filter.mightBeRegistered("grace@test.com"));
+    }
+
+    @Test
+    void add_AfterBuild_IsNeverReportedAsUnregistered() {
+        // Arrange
+        when(userRepository.streamAllEmails()).thenReturn(Stream.empty());
+        filter.rebuild();
+
+        // Act
+        filter.add("new@test.com");
+
+        // Assert
+        assertTrue(filter.mightBeRegistered("new@test.com"));
+    }
+
+    @Test
+    void add_DuringRebuildScan_SurvivesTheSwap() {
+        // Arrange: the email registers after the scan has passed it
+        when(userRepository.streamAllEmails()).thenReturn(Stream.of("a@test.com", "b@test.com")
+                .peek(email -> filter.add("late@test.com")));
+
+        // Act
+        filter.rebuild();
+
+        // Assert
+        assertTrue(filter.mightBeRegistered("late@test.com"));
+    }
+
+    @Test
+    void add_InsideTransaction_TakesEffectAfterCommit() {
+        // Arrange
+        when(userRepository.streamAllEmails()).thenReturn(Stream.empty());
+        filter.rebuild();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            filter.add("pending@test.com");
+            assertFalse(filter.mightBeRegistered("pending@test.com"));
+            TransactionSynchronizationUtils.triggerAfterCommit();
+
+            // Assert
+            assertTrue(filter.mightBeRegistered("pending@test.com"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void add_RacingWithRebuilds_LosesNoEmails() throws Exception {
+        // Arrange: each rebuild scans a snapshot of the committed emails
+        Set<String> committed = ConcurrentHashMap.newKeySet();
+        when(userRepository.streamAllEmails()).thenAnswer(invocation -> List.copyOf(committed).stream());
+        filter.rebuild();
+
+        AtomicBoolean registering = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> rebuilds = executor.submit(() -> {
+                while (registering.get()) {
+                    filter.rebuild();
+                }
+            });
+            List<Future<?>> registrations = List.of(
+                    executor.submit(() -> register(committed, "a", 2_000)),
+                    executor.submit(() -> register(committed, "b", 2_000)),
+                    executor.submit(() -> register(committed, "c", 2_000)));
+
+            // Act
+            for (Future<?> registration : registrations) {
+                registration.get(60, TimeUnit.SECONDS);
+            }
+            registering.set(false);
+            rebuilds.get(60, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        for (String email : committed) {
+            assertTrue(filter.mightBeRegistered(email), email);
+        }
+    }
+
+    private void register(Set<String> committed, String prefix, int count) {
+        for (int i = 0; i < count; i++) {
+            String email = prefix + i + "@test.com";
+            committed.add(email);
+            filter.add(email);
+        }
+    }
+}
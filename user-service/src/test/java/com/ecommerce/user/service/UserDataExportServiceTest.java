@@ -0,0 +1,181 @@
+package com.ecommerce.user.service;
+
+import com.ecommerce.user.client.OrderServiceClient;
+import com.ecommerce.user.client.PaymentServiceClient;
+import com.ecommerce.user.dto.AddressResponse;
+import com.ecommerce.user.dto.ProfileView;
+import com.ecommerce.user.dto.UserResponse;
+import com.ecommerce.user.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDataExportServiceTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private AddressService addressService;
+
+    @Mock
+    private OrderServiceClient orderServiceClient;
+
+    @Mock
+    private PaymentServiceClient paymentServiceClient;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(userService.getUserById(1L, ProfileView.SUMMARY)).thenReturn(UserResponse.builder()
+                .id(1L)
+                .email("test@example.com")
+                .build());
+    }
+
+    @Test
+    void exportUser_WritesProfileAddressesRecordsAndSummary() throws Exception {
+        // Arrange
+        when(addressService.getUserAddresses(1L)).thenReturn(List.of(AddressResponse.builder().id(10L).build()));
+        when(orderServiceClient.exportUserOrders(1L, 0L, 200, 1L, "CUSTOMER")).thenReturn(records(1, 2));
+        when(orderServiceClient.exportUserOrders(1L, 2L, 200, 1L, "CUSTOMER")).thenReturn(List.of());
+        when(paymentServiceClient.exportUserPayments(1L, 0L, 200, 1L, "CUSTOMER")).thenReturn(records(1, 1));
+        when(paymentServiceClient.exportUserPayments(1L, 1L, 200, 1L, "CUSTOMER")).thenReturn(List.of());
+
+        // Act
+        List<JsonNode> lines = export(200);
+
+        // Assert
+        assertEquals(List.of("profile", "address", "order", "order", "payment", "summary"), types(lines));
+        JsonNode summary = lines.get(lines.size() - 1).get("data");
+        assertEquals(1, summary.get("addresses").asInt());
+        assertEquals(2, summary.get("orders").asInt());
+        assertEquals(1, summary.get("payments").asInt());
+    }
+
+    @Test
+    void exportUser_PageSizeAboveServerCap_IsClampedAndNothingIsLost() throws Exception {
+        // Arrange: the server returns at most 500 records whatever is asked for
+        when(addressService.getUserAddresses(1L)).thenReturn(List.of());
+        when(orderServiceClient.exportUserOrders(eq(1L), anyLong(), anyInt(), eq(1L), eq("CUSTOMER"))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(1);
+            int limit = Math.min(invocation.<Integer>getArgument(2), 500);
+            return afterId >= 1200 ? List.of() : records(afterId + 1, Math.min(limit, 1200 - (int) afterId));
+        });
+        when(paymentServiceClient.exportUserPayments(1L, 0L, 500, 1L, "CUSTOMER")).thenReturn(List.of());
+
+        // Act
+        List<JsonNode> lines = export(1000);
+
+        // Assert
+        assertEquals(1200, types(lines).stream().filter("order"::equals).count());
+        assertEquals(1200, lines.get(lines.size() - 1).get("data").get("orders").asInt());
+        verify(orderServiceClient, never()).exportUserOrders(anyLong(), anyLong(), eq(1000), any(), any());
+    }
+
+    @Test
+    void exportUser_ShortPage_KeepsPagingUntilEmpty() throws Exception {
+        // Arrange
+        when(addressService.getUserAddresses(1L)).thenReturn(List.of());
+        when(orderServiceClient.exportUserOrders(1L, 0L, 200, 1L, "CUSTOMER")).thenReturn(records(1, 2));
+        when(orderServiceClient.exportUserOrders(1L, 2L, 200, 1L, "CUSTOMER")).thenReturn(records(3, 1));
+        when(orderServiceClient.exportUserOrders(1L, 3L, 200, 1L, "CUSTOMER")).thenReturn(List.of());
+        when(paymentServiceClient.exportUserPayments(1L, 0L, 200, 1L, "CUSTOMER")).thenReturn(List.of());
+
+        // Act
+        List<JsonNode> lines = export(200);
+
+        // Assert
+        assertEquals(3, lines.get(lines.size() - 1).get("data").get("orders").asInt());
+    }
+
+    @Test
+    void exportUser_DownstreamFailureMidStream_WritesErrorTrailerAndFails() throws Exception {
+        // Arrange
+        when(addressService.getUserAddresses(1L)).thenReturn(List.of());
+        when(orderServiceClient.exportUserOrders(1L, 0L, 200, 1L, "CUSTOMER")).thenReturn(records(1, 2));
+        when(orderServiceClient.exportUserOrders(1L, 2L, 200, 1L, "CUSTOMER")).thenThrow(new RuntimeException("order-service unavailable"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        assertThrows(RuntimeException.class, () -> service(200).exportUser(1L, 1L, "CUSTOMER").writeTo(out));
+
+        // Assert
+        List<JsonNode> lines = parse(out);
+        assertEquals(List.of("profile", "order", "order", "error"), types(lines));
+        assertTrue(lines.get(3).get("data").get("message").asText().contains("order-service unavailable"));
+        verifyNoInteractions(paymentServiceClient);
+    }
+
+    @Test
+    void exportUser_PagingDoesNotAdvance_Fails() throws Exception {
+        // Arrange: records without IDs would otherwise be fetched forever
+        when(addressService.getUserAddresses(1L)).thenReturn(List.of());
+        when(orderServiceClient.exportUserOrders(1L, 0L, 200, 1L, "CUSTOMER"))
+                .thenReturn(List.of(objectMapper.createObjectNode().put("status", "PENDING")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> service(200).exportUser(1L, 1L, "CUSTOMER").writeTo(out));
+        assertEquals("error", types(parse(out)).get(2));
+    }
+
+    @Test
+    void exportUser_UnknownUser_FailsBeforeStreaming() {
+        // Arrange
+        when(userService.getUserById(2L, ProfileView.SUMMARY)).thenThrow(new ResourceNotFoundException("User not found"));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> service(200).exportUser(2L, 1L, "CUSTOMER"));
+        verifyNoInteractions(orderServiceClient, paymentServiceClient);
+    }
+
+    private UserDataExportService service(int pageSize) {
+        return new UserDataExportService(userService, addressService, orderServiceClient, paymentServiceClient,
+                objectMapper, pageSize);
+    }
+
+    private List<JsonNode> export(int pageSize) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service(pageSize).exportUser(1L, 1L, "CUSTOMER").writeTo(out);
+        return parse(out);
+    }
+
+    private List<JsonNode> parse(ByteArrayOutputStream out) throws Exception {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private static List<String> types(List<JsonNode> lines) {
+        return lines.stream().map(line -> line.get("type").asText()).toList();
+    }
+
+    private List<JsonNode> records(long firstId, int count) {
+        List<JsonNode> records = new ArrayList<>();
+        for (long id = firstId; id < firstId + count; id++) {
+            records.add(objectMapper.createObjectNode().put("id", id));
+        }
+        return records;
+    }
+}
@@ -0,0 +1,212 @@
+package com.ecommerce.user.service;
+
+import com.ecommerce.user.dto.ImportFormat;
+import com.ecommerce.user.dto.UserImportEvent;
+import com.ecommerce.user.entity.Role;
+import com.ecommerce.user.entity.User;
+import com.ecommerce.user.repository.AddressRepository;
+import com.ecommerce.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserImportServiceTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private RegisteredEmailFilter registeredEmailFilter;
+    private UserImportService importService;
+    private final List<UserImportEvent> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        registeredEmailFilter = mock(RegisteredEmailFilter.class);
+        importService = new UserImportService(userRepository, new BCryptPasswordEncoder(4), registeredEmailFilter,
+                jdbcTemplate, transactionManager, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), 4, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+        addressRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void importUsers_Ndjson_ImportsUsersAndDefaultAddresses() throws Exception {
+        UserImportEvent completed = importService.importUsers(input(
+                ndjson("ada@test.com", "Ada", "1 Main Street"),
+                "",
+                ndjson("alan@test.com", "Alan", null)), ImportFormat.NDJSON, events::add);
+
+        assertEquals(2, completed.getProcessed());
+        assertEquals(2, completed.getImported());
+        assertEquals(0, completed.getRejected());
+        assertEquals(UserImportEvent.COMPLETED, events.get(events.size() - 1).getType());
+
+        User ada = userRepository.findWithAddressesByEmail("ada@test.com").orElseThrow();
+        assertEquals(Role.CUSTOMER, ada.getRole());
+        assertNotEquals("secret1", ada.getPassword());
+        assertEquals(1, ada.getAddresses().size());
+        assertTrue(ada.getAddresses().get(0).getIsDefault());
+        assertTrue(userRepository.existsByEmail("alan@test.com"));
+        verify(registeredEmailFilter).add("ada@test.com");
+        verify(registeredEmailFilter).add("alan@test.com");
+    }
+
+    @Test
+    void importUsers_Csv_HonoursHeaderOrderAndQuotedFields() throws Exception {
+        UserImportEvent completed = importService.importUsers(input(
+                "lastName,firstName,email,password,streetAddress,city",
+                "\"O'Brien, Jr.\",Pat,pat@test.com,secret1,\"1 \"\"Quoted\"\" Lane\",Dublin",
+                "Smith,Sam,sam@test.com,secret1"), ImportFormat.CSV, events::add);
+
+        assertEquals(2, completed.getImported());
+        User pat = userRepository.findWithAddressesByEmail("pat@test.com").orElseThrow();
+        assertEquals("O'Brien, Jr.", pat.getLastName());
+        assertEquals("1 \"Quoted\" Lane", pat.getAddresses().get(0).getStreetAddress());
+        assertTrue(userRepository.findWithAddressesByEmail("sam@test.com").orElseThrow().getAddresses().isEmpty());
+    }
+
+    @Test
+    void importUsers_DuplicateEmails_RejectsRepeatsInFileAndExistingUsers() throws Exception {
+        userRepository.save(User.builder()
+                .email("existing@test.com")
+                .password("encodedPassword")
+                .role(Role.CUSTOMER)
+                .build());
+
+        UserImportEvent completed = importService.importUsers(input(
+                ndjson("new@test.com", "New", null),
+                ndjson("NEW@test.com", "Again", null),
+                ndjson("Existing@Test.com", "Old", null)), ImportFormat.NDJSON, events::add);
+
+        assertEquals(3, completed.getProcessed());
+        assertEquals(1, completed.getImported());
+        assertEquals(2, completed.getRejected());
+        List<UserImportEvent> rejected = rejected();
+        assertEquals(List.of(2L, 3L), rejected.stream().map(UserImportEvent::getRow).toList());
+        assertTrue(rejected.stream().allMatch(event -> event.getReason().equals("Email already registered")));
+        assertEquals(2, userRepository.count());
+    }
+
+    @Test
+    void importUsers_StoresEmailsInTheFormTheyAreDeduplicatedOn() throws Exception {
+        UserImportEvent completed = importService.importUsers(input(
+                ndjson(" Grace@Test.COM ", "Grace", null)), ImportFormat.NDJSON, events::add);
+
+        assertEquals(1, completed.getImported());
+        assertTrue(userRepository.existsByEmail("grace@test.com"));
+        assertFalse(userRepository.existsByEmail("Grace@Test.COM"));
+    }
+
+    @Test
+    void importUsers_InvalidAndMalformedRows_AreReportedWithRowNumbers() throws Exception {
+        UserImportEvent completed = importService.importUsers(input(
+                ndjson("ok@test.com", "Ok", null),
+                "{not json",
+                ndjson("not-an-email", "Bad", null),
+                "{\"email\":\"nopass@test.com\",\"firstName\":\"No\",\"lastName\":\"Pass\"}"),
+                ImportFormat.NDJSON, events::add);
+
+        assertEquals(4, completed.getProcessed());
+        assertEquals(1, completed.getImported());
+        List<UserImportEvent> rejected = rejected();
+        assertEquals(List.of(2L, 3L, 4L), rejected.stream().map(UserImportEvent::getRow).toList());
+        assertTrue(rejected.get(0).getReason().startsWith("Malformed row"));
+        assertEquals("Email should be valid", rejected.get(1).getReason());
+        assertEquals("not-an-email", rejected.get(1).getEmail());
+        assertEquals("Password is required", rejected.get(2).getReason());
+    }
+
+    @Test
+    void importUsers_RowRefusedByDatabase_RejectsOnlyThatRow() throws Exception {
+        // Passes validation but overflows the 100-character city column
+        String longCity = "x".repeat(101);
+
+        UserImportEvent completed = importService.importUsers(input(
+                ndjson("a@test.com", "A", "1 Street"),
+                ndjson("b@test.com", "B", "2 Street"),
+                "{\"email\":\"c@test.com\",\"password\":\"secret1\",\"firstName\":\"C\",\"lastName\":\"User\"," +
+                        "\"streetAddress\":\"3 Street\",\"city\":\"" + longCity + "\"}",
+                ndjson("d@test.com", "D", "4 Street"),
+                ndjson("e@test.com", "E", "5 Street")), ImportFormat.NDJSON, events::add);
+
+        assertEquals(5, completed.getProcessed());
+        assertEquals(4, completed.getImported());
+        assertEquals(1, completed.getRejected());
+        UserImportEvent rejected = rejected().get(0);
+        assertEquals(3L, rejected.getRow());
+        assertEquals("c@test.com", rejected.getEmail());
+        assertTrue(rejected.getReason().startsWith("Write failed"));
+        assertFalse(userRepository.existsByEmail("c@test.com"));
+        assertEquals(4, userRepository.count());
+        assertEquals(4, addressRepository.count());
+        verify(registeredEmailFilter, never()).add("c@test.com");
+    }
+
+    @Test
+    void importUsers_ReportsProgressPerChunk() throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            lines.add(ndjson("user" + i + "@test.com", "User" + i, null));
+        }
+
+        importService.importUsers(input(lines.toArray(String[]::new)), ImportFormat.NDJSON, events::add);
+
+        List<Long> progress = events.stream()
+                .filter(event -> UserImportEvent.PROGRESS.equals(event.getType()))
+                .map(UserImportEvent::getProcessed)
+                .toList();
+        assertEquals(List.of(4L, 8L, 10L), progress);
+    }
+
+    private List<UserImportEvent> rejected() {
+        return events.stream()
+                .filter(event -> UserImportEvent.REJECTED.equals(event.getType()))
+                .toList();
+    }
+
+    private static String ndjson(String email, String firstName, String streetAddress) {
+        return "{\"email\":\"" + email + "\",\"password\":\"secret1\",\"firstName\":\"" + firstName + "\"," +
+                "\"lastName\":\"User\"" +
+                (streetAddress != null ? ",\"streetAddress\":\"" + streetAddress + "\",\"city\":\"Springfield\"" : "") +
+                "}";
+    }
+
+    private static ByteArrayInputStream input(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,98 @@
+package com.ecommerce.user.service;
+
+import com.ecommerce.user.dto.ProfileView;
+import com.ecommerce.user.dto.UserResponse;
+import com.ecommerce.user.entity.Address;
+import com.ecommerce.user.entity.AddressType;
+import com.ecommerce.user.entity.Role;
+import com.ecommerce.user.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import(UserService.class)
+class UserServiceQueryCountTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder()
+                .email("query-count@test.com")
+                .password("encodedPassword")
+                .firstName("Query")
+                .lastName("Count")
+                .role(Role.CUSTOMER)
+                .build();
+        for (int i = 0; i < 3; i++) {
+            user.addAddress(Address.builder()
+                    .addressType(AddressType.SHIPPING)
+                    .streetAddress(i + " Main Street")
+                    .city("Springfield")
+                    .state("IL")
+                    .zipCode("6270" + i)
+                    .country("USA")
+                    .build());
+        }
+        entityManager.persist(user);
+        entityManager.flush();
+        entityManager.clear();
+        userId = user.getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getUserById_FullView_LoadsUserAndAddressesInOneStatement() {
+        // Act
+        UserResponse result = userService.getUserById(userId, ProfileView.FULL);
+
+        // Assert
+        assertEquals(3, result.getAddresses().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getUserById_SummaryView_SkipsAddresses() {
+        // Act
+        UserResponse result = userService.getUserById(userId, ProfileView.SUMMARY);
+
+        // Assert
+        assertEquals("query-count@test.com", result.getEmail());
+        assertNull(result.getAddresses());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getUserByEmail_FullView_LoadsUserAndAddressesInOneStatement() {
+        // Act
+        UserResponse result = userService.getUserByEmail("query-count@test.com", ProfileView.FULL);
+
+        // Assert
+        assertEquals(3, result.getAddresses().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
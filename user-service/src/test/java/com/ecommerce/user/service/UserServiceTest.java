@@ -1,25 +1,29 @@
 package com.ecommerce.user.service;
 
-import com.ecommerce.user.dto.UserRegistrationRequest;
+import com.ecommerce.user.dto.ProfileView;
+import com.ecommerce.user.dto.UpdateUserRequest;
 import com.ecommerce.user.dto.UserResponse;
+import com.ecommerce.user.entity.Address;
+import com.ecommerce.user.entity.AddressType;
 import com.ecommerce.user.entity.Role;
 import com.ecommerce.user.entity.User;
-import com.ecommerce.user.exception.DuplicateResourceException;
 import com.ecommerce.user.exception.ResourceNotFoundException;
 import com.ecommerce.user.repository.UserRepository;
+import com.ecommerce.user.repository.UserSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,14 +32,10 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @Mock
-    private PasswordEncoder passwordEncoder;
-
     @InjectMocks
     private UserService userService;
 
     private User testUser;
-    private UserRegistrationRequest registrationRequest;
 
     @BeforeEach
     void setUp() {
@@ -47,78 +47,80 @@ class UserServiceTest {
                 .lastName("Doe")
                 .phone("+1234567890")
                 .role(Role.CUSTOMER)
+                .addresses(new ArrayList<>())
                 .build();
 
-        registrationRequest = UserRegistrationRequest.builder()
-                .email("test@example.com")
-                .password("password123")
-                .firstName("John")
-                .lastName("Doe")
-                .phone("+1234567890")
-                .build();
+        testUser.getAddresses().add(Address.builder()
+                .id(10L)
+                .addressType(AddressType.SHIPPING)
+                .streetAddress("1 Main St")
+                .city("Springfield")
+                .state("IL")
+                .zipCode("62701")
+                .country("US")
+                .isDefault(true)
+                .build());
     }
 
     @Test
-    void registerUser_Success() {
+    void getUserById_Success() {
         // Arrange
-        when(userRepository.existsByEmail(anyString())).thenReturn(false);
-        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.findWithAddressesById(1L)).thenReturn(Optional.of(testUser));
 
         // Act
-        UserResponse result = userService.registerUser(registrationRequest);
+        UserResponse result = userService.getUserById(1L);
 
         // Assert
         assertNotNull(result);
+        assertEquals(1L, result.getId());
         assertEquals("test@example.com", result.getEmail());
-        assertEquals("John", result.getFirstName());
-        assertEquals("Doe", result.getLastName());
-        verify(userRepository, times(1)).save(any(User.class));
-        verify(passwordEncoder, times(1)).encode("password123");
+        assertEquals(1, result.getAddresses().size());
+        verify(userRepository, times(1)).findWithAddressesById(1L);
+        verify(userRepository, never()).findById(anyLong());
     }
 
     @Test
-    void registerUser_DuplicateEmail_ThrowsException() {
+    void getUserById_NotFound_ThrowsException() {
         // Arrange
-        when(userRepository.existsByEmail(anyString())).thenReturn(true);
+        when(userRepository.findWithAddressesById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(DuplicateResourceException.class, () -> {
-            userService.registerUser(registrationRequest);
+        assertThrows(ResourceNotFoundException.class, () -> {
+            userService.getUserById(1L);
         });
-        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
-    void getUserById_Success() {
+    void getUserById_SummaryView_ReadsProjectionWithoutAddresses() {
         // Arrange
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.findSummaryById(1L)).thenReturn(Optional.of(summary(testUser)));
 
         // Act
-        UserResponse result = userService.getUserById(1L);
+        UserResponse result = userService.getUserById(1L, ProfileView.SUMMARY);
 
         // Assert
-        assertNotNull(result);
         assertEquals(1L, result.getId());
-        assertEquals("test@example.com", result.getEmail());
-        verify(userRepository, times(1)).findById(1L);
+        assertEquals("John", result.getFirstName());
+        assertNull(result.getAddresses());
+        verify(userRepository, times(1)).findSummaryById(1L);
+        verify(userRepository, never()).findWithAddressesById(anyLong());
     }
 
     @Test
-    void getUserById_NotFound_ThrowsException() {
+    void getUserById_SummaryView_NotFound_ThrowsException() {
         // Arrange
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.findSummaryById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
-            userService.getUserById(1L);
+            userService.getUserById(1L, ProfileView.SUMMARY);
         });
     }
 
     @Test
     void getUserByEmail_Success() {
         // Arrange
-        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(testUser));
+        when(userRepository.findWithAddressesByEmail("test@example.com")).thenReturn(Optional.of(testUser));
 
         // Act
         UserResponse result = userService.getUserByEmail("test@example.com");
@@ -126,16 +128,16 @@ class UserServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals("test@example.com", result.getEmail());
-        verify(userRepository, times(1)).findByEmail("test@example.com");
+        verify(userRepository, times(1)).findWithAddressesByEmail("test@example.com");
     }
 
     @Test
     void updateUser_Success() {
         // Arrange
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userRepository.findWithAddressesById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        UserRegistrationRequest updateRequest = UserRegistrationRequest.builder()
+        UpdateUserRequest updateRequest = UpdateUserRequest.builder()
                 .firstName("Jane")
                 .lastName("Smith")
                 .phone("+9876543210")
@@ -145,20 +147,71 @@ class UserServiceTest {
         UserResponse result = userService.updateUser(1L, updateRequest);
 
         // Assert
-        assertNotNull(result);
-        verify(userRepository, times(1)).save(any(User.class));
+        assertEquals("Jane", result.getFirstName());
+        assertEquals("Smith", result.getLastName());
+        assertEquals("+9876543210", result.getPhone());
+        verify(userRepository, times(1)).findWithAddressesById(1L);
+        verify(userRepository, times(1)).save(testUser);
     }
 
     @Test
-    void deleteUser_Success() {
+    void updateUser_NotFound_ThrowsException() {
         // Arrange
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        doNothing().when(userRepository).delete(any(User.class));
+        when(userRepository.findWithAddressesById(1L)).thenReturn(Optional.empty());
 
-        // Act
-        userService.deleteUser(1L);
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> {
+            userService.updateUser(1L, new UpdateUserRequest());
+        });
+        verify(userRepository, never()).save(any(User.class));
+    }
 
-        // Assert
-        verify(userRepository, times(1)).delete(testUser);
+    private static UserSummary summary(User user) {
+        return new UserSummary() {
+            @Override
+            public Long getId() {
+                return user.getId();
+            }
+
+            @Override
+            public String getEmail() {
+                return user.getEmail();
+            }
+
+            @Override
+            public String getFirstName() {
+                return user.getFirstName();
+            }
+
+            @Override
+            public String getLastName() {
+                return user.getLastName();
+            }
+
+            @Override
+            public String getPhone() {
+                return user.getPhone();
+            }
+
+            @Override
+            public Role getRole() {
+                return user.getRole();
+            }
+
+            @Override
+            public Boolean getIsActive() {
+                return user.getIsActive();
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return user.getCreatedAt();
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return user.getUpdatedAt();
+            }
+        };
     }
 }